@@ -0,0 +1,63 @@
+package net.anweisen.utilities.common.concurrent;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A snapshot of the load of an executor registered in the {@link ExecutorRegistry}.
+ * Values which are not provided by the executor are {@code -1}.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class ExecutorMetrics {
+
+	private final String name;
+	private final long queueDepth;
+	private final long activeThreads;
+	private final long poolSize;
+	private final long completedTasks;
+
+	public ExecutorMetrics(@Nonnull String name, long queueDepth, long activeThreads, long poolSize, long completedTasks) {
+		this.name = name;
+		this.queueDepth = queueDepth;
+		this.activeThreads = activeThreads;
+		this.poolSize = poolSize;
+		this.completedTasks = completedTasks;
+	}
+
+	@Nonnull
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the amount of tasks waiting to be run
+	 */
+	public long getQueueDepth() {
+		return queueDepth;
+	}
+
+	/**
+	 * @return the amount of threads currently running a task
+	 */
+	public long getActiveThreads() {
+		return activeThreads;
+	}
+
+	/**
+	 * @return the amount of threads currently alive in the executor, including idle threads
+	 */
+	public long getPoolSize() {
+		return poolSize;
+	}
+
+	public long getCompletedTasks() {
+		return completedTasks;
+	}
+
+	@Override
+	public String toString() {
+		return "ExecutorMetrics[" + name + ", queued=" + queueDepth + ", active=" + activeThreads + ", pool=" + poolSize + ", completed=" + completedTasks + "]";
+	}
+
+}
@@ -0,0 +1,29 @@
+package net.anweisen.utilities.common.concurrent;
+
+/**
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see ExecutorRegistry
+ */
+public enum ExecutorMode {
+
+	/**
+	 * An unbounded cached thread pool, creating a new platform thread whenever all threads are busy
+	 */
+	CACHED,
+
+	/**
+	 * A work stealing {@link java.util.concurrent.ForkJoinPool} with a bounded amount of platform threads.
+	 * Threads waiting for a {@link java.util.concurrent.CompletableFuture} are compensated by the pool.
+	 */
+	WORK_STEALING,
+
+	/**
+	 * A new virtual thread for every task, only available on java 21 or newer.
+	 * Falls back to {@link #WORK_STEALING} on older versions.
+	 * Virtual threads are daemon threads, pending tasks do not keep the jvm alive.
+	 */
+	VIRTUAL
+
+}
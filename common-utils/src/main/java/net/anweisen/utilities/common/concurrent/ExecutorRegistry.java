@@ -0,0 +1,276 @@
+package net.anweisen.utilities.common.concurrent;
+
+import com.google.common.base.Preconditions;
+import net.anweisen.utilities.common.collection.NamedThreadFactory;
+import net.anweisen.utilities.common.logging.ILogger;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named executors shared by the subsystems of this library, like the {@link #TASK task} executor used by
+ * {@link net.anweisen.utilities.common.concurrent.task.Task#asyncCall(Callable) Task.asyncCall} or the {@link #DATABASE database} executor.
+ *
+ * Executors are created on their first use with the default {@link ExecutorMode mode},
+ * which can be set with the system property {@code net.anweisen.utilities.executor.mode} ({@code cached}, {@code work_stealing} or {@code virtual})
+ * and defaults to {@link ExecutorMode#WORK_STEALING work stealing}.
+ * Virtual threads are always daemon threads, so the jvm may exit while tasks of a {@link ExecutorMode#VIRTUAL virtual} executor are still pending.
+ * Use {@link #configure(String, ExecutorMode, int)} or {@link #register(String, ExecutorService)} to replace an executor before it is used.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class ExecutorRegistry {
+
+	public static final String TASK = "task";
+	public static final String DATABASE = "database";
+	public static final String COMMAND = "command";
+	public static final String CACHE = "cache";
+
+	private static final ILogger logger = ILogger.forThisClass();
+
+	private static final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+	private static final boolean virtualThreadsSupported = probeVirtualThreads();
+
+	private static volatile ExecutorMode defaultMode = readDefaultMode();
+	private static volatile int defaultParallelism = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+	private ExecutorRegistry() {}
+
+	/**
+	 * @return the executor registered with this name, creates one with the default mode if there is none yet
+	 */
+	@Nonnull
+	public static ExecutorService get(@Nonnull String name) {
+		return executors.computeIfAbsent(name, key -> create(key, defaultMode, defaultParallelism));
+	}
+
+	@Nullable
+	public static ExecutorService getIfPresent(@Nonnull String name) {
+		return executors.get(name);
+	}
+
+	/**
+	 * Registers the executor with this name, replacing the current one.
+	 * The replaced executor is not shut down.
+	 *
+	 * @return the given executor
+	 */
+	@Nonnull
+	public static <E extends ExecutorService> E register(@Nonnull String name, @Nonnull E executor) {
+		executors.put(name, executor);
+		return executor;
+	}
+
+	/**
+	 * Creates and {@link #register(String, ExecutorService) registers} a new executor with this name
+	 *
+	 * @param parallelism the maximum amount of platform threads, only used by {@link ExecutorMode#WORK_STEALING}
+	 */
+	@Nonnull
+	public static ExecutorService configure(@Nonnull String name, @Nonnull ExecutorMode mode, @Nonnegative int parallelism) {
+		return register(name, create(name, mode, parallelism));
+	}
+
+	/**
+	 * Creates a new executor which threads are named after the given name, it will not be registered
+	 */
+	@Nonnull
+	public static ExecutorService create(@Nonnull String name, @Nonnull ExecutorMode mode, @Nonnegative int parallelism) {
+		Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+		switch (mode) {
+			case VIRTUAL:
+				if (isVirtualThreadSupported()) {
+					try {
+						return new CountingExecutorService(newVirtualThreadExecutor(name));
+					} catch (Exception ex) {
+						logger.warn("Could not create virtual thread executor {}, falling back to work stealing", name, ex);
+					}
+				}
+				return newWorkStealingExecutor(name, parallelism);
+			case WORK_STEALING:
+				return newWorkStealingExecutor(name, parallelism);
+			case CACHED:
+				return Executors.newCachedThreadPool(new NamedThreadFactory(name));
+			default:
+				throw new IllegalArgumentException("Unsupported executor mode " + mode);
+		}
+	}
+
+	@Nonnull
+	private static ExecutorService newWorkStealingExecutor(@Nonnull String name, @Nonnegative int parallelism) {
+		AtomicInteger threadId = new AtomicInteger(1);
+		return new ForkJoinPool(parallelism, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName(name + "-" + threadId.getAndIncrement());
+			// like the threads of the cached pools, pending async writes must keep the jvm alive
+			thread.setDaemon(false);
+			return thread;
+		}, null, true);
+	}
+
+	/**
+	 * @return the metrics of the executor registered with this name, or {@code null} if there is none
+	 */
+	@Nullable
+	public static ExecutorMetrics getMetrics(@Nonnull String name) {
+		ExecutorService executor = executors.get(name);
+		if (executor == null) return null;
+
+		if (executor instanceof ThreadPoolExecutor) {
+			ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+			return new ExecutorMetrics(name, pool.getQueue().size(), pool.getActiveCount(), pool.getPoolSize(), pool.getCompletedTaskCount());
+		} else if (executor instanceof ForkJoinPool) {
+			ForkJoinPool pool = (ForkJoinPool) executor;
+			return new ExecutorMetrics(name, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount(), pool.getActiveThreadCount(), pool.getPoolSize(), -1);
+		} else if (executor instanceof CountingExecutorService) {
+			CountingExecutorService counting = (CountingExecutorService) executor;
+			long active = counting.active.get();
+			return new ExecutorMetrics(name, counting.queued.get(), active, active, counting.completed.get());
+		}
+		return new ExecutorMetrics(name, -1, -1, -1, -1);
+	}
+
+	@Nonnull
+	public static Collection<ExecutorMetrics> getAllMetrics() {
+		Collection<ExecutorMetrics> metrics = new ArrayList<>();
+		for (String name : executors.keySet()) {
+			ExecutorMetrics current = getMetrics(name);
+			if (current != null) metrics.add(current);
+		}
+		return metrics;
+	}
+
+	@Nonnull
+	public static Set<String> getNames() {
+		return Collections.unmodifiableSet(executors.keySet());
+	}
+
+	public static boolean isVirtualThreadSupported() {
+		return virtualThreadsSupported;
+	}
+
+	@Nonnull
+	public static ExecutorMode getDefaultMode() {
+		return defaultMode;
+	}
+
+	/**
+	 * Sets the mode for executors created after this call, already created executors are not changed
+	 */
+	public static void setDefaultMode(@Nonnull ExecutorMode mode) {
+		defaultMode = mode;
+	}
+
+	public static int getDefaultParallelism() {
+		return defaultParallelism;
+	}
+
+	public static void setDefaultParallelism(@Nonnegative int parallelism) {
+		Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+		defaultParallelism = parallelism;
+	}
+
+	@Nonnull
+	private static ExecutorMode readDefaultMode() {
+		String property = System.getProperty("net.anweisen.utilities.executor.mode");
+		if (property != null) {
+			try {
+				return ExecutorMode.valueOf(property.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+			} catch (IllegalArgumentException ex) {
+				logger.warn("Unknown executor mode '{}'", property);
+			}
+		}
+		return ExecutorMode.WORK_STEALING;
+	}
+
+	/**
+	 * Virtual threads were added in java 21, we still compile against java 8 and have to look them up reflectively
+	 */
+	@Nonnull
+	private static ExecutorService newVirtualThreadExecutor(@Nonnull String name) throws ReflectiveOperationException {
+		Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+		Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+		builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+		ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+	}
+
+	private static boolean probeVirtualThreads() {
+		try {
+			// creating the executor fails if virtual threads are a disabled preview feature
+			newVirtualThreadExecutor("probe").shutdown();
+			return true;
+		} catch (Throwable ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Counts queued, running and completed tasks of executors which do not provide these numbers themselves
+	 */
+	private static final class CountingExecutorService extends AbstractExecutorService {
+
+		private final ExecutorService delegate;
+		private final AtomicLong queued = new AtomicLong();
+		private final AtomicLong active = new AtomicLong();
+		private final AtomicLong completed = new AtomicLong();
+
+		private CountingExecutorService(@Nonnull ExecutorService delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void execute(@Nonnull Runnable command) {
+			queued.incrementAndGet();
+			try {
+				delegate.execute(() -> {
+					queued.decrementAndGet();
+					active.incrementAndGet();
+					try {
+						command.run();
+					} finally {
+						active.decrementAndGet();
+						completed.incrementAndGet();
+					}
+				});
+			} catch (RejectedExecutionException ex) {
+				queued.decrementAndGet();
+				throw ex;
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			delegate.shutdown();
+		}
+
+		@Nonnull
+		@Override
+		public List<Runnable> shutdownNow() {
+			return delegate.shutdownNow();
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return delegate.isShutdown();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return delegate.isTerminated();
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+			return delegate.awaitTermination(timeout, unit);
+		}
+
+	}
+
+}
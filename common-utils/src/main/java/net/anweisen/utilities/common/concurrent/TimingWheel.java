@@ -0,0 +1,263 @@
+package net.anweisen.utilities.common.concurrent;
+
+import com.google.common.base.Preconditions;
+import net.anweisen.utilities.common.logging.ILogger;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hierarchical timing wheel running scheduled tasks on a single thread.
+ * Scheduling and cancelling a timeout is O(1), regardless of how many timeouts are pending.
+ *
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots, each level covering {@value #SLOTS} times the range of the level below.
+ * Timeouts further in the future are placed in an upper level and cascaded down when their slot is reached.
+ * Timeouts fire with a precision of one tick, tasks should be short as they are run on the wheel thread.
+ *
+ * Use {@link #getShared()} to share one thread within the whole jvm.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class TimingWheel {
+
+	private static final ILogger logger = ILogger.forThisClass();
+
+	private static final int BITS = 8;
+	private static final int SLOTS = 1 << BITS;
+	private static final int MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+
+	private static final class Holder {
+		private static final TimingWheel shared = new TimingWheel("TimingWheel", 10, TimeUnit.MILLISECONDS);
+	}
+
+	@Nonnull
+	public static TimingWheel getShared() {
+		return Holder.shared;
+	}
+
+	private final Bucket[][] wheel = new Bucket[LEVELS][SLOTS];
+	private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+	private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+	private final String threadName;
+	private final long tickNanos;
+
+	private volatile Thread worker;
+	private long startTime;
+	private long currentTick;
+	private volatile int pendingCount;
+
+	public TimingWheel(@Nonnull String threadName, @Nonnegative long tickDuration, @Nonnull TimeUnit unit) {
+		Preconditions.checkArgument(tickDuration > 0, "Tick duration must be positive");
+		this.threadName = threadName;
+		this.tickNanos = unit.toNanos(tickDuration);
+		for (Bucket[] level : wheel) {
+			for (int i = 0; i < SLOTS; i++) {
+				level[i] = new Bucket();
+			}
+		}
+	}
+
+	/**
+	 * Schedules the task to be run on the wheel thread once the delay passed
+	 *
+	 * @return the timeout which can be used to cancel the task
+	 */
+	@Nonnull
+	public Timeout schedule(@Nonnegative long delay, @Nonnull TimeUnit unit, @Nonnull Runnable task) {
+		startIfNecessary();
+		Timeout timeout = new Timeout(this, System.nanoTime() + unit.toNanos(Math.max(delay, 0)), task);
+		scheduled.add(timeout);
+		return timeout;
+	}
+
+	/**
+	 * @return the amount of timeouts currently placed in the wheel, not counting the ones scheduled since the last tick
+	 */
+	public int getPendingCount() {
+		return pendingCount;
+	}
+
+	private void startIfNecessary() {
+		if (worker != null) return;
+		synchronized (this) {
+			if (worker != null) return;
+			startTime = System.nanoTime();
+			Thread thread = new Thread(this::run, threadName);
+			thread.setDaemon(true);
+			thread.start();
+			worker = thread;
+		}
+	}
+
+	private void run() {
+		while (true) {
+			long deadline = startTime + (currentTick + 1) * tickNanos;
+			long sleep;
+			while ((sleep = deadline - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(this, sleep);
+			}
+
+			currentTick++;
+			transferCancelled();
+			transferScheduled();
+			processTick();
+		}
+	}
+
+	private void transferScheduled() {
+		Timeout timeout;
+		while ((timeout = scheduled.poll()) != null) {
+			if (timeout.state != Timeout.PENDING) continue;
+			long deadlineTick = (timeout.deadline - startTime + tickNanos - 1) / tickNanos;
+			timeout.deadlineTick = Math.max(deadlineTick, currentTick);
+			place(timeout);
+			pendingCount++;
+		}
+	}
+
+	private void transferCancelled() {
+		Timeout timeout;
+		while ((timeout = cancelled.poll()) != null) {
+			if (timeout.bucket == null) continue; // not placed yet, will be skipped when transferred
+			timeout.bucket.remove(timeout);
+			pendingCount--;
+		}
+	}
+
+	private void place(@Nonnull Timeout timeout) {
+		long delta = timeout.deadlineTick - currentTick;
+		for (int level = 0; level < LEVELS; level++) {
+			if (delta < (1L << (BITS * (level + 1)))) {
+				int slot = (int) ((timeout.deadlineTick >>> (BITS * level)) & MASK);
+				wheel[level][slot].add(timeout);
+				return;
+			}
+		}
+
+		// further away than the wheel can cover, park it in the farthest slot of the top level
+		int top = LEVELS - 1;
+		int slot = (int) (((currentTick >>> (BITS * top)) - 1) & MASK);
+		wheel[top][slot].add(timeout);
+	}
+
+	private void processTick() {
+		int index = (int) (currentTick & MASK);
+		for (int level = 1; level < LEVELS && index == 0; level++) {
+			index = (int) ((currentTick >>> (BITS * level)) & MASK);
+			cascade(wheel[level][index]);
+		}
+
+		Bucket bucket = wheel[0][(int) (currentTick & MASK)];
+		Timeout timeout;
+		while ((timeout = bucket.poll()) != null) {
+			if (timeout.deadlineTick > currentTick) {
+				place(timeout);
+				continue;
+			}
+
+			pendingCount--;
+			if (!Timeout.STATE.compareAndSet(timeout, Timeout.PENDING, Timeout.EXPIRED)) continue;
+			try {
+				timeout.task.run();
+			} catch (Throwable ex) {
+				logger.error("An error occurred while running timeout task {}", timeout.task, ex);
+			}
+		}
+	}
+
+	private void cascade(@Nonnull Bucket bucket) {
+		Timeout timeout;
+		while ((timeout = bucket.poll()) != null) {
+			place(timeout);
+		}
+	}
+
+	/**
+	 * An intrusive doubly linked list of timeouts, only accessed by the wheel thread
+	 */
+	private static final class Bucket {
+
+		private Timeout head, tail;
+
+		private void add(@Nonnull Timeout timeout) {
+			timeout.bucket = this;
+			timeout.previous = tail;
+			timeout.next = null;
+			if (tail == null) head = timeout;
+			else tail.next = timeout;
+			tail = timeout;
+		}
+
+		private void remove(@Nonnull Timeout timeout) {
+			if (timeout.previous == null) head = timeout.next;
+			else timeout.previous.next = timeout.next;
+			if (timeout.next == null) tail = timeout.previous;
+			else timeout.next.previous = timeout.previous;
+			timeout.previous = timeout.next = null;
+			timeout.bucket = null;
+		}
+
+		private Timeout poll() {
+			Timeout timeout = head;
+			if (timeout != null) remove(timeout);
+			return timeout;
+		}
+
+	}
+
+	public static final class Timeout {
+
+		private static final int PENDING = 0, CANCELLED = 1, EXPIRED = 2;
+		private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+		private final TimingWheel wheel;
+		private final long deadline;
+		private final Runnable task;
+		private volatile int state;
+
+		// only accessed by the wheel thread
+		private long deadlineTick;
+		private Bucket bucket;
+		private Timeout previous, next;
+
+		private Timeout(@Nonnull TimingWheel wheel, long deadline, @Nonnull Runnable task) {
+			this.wheel = wheel;
+			this.deadline = deadline;
+			this.task = task;
+		}
+
+		/**
+		 * @return {@code true} if the task will not be run because of this call,
+		 *         {@code false} if it was already run or cancelled
+		 */
+		public boolean cancel() {
+			if (!STATE.compareAndSet(this, PENDING, CANCELLED)) return false;
+			wheel.cancelled.add(this);
+			return true;
+		}
+
+		public boolean isCancelled() {
+			return state == CANCELLED;
+		}
+
+		public boolean isExpired() {
+			return state == EXPIRED;
+		}
+
+		/**
+		 * @return the remaining delay in the given unit, negative if the deadline already passed
+		 */
+		public long getDelay(@Nonnull TimeUnit unit) {
+			return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+	}
+
+}
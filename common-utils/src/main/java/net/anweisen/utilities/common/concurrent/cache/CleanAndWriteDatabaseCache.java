@@ -2,23 +2,30 @@ package net.anweisen.utilities.common.concurrent.cache;
 
 import net.anweisen.utilities.common.annotations.ReplaceWith;
 import net.anweisen.utilities.common.collection.pair.Tuple;
+import net.anweisen.utilities.common.concurrent.task.Task;
 import net.anweisen.utilities.common.logging.ILogger;
 import net.anweisen.utilities.common.misc.SimpleCollectionUtils;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
+ * By default every cached value passing the check is written each interval.
+ * When created with a {@code flushBatchSize}, the cache works write-behind instead:
+ * only entries marked by {@link #setData(Object, Object)} or {@link #markDirty(Object)} are written,
+ * repeated changes of an entry before it was flushed are coalesced into a single write.
+ * Marking an entry and removing it when it was unused for too long are atomic per key, dirty entries are never removed.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.2.4
  */
@@ -30,7 +37,20 @@ public class CleanAndWriteDatabaseCache<K, V> implements DatabaseCache<K, V> {
 	protected final Predicate<? super V> check;
 	protected final Function<? super K, ? extends V> query;
 	protected final Function<? super K, ? extends V> fallback;
+	protected final Function<? super Collection<K>, ? extends Map<? extends K, ? extends V>> bulkQuery;
+	protected final SingleFlightLoader<K, V> loader = new SingleFlightLoader<>();
 	protected final BiConsumer<? super K, ? super V> writer;
+	protected final Consumer<? super Map<K, V>> batchWriter;
+	protected final Map<K, Long> dirtyVersions = new ConcurrentHashMap<>();
+	protected final Queue<K> writeQueue = new ConcurrentLinkedQueue<>();
+	protected final int flushBatchSize;
+	protected final int maxPendingWrites;
+	protected final LongAdder flushedCount = new LongAdder();
+	protected final LongAdder coalescedCount = new LongAdder();
+	protected final LongAdder failedWriteCount = new LongAdder();
+	protected final LongAdder backpressureFlushCount = new LongAdder();
+	protected final LongAdder cleanedCount = new LongAdder();
+	protected volatile long lastFlushDuration;
 	protected final long unusedTimeBeforeClean;
 	protected final long cleanAndWriteInterval;
 	protected final ILogger logger;
@@ -38,13 +58,40 @@ public class CleanAndWriteDatabaseCache<K, V> implements DatabaseCache<K, V> {
 	public CleanAndWriteDatabaseCache(@Nullable ILogger logger, @Nonnegative long unusedTimeBeforeClean, @Nonnegative long cleanAndWriteInterval, @Nonnull String taskName,
 	                                  @Nonnull Predicate<? super V> check, @Nonnull Function<? super K, ? extends V> fallback,
 	                                  @Nonnull Function<? super K, ? extends V> query, @Nonnull BiConsumer<? super K, ? super V> writer) {
+		this(logger, unusedTimeBeforeClean, cleanAndWriteInterval, taskName, check, fallback, query, null, writer);
+	}
+
+	/**
+	 * @param bulkQuery queries multiple keys at once for {@link #getAll(Collection)}, keys missing in the returned map are queried one by one
+	 */
+	public CleanAndWriteDatabaseCache(@Nullable ILogger logger, @Nonnegative long unusedTimeBeforeClean, @Nonnegative long cleanAndWriteInterval, @Nonnull String taskName,
+	                                  @Nonnull Predicate<? super V> check, @Nonnull Function<? super K, ? extends V> fallback,
+	                                  @Nonnull Function<? super K, ? extends V> query, @Nullable Function<? super Collection<K>, ? extends Map<? extends K, ? extends V>> bulkQuery,
+	                                  @Nonnull BiConsumer<? super K, ? super V> writer) {
+		this(logger, unusedTimeBeforeClean, cleanAndWriteInterval, taskName, check, fallback, query, bulkQuery, writer, null, 0, 0);
+	}
+
+	/**
+	 * @param batchWriter writes a batch of dirty entries at once, if {@code null} the writer is called for each entry of the batch
+	 * @param flushBatchSize the maximum amount of entries written in one batch, {@code 0} disables write-behind and writes every entry each interval
+	 * @param maxPendingWrites when more entries are dirty, the thread marking an entry dirty flushes a batch itself, {@code 0} for no limit
+	 */
+	public CleanAndWriteDatabaseCache(@Nullable ILogger logger, @Nonnegative long unusedTimeBeforeClean, @Nonnegative long cleanAndWriteInterval, @Nonnull String taskName,
+	                                  @Nonnull Predicate<? super V> check, @Nonnull Function<? super K, ? extends V> fallback,
+	                                  @Nonnull Function<? super K, ? extends V> query, @Nullable Function<? super Collection<K>, ? extends Map<? extends K, ? extends V>> bulkQuery,
+	                                  @Nonnull BiConsumer<? super K, ? super V> writer, @Nullable Consumer<? super Map<K, V>> batchWriter,
+	                                  @Nonnegative int flushBatchSize, @Nonnegative int maxPendingWrites) {
 		this.logger = logger;
 		this.unusedTimeBeforeClean = unusedTimeBeforeClean;
 		this.cleanAndWriteInterval = cleanAndWriteInterval;
 		this.check = check;
 		this.query = query;
 		this.fallback = fallback;
+		this.bulkQuery = bulkQuery;
 		this.writer = writer;
+		this.batchWriter = batchWriter;
+		this.flushBatchSize = flushBatchSize;
+		this.maxPendingWrites = maxPendingWrites;
 
 		EXECUTOR.scheduleAtFixedRate(this::writeCache, cleanAndWriteInterval, cleanAndWriteInterval, TimeUnit.MILLISECONDS);
 		Runtime.getRuntime().addShutdownHook(new Thread(this::writeCache));
@@ -52,7 +99,201 @@ public class CleanAndWriteDatabaseCache<K, V> implements DatabaseCache<K, V> {
 
 	public void writeCache() {
 		if (logger != null ) logger.debug("Writing & Cleaning cache");
-		cleanAndWrite(cache, unusedTimeBeforeClean, logger, check, writer);
+		if (!isWriteBehind()) {
+			cleanAndWrite(cache, unusedTimeBeforeClean, logger, check, writer);
+			return;
+		}
+
+		// bounded, so that entries changing all the time cannot keep the flush running forever
+		long start = System.nanoTime();
+		int batches = dirtyVersions.size() / flushBatchSize + 1;
+		while (batches-- > 0 && flushBatch()) ;
+		lastFlushDuration = System.nanoTime() - start;
+		clean();
+	}
+
+	public boolean isWriteBehind() {
+		return flushBatchSize > 0;
+	}
+
+	/**
+	 * Replaces the cached value and marks it to be written by the next flush
+	 */
+	public void setData(@Nonnull K key, @Nonnull V value) {
+		cache.compute(key, (k, pair) -> {
+			markDirty0(k);
+			return new Tuple<>(System.currentTimeMillis(), value);
+		});
+		applyBackpressure();
+	}
+
+	/**
+	 * Marks the cached value, which was changed in place, to be written by the next flush.
+	 * Without write-behind every value is written anyways, so this will do nothing.
+	 *
+	 * If the value is not cached anymore, the change cannot be written and is logged,
+	 * use {@link #markDirty(Object, Object)} when the value may have been unused for too long.
+	 */
+	public void markDirty(@Nonnull K key) {
+		if (!isWriteBehind()) return;
+
+		Tuple<Long, V> cached = cache.computeIfPresent(key, (k, pair) -> {
+			markDirty0(k);
+			return pair;
+		});
+		if (cached == null) {
+			if (logger != null ) logger.warn("Cannot write {}, its value was removed from the cache before it was marked dirty", key);
+			return;
+		}
+		applyBackpressure();
+	}
+
+	/**
+	 * Marks the value, which was changed in place, to be written by the next flush.
+	 * The value is put back into the cache if it was removed or replaced in the meantime.
+	 */
+	public void markDirty(@Nonnull K key, @Nonnull V value) {
+		cache.compute(key, (k, pair) -> {
+			markDirty0(k);
+			return pair != null && pair.getSecond() == value ? pair : new Tuple<>(System.currentTimeMillis(), value);
+		});
+		applyBackpressure();
+	}
+
+	/**
+	 * Called while holding the lock of the key in the cache, so the entry cannot be removed concurrently
+	 */
+	private void markDirty0(@Nonnull K key) {
+		if (!isWriteBehind()) return;
+
+		long version = dirtyVersions.merge(key, 1L, Long::sum);
+		if (version == 1) writeQueue.add(key);
+		else coalescedCount.increment();
+	}
+
+	private void applyBackpressure() {
+		if (maxPendingWrites > 0 && dirtyVersions.size() > maxPendingWrites) {
+			backpressureFlushCount.increment();
+			flushBatch();
+		}
+	}
+
+	public boolean isDirty(@Nonnull K key) {
+		return dirtyVersions.containsKey(key);
+	}
+
+	/**
+	 * Writes up to {@code flushBatchSize} dirty entries.
+	 * An entry stays dirty if it was changed again while being written, if the write failed or if its value is missing.
+	 *
+	 * @return whether entries were written and there may be more entries left to write
+	 */
+	protected boolean flushBatch() {
+		Map<K, V> batch = new LinkedHashMap<>();
+		Map<K, Long> versions = new HashMap<>();
+		Collection<K> missing = new ArrayList<>();
+		K key;
+		while (batch.size() < flushBatchSize && (key = writeQueue.poll()) != null) {
+			Long version = dirtyVersions.get(key);
+			if (version == null) continue;
+			Tuple<Long, V> cached = cache.get(key);
+			if (cached == null) {
+				// the value was removed without being written, keep it dirty so it is written once it is put back
+				missing.add(key);
+				continue;
+			}
+			if (!check.test(cached.getSecond())) {
+				completeWrite(key, version);
+				continue;
+			}
+			batch.put(key, cached.getSecond());
+			versions.put(key, version);
+		}
+		if (!missing.isEmpty()) {
+			if (logger != null ) logger.warn("Cannot write {}, their values are not cached anymore", missing);
+			writeQueue.addAll(missing);
+		}
+		if (batch.isEmpty()) return false;
+
+		try {
+			if (logger != null ) logger.trace("Writing {} dirty entries", batch.size());
+			if (batchWriter != null) {
+				batchWriter.accept(batch);
+			} else {
+				batch.forEach(writer);
+			}
+		} catch (Exception ex) {
+			if (logger != null ) logger.error("Unable to write cache for {}", batch.keySet(), ex);
+			failedWriteCount.add(batch.size());
+			writeQueue.addAll(batch.keySet());
+			return false;
+		}
+
+		flushedCount.add(batch.size());
+		versions.forEach(this::completeWrite);
+		return true;
+	}
+
+	protected void completeWrite(@Nonnull K key, long version) {
+		// the version changed if the entry was marked again after we read it, so it has to be written again
+		if (!dirtyVersions.remove(key, version))
+			writeQueue.add(key);
+	}
+
+	protected void clean() {
+		long now = System.currentTimeMillis();
+		Map<K, Tuple<Long, V>> remove = new HashMap<>();
+		cache.forEach((key, pair) -> {
+			if (now - pair.getFirst() > unusedTimeBeforeClean && !isDirty(key)) {
+				if (logger != null ) logger.trace("Removing {} from cache, last usage was {}s ago", key, (now - pair.getFirst()) / 1000);
+				remove.put(key, pair);
+			}
+		});
+
+		int removed = 0;
+		for (Map.Entry<K, Tuple<Long, V>> entry : remove.entrySet()) {
+			// the entry may have been replaced or marked dirty since it was selected, its write would be lost when it is removed.
+			// entries are marked while holding the lock of their key, so checking it here cannot miss a concurrent mark
+			boolean[] evicted = { false };
+			cache.computeIfPresent(entry.getKey(), (key, pair) -> {
+				if (pair != entry.getValue() || isDirty(key)) return pair;
+				evicted[0] = true;
+				return null;
+			});
+			if (evicted[0]) removed++;
+		}
+		cleanedCount.add(removed);
+	}
+
+	public int getPendingWriteCount() {
+		return dirtyVersions.size();
+	}
+
+	public long getFlushedCount() {
+		return flushedCount.sum();
+	}
+
+	public long getCoalescedCount() {
+		return coalescedCount.sum();
+	}
+
+	public long getFailedWriteCount() {
+		return failedWriteCount.sum();
+	}
+
+	public long getBackpressureFlushCount() {
+		return backpressureFlushCount.sum();
+	}
+
+	public long getCleanedCount() {
+		return cleanedCount.sum();
+	}
+
+	/**
+	 * @return the duration of the last complete flush in nanoseconds
+	 */
+	public long getLastFlushDuration() {
+		return lastFlushDuration;
 	}
 
 	@Nonnull
@@ -64,6 +305,42 @@ public class CleanAndWriteDatabaseCache<K, V> implements DatabaseCache<K, V> {
 			return cached.getSecond();
 		}
 
+		return loader.load(key, this::queryData);
+	}
+
+	@Nonnull
+	@Override
+	public Task<V> getDataAsync(@Nonnull K key) {
+		Tuple<Long, V> cached = cache.get(key);
+		if (cached != null) {
+			cached.setFirst(System.currentTimeMillis());
+			return Task.completed(cached.getSecond());
+		}
+
+		return loader.loadAsync(key, this::queryData);
+	}
+
+	@Nonnull
+	@Override
+	public Map<K, V> getAll(@Nonnull Collection<? extends K> keys) {
+		Map<K, V> values = new LinkedHashMap<>();
+		Collection<K> missing = new ArrayList<>();
+		for (K key : keys) {
+			Tuple<Long, V> cached = cache.get(key);
+			if (cached == null) {
+				missing.add(key);
+				continue;
+			}
+			cached.setFirst(System.currentTimeMillis());
+			values.put(key, cached.getSecond());
+		}
+
+		if (missing.isEmpty()) return values;
+		values.putAll(loader.loadAll(missing, this::queryAllData));
+		return values;
+	}
+
+	protected V queryData(@Nonnull K key) {
 		try {
 			V data = query.apply(key);
 			if (logger != null ) logger.trace("Queried data {} for {}", data, key);
@@ -75,6 +352,34 @@ public class CleanAndWriteDatabaseCache<K, V> implements DatabaseCache<K, V> {
 		}
 	}
 
+	@Nonnull
+	protected Map<K, V> queryAllData(@Nonnull Collection<K> keys) {
+		Map<K, V> values = new HashMap<>();
+		Map<? extends K, ? extends V> queried = null;
+		if (bulkQuery != null) {
+			try {
+				queried = bulkQuery.apply(keys);
+				if (logger != null ) logger.trace("Queried data for {} keys", queried.size());
+			} catch (Exception ex) {
+				if (logger != null ) logger.error("Could not get data for {}", keys, ex);
+				for (K key : keys) values.put(key, fallback.apply(key));
+				return values;
+			}
+		}
+
+		for (K key : keys) {
+			if (queried == null || !queried.containsKey(key)) {
+				values.put(key, queryData(key));
+				continue;
+			}
+
+			V data = queried.get(key);
+			cache.put(key, new Tuple<>(System.currentTimeMillis(), data));
+			values.put(key, data);
+		}
+		return values;
+	}
+
 	@Override
 	public boolean contains(@Nonnull K key) {
 		return cache.containsKey(key);
@@ -88,17 +393,19 @@ public class CleanAndWriteDatabaseCache<K, V> implements DatabaseCache<K, V> {
 	@Override
 	public void clear() {
 		cache.clear();
+		dirtyVersions.clear();
+		writeQueue.clear();
 	}
 
 	public static <K, V> void cleanAndWrite(@Nonnull Map<K, Tuple<Long, V>> cache, @Nonnegative long unusedTimeBeforeClean, @Nullable ILogger logger,
 	                                        @Nonnull Predicate<? super V> check, @Nonnull BiConsumer<? super K, ? super V> writer) {
 		long now = System.currentTimeMillis();
-		Collection<K> remove = new ArrayList<>();
+		Map<K, Tuple<Long, V>> remove = new HashMap<>();
 		cache.forEach((key, pair) -> {
 			try {
 				if (now - pair.getFirst() > unusedTimeBeforeClean) {
 					if (logger != null ) logger.trace("Removing {} from cache, last usage was {}s ago", key, (now - pair.getFirst()) / 1000);
-					remove.add(key);
+					remove.put(key, pair);
 				}
 
 				V value = pair.getSecond();
@@ -110,6 +417,7 @@ public class CleanAndWriteDatabaseCache<K, V> implements DatabaseCache<K, V> {
 				if (logger != null ) logger.error("Unable to write cache for {}", key, ex);
 			}
 		});
+		// only remove the entries which were selected, values set in the meantime were not written yet
 		remove.forEach(cache::remove);
 	}
 
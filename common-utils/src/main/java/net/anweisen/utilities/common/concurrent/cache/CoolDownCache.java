@@ -1,6 +1,7 @@
 package net.anweisen.utilities.common.concurrent.cache;
 
-import net.anweisen.utilities.common.collection.RunnableTimerTask;
+import net.anweisen.utilities.common.annotations.ReplaceWith;
+import net.anweisen.utilities.common.concurrent.TimingWheel;
 import net.anweisen.utilities.common.logging.ILogger;
 
 import javax.annotation.Nonnegative;
@@ -8,11 +9,13 @@ import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
-import java.util.Timer;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.ToLongFunction;
 
 /**
+ * Entries are removed by the {@link TimingWheel#getShared() shared timing wheel} as soon as their cooldown is over.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.2.4
  */
@@ -21,16 +24,31 @@ public class CoolDownCache<K> {
 	protected final Map<K, Long> cache = new ConcurrentHashMap<>();
 	protected final ILogger logger;
 	protected final ToLongFunction<? super K> cooldownTime;
-	protected final long cleanInterval;
+	protected final TimingWheel wheel;
 
-	public CoolDownCache(@Nonnull ILogger logger, @Nonnegative long cleanInterval, @Nonnull String taskName, @Nonnull ToLongFunction<? super K> cooldownTime) {
+	public CoolDownCache(@Nonnull ILogger logger, @Nonnull ToLongFunction<? super K> cooldownTime) {
+		this(logger, TimingWheel.getShared(), cooldownTime);
+	}
+
+	public CoolDownCache(@Nonnull ILogger logger, @Nonnull TimingWheel wheel, @Nonnull ToLongFunction<? super K> cooldownTime) {
 		this.logger = logger;
 		this.cooldownTime = cooldownTime;
-		this.cleanInterval = cleanInterval;
+		this.wheel = wheel;
+	}
 
-		new Timer(taskName).schedule(new RunnableTimerTask(this::cleanCache), cleanInterval, cleanInterval);
+	/**
+	 * @deprecated entries are now expired by the {@link TimingWheel#getShared() shared timing wheel}, the clean interval and task name are ignored
+	 */
+	@Deprecated
+	@ReplaceWith("CoolDownCache(ILogger, ToLongFunction)")
+	public CoolDownCache(@Nonnull ILogger logger, @Nonnegative long cleanInterval, @Nonnull String taskName, @Nonnull ToLongFunction<? super K> cooldownTime) {
+		this(logger, cooldownTime);
 	}
 
+	/**
+	 * Removes all entries which are no longer on cooldown.
+	 * This does not have to be called, entries are removed automatically when they expire.
+	 */
 	public void cleanCache() {
 		logger.debug("Cleaning cooldown cache");
 
@@ -63,7 +81,11 @@ public class CoolDownCache<K> {
 	}
 
 	public void setOnCoolDown(@Nonnull K key) {
-		cache.put(key, System.currentTimeMillis());
+		Long time = System.currentTimeMillis();
+		cache.put(key, time);
+
+		// only removes the entry if it was not renewed in the meantime
+		wheel.schedule(getCoolDownTime(key), TimeUnit.MILLISECONDS, () -> cache.remove(key, time));
 	}
 
 	public long getCoolDown(@Nonnull K key) {
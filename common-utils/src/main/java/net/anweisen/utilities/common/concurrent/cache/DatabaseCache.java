@@ -1,8 +1,12 @@
 package net.anweisen.utilities.common.concurrent.cache;
 
 import net.anweisen.utilities.common.annotations.ReplaceWith;
+import net.anweisen.utilities.common.concurrent.task.Task;
 
 import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -19,4 +23,18 @@ public interface DatabaseCache<K, V> extends ICache<K, V> {
 	@Nonnull
 	V getData(@Nonnull K key);
 
+	@Nonnull
+	default Task<V> getDataAsync(@Nonnull K key) {
+		return Task.asyncCall(() -> getData(key));
+	}
+
+	@Nonnull
+	default Map<K, V> getAll(@Nonnull Collection<? extends K> keys) {
+		Map<K, V> values = new LinkedHashMap<>();
+		for (K key : keys) {
+			values.put(key, getData(key));
+		}
+		return values;
+	}
+
 }
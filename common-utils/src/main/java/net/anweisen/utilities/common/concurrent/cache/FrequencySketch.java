@@ -0,0 +1,92 @@
+package net.anweisen.utilities.common.concurrent.cache;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * A count-min sketch storing 4-bit popularity counters, 16 per {@code long}.
+ * Counters are halved after a sample period so that the history ages out (TinyLFU).
+ *
+ * Not thread safe, callers have to guard access.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+final class FrequencySketch {
+
+	private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+	private static final long RESET_MASK = 0x7777777777777777L;
+	private static final long ONE_MASK = 0x1111111111111111L;
+
+	private final long[] table;
+	private final int tableMask;
+	private final int sampleSize;
+	private int size;
+
+	FrequencySketch(@Nonnegative long maximumSize) {
+		int maximum = (int) Math.min(Math.max(maximumSize, 1), Integer.MAX_VALUE >>> 1);
+		int length = Math.max(ceilingPowerOfTwo(maximum), 8);
+		this.table = new long[length];
+		this.tableMask = length - 1;
+		this.sampleSize = 10 * maximum > 0 ? 10 * maximum : Integer.MAX_VALUE;
+	}
+
+	@Nonnegative
+	int frequency(@Nonnull Object element) {
+		int hash = spread(element.hashCode());
+		int start = (hash & 3) << 2;
+		int frequency = Integer.MAX_VALUE;
+		for (int i = 0; i < 4; i++) {
+			int index = indexOf(hash, i);
+			int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+			frequency = Math.min(frequency, count);
+		}
+		return frequency;
+	}
+
+	void increment(@Nonnull Object element) {
+		int hash = spread(element.hashCode());
+		int start = (hash & 3) << 2;
+		boolean added = false;
+		for (int i = 0; i < 4; i++) {
+			added |= incrementAt(indexOf(hash, i), start + i);
+		}
+
+		if (added && ++size == sampleSize)
+			reset();
+	}
+
+	private boolean incrementAt(int index, int counter) {
+		int offset = counter << 2;
+		long mask = 0xfL << offset;
+		if ((table[index] & mask) == mask) return false;
+		table[index] += 1L << offset;
+		return true;
+	}
+
+	private void reset() {
+		int odd = 0;
+		for (int i = 0; i < table.length; i++) {
+			odd += Long.bitCount(table[i] & ONE_MASK);
+			table[i] = (table[i] >>> 1) & RESET_MASK;
+		}
+		size = (size >>> 1) - (odd >>> 2);
+	}
+
+	private int indexOf(int hash, int depth) {
+		long result = (hash + SEEDS[depth]) * SEEDS[depth];
+		result += result >>> 32;
+		return ((int) result) & tableMask;
+	}
+
+	private static int spread(int hash) {
+		hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+		hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+		return (hash >>> 16) ^ hash;
+	}
+
+	private static int ceilingPowerOfTwo(int value) {
+		return 1 << -Integer.numberOfLeadingZeros(value - 1);
+	}
+
+}
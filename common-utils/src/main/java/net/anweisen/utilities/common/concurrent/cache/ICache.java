@@ -2,6 +2,7 @@ package net.anweisen.utilities.common.concurrent.cache;
 
 import net.anweisen.utilities.common.annotations.ReplaceWith;
 import net.anweisen.utilities.common.collection.NamedThreadFactory;
+import net.anweisen.utilities.common.concurrent.ExecutorRegistry;
 
 import javax.annotation.Nonnull;
 import java.util.Map;
@@ -21,7 +22,7 @@ import java.util.function.BiConsumer;
 @ReplaceWith("com.google.common.cache.Cache")
 public interface ICache<K, V> {
 
-	ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(2, new NamedThreadFactory(threadId -> String.format("CacheTask-%s", threadId)));
+	ScheduledExecutorService EXECUTOR = ExecutorRegistry.register(ExecutorRegistry.CACHE, Executors.newScheduledThreadPool(2, new NamedThreadFactory(threadId -> String.format("CacheTask-%s", threadId))));
 
 	boolean contains(@Nonnull K key);
 
@@ -0,0 +1,132 @@
+package net.anweisen.utilities.common.concurrent.cache;
+
+import net.anweisen.utilities.common.collection.WrappedException;
+import net.anweisen.utilities.common.concurrent.task.CompletableTask;
+import net.anweisen.utilities.common.concurrent.task.Task;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key: only one load per key is in flight at a time,
+ * every other caller requesting the key in the meantime waits for or receives the {@link Task} of that load.
+ *
+ * The loader should publish its value (eg put it into the cache) before returning,
+ * so that callers arriving after the load completed will not start a new one.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class SingleFlightLoader<K, V> {
+
+	protected final Map<K, CompletableTask<V>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Loads the value on the calling thread, or waits for the load already in flight
+	 */
+	public V load(@Nonnull K key, @Nonnull Function<? super K, ? extends V> loader) {
+		CompletableTask<V> task = new CompletableTask<>();
+		CompletableTask<V> existing = inFlight.putIfAbsent(key, task);
+		if (existing != null) return await(existing);
+
+		return run(key, task, loader);
+	}
+
+	/**
+	 * Loads the value using the {@link Task#getAsyncExecutor() async executor}, or returns the load already in flight
+	 */
+	@Nonnull
+	public Task<V> loadAsync(@Nonnull K key, @Nonnull Function<? super K, ? extends V> loader) {
+		CompletableTask<V> task = new CompletableTask<>();
+		CompletableTask<V> existing = inFlight.putIfAbsent(key, task);
+		if (existing != null) return existing;
+
+		Task.getAsyncExecutor().execute(() -> {
+			try {
+				run(key, task, loader);
+			} catch (Throwable ex) {
+				// the failure was already passed to the task
+			}
+		});
+		return task;
+	}
+
+	/**
+	 * Loads all keys which are not in flight yet with a single call of the given loader
+	 * and waits for the keys which are already being loaded by other callers.
+	 *
+	 * @param loader receives the keys this call claimed, should return a value for each of them
+	 */
+	@Nonnull
+	public Map<K, V> loadAll(@Nonnull Collection<? extends K> keys, @Nonnull Function<? super Collection<K>, ? extends Map<K, V>> loader) {
+		Map<K, CompletableTask<V>> claimed = new LinkedHashMap<>();
+		Map<K, CompletableTask<V>> waiting = new LinkedHashMap<>();
+		for (K key : keys) {
+			if (claimed.containsKey(key) || waiting.containsKey(key)) continue;
+			CompletableTask<V> task = new CompletableTask<>();
+			CompletableTask<V> existing = inFlight.putIfAbsent(key, task);
+			if (existing == null) claimed.put(key, task);
+			else waiting.put(key, existing);
+		}
+
+		Map<K, V> result = new LinkedHashMap<>();
+		if (!claimed.isEmpty()) {
+			Map<K, V> loaded;
+			try {
+				loaded = loader.apply(new ArrayList<>(claimed.keySet()));
+			} catch (Throwable ex) {
+				claimed.forEach((key, task) -> {
+					task.fail(ex);
+					inFlight.remove(key, task);
+				});
+				throw WrappedException.rethrow(ex);
+			}
+
+			claimed.forEach((key, task) -> {
+				V value = loaded.get(key);
+				result.put(key, value);
+				task.complete(value);
+				inFlight.remove(key, task);
+			});
+		}
+
+		waiting.forEach((key, task) -> result.put(key, await(task)));
+		return result;
+	}
+
+	public boolean isLoading(@Nonnull K key) {
+		return inFlight.containsKey(key);
+	}
+
+	public int getLoadingCount() {
+		return inFlight.size();
+	}
+
+	protected V run(@Nonnull K key, @Nonnull CompletableTask<V> task, @Nonnull Function<? super K, ? extends V> loader) {
+		try {
+			V value = loader.apply(key);
+			task.complete(value);
+			return value;
+		} catch (Throwable ex) {
+			task.fail(ex);
+			throw WrappedException.rethrow(ex);
+		} finally {
+			inFlight.remove(key, task);
+		}
+	}
+
+	protected V await(@Nonnull Task<V> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new WrappedException(ex);
+		} catch (ExecutionException ex) {
+			throw WrappedException.rethrow(ex.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,589 @@
+package net.anweisen.utilities.common.concurrent.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheStats;
+import net.anweisen.utilities.common.concurrent.task.Task;
+import net.anweisen.utilities.common.logging.ILogger;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A size bounded loading cache using the W-TinyLFU policy:
+ * new entries enter a small LRU window, entries leaving the window are only admitted into the main space (segmented LRU)
+ * if they were requested more frequently than the entry they would replace, according to a {@link FrequencySketch}.
+ *
+ * Hits are lock free, their reordering is recorded in a lossy buffer and applied in batches.
+ * Writes, eviction and expiration are performed amortized on the calling thread, there is no background task and no full scan.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+@SuppressWarnings("deprecation") // implements the deprecated cache interfaces, so it can replace their implementations without changing callers
+public class TinyLfuDatabaseCache<K, V> implements DatabaseCache<K, V>, WriteableCache<K, V> {
+
+	protected static final byte WINDOW = 0, PROBATION = 1, PROTECTED = 2, DEAD = 3;
+
+	protected static final int READ_BUFFER_SIZE = 128;
+	protected static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+	protected static final int READ_DRAIN_MASK = 32 - 1;
+
+	protected final ConcurrentMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+	protected final ReentrantLock evictionLock = new ReentrantLock();
+	protected final AtomicReferenceArray<Node<K, V>> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+	protected final AtomicLong readBufferIndex = new AtomicLong();
+	protected final AtomicLong modifications = new AtomicLong();
+	protected final List<Node<K, V>> pendingEvictions = new ArrayList<>();
+	protected final SingleFlightLoader<K, V> loader = new SingleFlightLoader<>();
+
+	protected final NodeDeque<K, V> window = new NodeDeque<>();
+	protected final NodeDeque<K, V> probation = new NodeDeque<>();
+	protected final NodeDeque<K, V> protectedSegment = new NodeDeque<>();
+	protected final FrequencySketch sketch;
+
+	protected final long maximumWeight;
+	protected final long maximumWindowWeight;
+	protected final long maximumProtectedWeight;
+	protected volatile long weightedSize;
+	protected long windowWeight;
+	protected long protectedWeight;
+
+	protected final LongAdder hitCount = new LongAdder();
+	protected final LongAdder missCount = new LongAdder();
+	protected final LongAdder loadSuccessCount = new LongAdder();
+	protected final LongAdder loadFailureCount = new LongAdder();
+	protected final LongAdder totalLoadTime = new LongAdder();
+	protected final LongAdder evictionCount = new LongAdder();
+
+	protected final long expireAfterAccess;
+	protected final ToIntBiFunction<? super K, ? super V> weigher;
+	protected final Function<? super K, ? extends V> query;
+	protected final Function<? super K, ? extends V> fallback;
+	protected final Function<? super Collection<K>, ? extends Map<? extends K, ? extends V>> bulkQuery;
+	protected final BiConsumer<? super K, ? super V> evictionListener;
+	protected final ILogger logger;
+
+	public TinyLfuDatabaseCache(@Nullable ILogger logger, @Nonnegative long maximumSize, @Nonnegative long expireAfterAccess,
+	                            @Nonnull Function<? super K, ? extends V> fallback, @Nonnull Function<? super K, ? extends V> query) {
+		this(logger, maximumSize, expireAfterAccess, (key, value) -> 1, fallback, query, null, null);
+	}
+
+	/**
+	 * @param maximumWeight the maximum total weight of all entries
+	 * @param expireAfterAccess the time in millis after the last access an entry will expire, {@code 0} to disable expiration
+	 * @param weigher calculates the weight of an entry, which has to be non-negative
+	 * @param bulkQuery queries multiple keys at once for {@link #getAll(Collection)}, keys missing in the returned map are queried one by one
+	 * @param evictionListener called after an entry was evicted because of its size or expiration, not for explicit removals
+	 */
+	public TinyLfuDatabaseCache(@Nullable ILogger logger, @Nonnegative long maximumWeight, @Nonnegative long expireAfterAccess,
+	                            @Nonnull ToIntBiFunction<? super K, ? super V> weigher,
+	                            @Nonnull Function<? super K, ? extends V> fallback, @Nonnull Function<? super K, ? extends V> query,
+	                            @Nullable Function<? super Collection<K>, ? extends Map<? extends K, ? extends V>> bulkQuery,
+	                            @Nullable BiConsumer<? super K, ? super V> evictionListener) {
+		Preconditions.checkArgument(maximumWeight > 0, "Maximum weight must be positive");
+		Preconditions.checkArgument(expireAfterAccess >= 0, "Expiration cannot be negative");
+		this.logger = logger;
+		this.maximumWeight = maximumWeight;
+		this.maximumWindowWeight = Math.max(1, maximumWeight / 100);
+		this.maximumProtectedWeight = (long) ((maximumWeight - maximumWindowWeight) * 0.8);
+		this.expireAfterAccess = expireAfterAccess;
+		this.weigher = weigher;
+		this.fallback = fallback;
+		this.query = query;
+		this.bulkQuery = bulkQuery;
+		this.evictionListener = evictionListener;
+		this.sketch = new FrequencySketch(maximumWeight);
+	}
+
+	@Nonnull
+	@Override
+	public V getData(@Nonnull K key) {
+		long now = now();
+		Node<K, V> node = data.get(key);
+		if (node != null && !isExpired(node, now)) {
+			hitCount.increment();
+			afterRead(node, now);
+			return node.value;
+		}
+
+		missCount.increment();
+		return loader.load(key, this::queryData);
+	}
+
+	@Nonnull
+	@Override
+	public Task<V> getDataAsync(@Nonnull K key) {
+		long now = now();
+		Node<K, V> node = data.get(key);
+		if (node != null && !isExpired(node, now)) {
+			hitCount.increment();
+			afterRead(node, now);
+			return Task.completed(node.value);
+		}
+
+		missCount.increment();
+		return loader.loadAsync(key, this::queryData);
+	}
+
+	@Nonnull
+	@Override
+	public Map<K, V> getAll(@Nonnull Collection<? extends K> keys) {
+		long now = now();
+		Map<K, V> values = new LinkedHashMap<>();
+		Collection<K> missing = new ArrayList<>();
+		for (K key : keys) {
+			Node<K, V> node = data.get(key);
+			if (node == null || isExpired(node, now)) {
+				missing.add(key);
+				continue;
+			}
+			afterRead(node, now);
+			values.put(key, node.value);
+		}
+
+		hitCount.add(values.size());
+		if (missing.isEmpty()) return values;
+
+		missCount.add(missing.size());
+		values.putAll(loader.loadAll(missing, this::queryAllData));
+		return values;
+	}
+
+	/**
+	 * @return the cached value, or {@code null} if there is no value cached for the given key; this will never query the value
+	 */
+	@Nullable
+	public V getIfPresent(@Nonnull K key) {
+		long now = now();
+		Node<K, V> node = data.get(key);
+		if (node == null || isExpired(node, now)) {
+			missCount.increment();
+			return null;
+		}
+
+		hitCount.increment();
+		afterRead(node, now);
+		return node.value;
+	}
+
+	protected V queryData(@Nonnull K key) {
+		long modification = modifications.get();
+		long start = System.nanoTime();
+		try {
+			V value = query.apply(key);
+			loadSuccessCount.increment();
+			totalLoadTime.add(System.nanoTime() - start);
+			if (logger != null) logger.trace("Queried data {} for {}", value, key);
+			store(key, value, modification);
+			return value;
+		} catch (Exception ex) {
+			loadFailureCount.increment();
+			totalLoadTime.add(System.nanoTime() - start);
+			if (logger != null) logger.error("Could not get data for {}", key, ex);
+			return fallback.apply(key);
+		}
+	}
+
+	@Nonnull
+	protected Map<K, V> queryAllData(@Nonnull Collection<K> keys) {
+		long modification = modifications.get();
+		Map<K, V> values = new HashMap<>();
+		Map<? extends K, ? extends V> queried = null;
+		if (bulkQuery != null) {
+			long start = System.nanoTime();
+			try {
+				queried = bulkQuery.apply(keys);
+				loadSuccessCount.increment();
+				totalLoadTime.add(System.nanoTime() - start);
+				if (logger != null) logger.trace("Queried data for {} keys", queried.size());
+			} catch (Exception ex) {
+				loadFailureCount.increment();
+				totalLoadTime.add(System.nanoTime() - start);
+				if (logger != null) logger.error("Could not get data for {}", keys, ex);
+				for (K key : keys) values.put(key, fallback.apply(key));
+				return values;
+			}
+		}
+
+		for (K key : keys) {
+			if (queried == null || !queried.containsKey(key)) {
+				values.put(key, queryData(key));
+				continue;
+			}
+
+			V value = queried.get(key);
+			store(key, value, modification);
+			values.put(key, value);
+		}
+		return values;
+	}
+
+	@Override
+	public void setData(@Nonnull K key, @Nullable V value) {
+		modifications.incrementAndGet();
+		store(key, value, -1);
+	}
+
+	/**
+	 * @param modification the amount of modifications when the value was queried, the value is not stored if the cache was modified since,
+	 *                     because it may be older than the modification; {@code -1} to always store the value
+	 */
+	protected void store(@Nonnull K key, @Nullable V value, long modification) {
+		int weight = weigher.applyAsInt(key, value);
+		Preconditions.checkArgument(weight >= 0, "Weight cannot be negative");
+		long now = now();
+
+		List<Node<K, V>> evicted;
+		evictionLock.lock();
+		try {
+			if (modification != -1 && modifications.get() != modification) return;
+			Node<K, V> node = data.get(key);
+			if (node != null) {
+				node.value = value;
+				node.accessTime = now;
+				updateWeight(node, weight - node.weight);
+				onAccess(node);
+			} else {
+				node = new Node<>(key, value, weight, now);
+				data.put(key, node);
+				onAdd(node);
+			}
+			maintenance(now);
+			evicted = takePendingEvictions();
+		} finally {
+			evictionLock.unlock();
+		}
+		notifyEvictions(evicted);
+	}
+
+	public void invalidate(@Nonnull K key) {
+		modifications.incrementAndGet();
+		evictionLock.lock();
+		try {
+			Node<K, V> node = data.remove(key);
+			if (node != null) unlink(node);
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Applies pending reorderings and performs all pending evictions and expirations
+	 */
+	public void cleanUp() {
+		List<Node<K, V>> evicted;
+		evictionLock.lock();
+		try {
+			maintenance(now());
+			evicted = takePendingEvictions();
+		} finally {
+			evictionLock.unlock();
+		}
+		notifyEvictions(evicted);
+	}
+
+	protected void afterRead(@Nonnull Node<K, V> node, long now) {
+		if (expireAfterAccess > 0) node.accessTime = now;
+
+		long index = readBufferIndex.getAndIncrement();
+		readBuffer.lazySet((int) (index & READ_BUFFER_MASK), node);
+		if ((index & READ_DRAIN_MASK) != READ_DRAIN_MASK || !evictionLock.tryLock()) return;
+
+		List<Node<K, V>> evicted;
+		try {
+			maintenance(now);
+			evicted = takePendingEvictions();
+		} finally {
+			evictionLock.unlock();
+		}
+		notifyEvictions(evicted);
+	}
+
+	protected void maintenance(long now) {
+		drainReadBuffer();
+		expireEntries(now);
+		evictEntries();
+	}
+
+	protected void drainReadBuffer() {
+		for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+			Node<K, V> node = readBuffer.get(i);
+			if (node == null) continue;
+			readBuffer.lazySet(i, null);
+			onAccess(node);
+		}
+	}
+
+	protected void expireEntries(long now) {
+		if (expireAfterAccess <= 0) return;
+		expireEntries(window, now);
+		expireEntries(probation, now);
+		expireEntries(protectedSegment, now);
+	}
+
+	protected void expireEntries(@Nonnull NodeDeque<K, V> deque, long now) {
+		Node<K, V> node;
+		while ((node = deque.first) != null && isExpired(node, now)) {
+			if (logger != null) logger.trace("Removing {} from cache, last usage was {}s ago", node.key, (now - node.accessTime) / 1000);
+			evict(node);
+		}
+	}
+
+	protected void evictEntries() {
+		while (windowWeight > maximumWindowWeight) {
+			Node<K, V> node = window.first;
+			window.remove(node);
+			windowWeight -= node.weight;
+			node.segment = PROBATION;
+			probation.addLast(node);
+		}
+
+		while (weightedSize > maximumWeight) {
+			Node<K, V> victim = probation.first;
+			Node<K, V> candidate = probation.last;
+			if (victim == null) {
+				victim = protectedSegment.first != null ? protectedSegment.first : window.first;
+				if (victim == null) break;
+				evict(victim);
+			} else if (victim != candidate && admit(candidate.key, victim.key)) {
+				evict(victim);
+			} else {
+				evict(candidate);
+			}
+		}
+	}
+
+	protected boolean admit(@Nonnull K candidate, @Nonnull K victim) {
+		int victimFrequency = sketch.frequency(victim);
+		int candidateFrequency = sketch.frequency(candidate);
+		if (candidateFrequency > victimFrequency) return true;
+		if (candidateFrequency <= 5) return false;
+
+		// Admit a warm candidate at random, so that an attacker cannot keep a hot victim resident by flooding its hash
+		return (ThreadLocalRandom.current().nextInt() & 127) == 0;
+	}
+
+	protected void evict(@Nonnull Node<K, V> node) {
+		data.remove(node.key, node);
+		unlink(node);
+		evictionCount.increment();
+		if (evictionListener != null) pendingEvictions.add(node);
+	}
+
+	protected void onAdd(@Nonnull Node<K, V> node) {
+		sketch.increment(node.key);
+		node.segment = WINDOW;
+		window.addLast(node);
+		windowWeight += node.weight;
+		weightedSize += node.weight;
+	}
+
+	protected void onAccess(@Nonnull Node<K, V> node) {
+		switch (node.segment) {
+			case WINDOW:
+				sketch.increment(node.key);
+				window.moveToBack(node);
+				break;
+			case PROBATION:
+				sketch.increment(node.key);
+				probation.remove(node);
+				node.segment = PROTECTED;
+				protectedSegment.addLast(node);
+				protectedWeight += node.weight;
+				demoteFromProtected();
+				break;
+			case PROTECTED:
+				sketch.increment(node.key);
+				protectedSegment.moveToBack(node);
+				break;
+			default:
+				// the node was removed before this access was applied
+		}
+	}
+
+	protected void demoteFromProtected() {
+		while (protectedWeight > maximumProtectedWeight) {
+			Node<K, V> node = protectedSegment.first;
+			protectedSegment.remove(node);
+			protectedWeight -= node.weight;
+			node.segment = PROBATION;
+			probation.addLast(node);
+		}
+	}
+
+	protected void updateWeight(@Nonnull Node<K, V> node, int delta) {
+		node.weight += delta;
+		weightedSize += delta;
+		if (node.segment == WINDOW) windowWeight += delta;
+		else if (node.segment == PROTECTED) protectedWeight += delta;
+	}
+
+	protected void unlink(@Nonnull Node<K, V> node) {
+		switch (node.segment) {
+			case WINDOW:
+				window.remove(node);
+				windowWeight -= node.weight;
+				break;
+			case PROBATION:
+				probation.remove(node);
+				break;
+			case PROTECTED:
+				protectedSegment.remove(node);
+				protectedWeight -= node.weight;
+				break;
+			default:
+				return;
+		}
+		weightedSize -= node.weight;
+		node.segment = DEAD;
+	}
+
+	@Nonnull
+	protected List<Node<K, V>> takePendingEvictions() {
+		if (pendingEvictions.isEmpty()) return Collections.emptyList();
+		List<Node<K, V>> evicted = new ArrayList<>(pendingEvictions);
+		pendingEvictions.clear();
+		return evicted;
+	}
+
+	protected void notifyEvictions(@Nonnull List<Node<K, V>> evicted) {
+		for (Node<K, V> node : evicted) {
+			try {
+				evictionListener.accept(node.key, node.value);
+			} catch (Exception ex) {
+				if (logger != null) logger.error("Unable to handle eviction of {}", node.key, ex);
+			}
+		}
+	}
+
+	protected boolean isExpired(@Nonnull Node<K, V> node, long now) {
+		return expireAfterAccess > 0 && now - node.accessTime > expireAfterAccess;
+	}
+
+	protected long now() {
+		return expireAfterAccess > 0 ? System.currentTimeMillis() : 0;
+	}
+
+	@Override
+	public boolean contains(@Nonnull K key) {
+		Node<K, V> node = data.get(key);
+		return node != null && !isExpired(node, now());
+	}
+
+	@Override
+	public int size() {
+		return data.size();
+	}
+
+	@Override
+	public void clear() {
+		modifications.incrementAndGet();
+		evictionLock.lock();
+		try {
+			for (Node<K, V> node : data.values()) {
+				node.segment = DEAD;
+			}
+			data.clear();
+			window.clear();
+			probation.clear();
+			protectedSegment.clear();
+			weightedSize = windowWeight = protectedWeight = 0;
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	@Nonnull
+	@Override
+	public Map<K, V> values() {
+		long now = now();
+		Map<K, V> values = new HashMap<>();
+		data.forEach((key, node) -> {
+			if (!isExpired(node, now))
+				values.put(key, node.value);
+		});
+		return Collections.unmodifiableMap(values);
+	}
+
+	@Nonnull
+	public CacheStats stats() {
+		return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(), totalLoadTime.sum(), evictionCount.sum());
+	}
+
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	public long getWeightedSize() {
+		return weightedSize;
+	}
+
+	protected static final class Node<K, V> {
+
+		protected final K key;
+		protected volatile V value;
+		protected volatile long accessTime;
+		protected int weight;
+		protected byte segment;
+		protected Node<K, V> previous, next;
+
+		protected Node(@Nonnull K key, @Nullable V value, int weight, long accessTime) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.accessTime = accessTime;
+		}
+
+	}
+
+	/**
+	 * An intrusive doubly linked list of {@link Node nodes} in access order, the least recently used node first
+	 */
+	protected static final class NodeDeque<K, V> {
+
+		protected Node<K, V> first, last;
+
+		protected void addLast(@Nonnull Node<K, V> node) {
+			node.previous = last;
+			node.next = null;
+			if (last == null) first = node;
+			else last.next = node;
+			last = node;
+		}
+
+		protected void remove(@Nonnull Node<K, V> node) {
+			if (node.previous == null) first = node.next;
+			else node.previous.next = node.next;
+			if (node.next == null) last = node.previous;
+			else node.next.previous = node.previous;
+			node.previous = node.next = null;
+		}
+
+		protected void moveToBack(@Nonnull Node<K, V> node) {
+			if (node == last) return;
+			remove(node);
+			addLast(node);
+		}
+
+		protected void clear() {
+			first = last = null;
+		}
+
+	}
+
+}
@@ -1,7 +1,5 @@
 package net.anweisen.utilities.common.concurrent.task;
 
-import net.anweisen.utilities.common.collection.NamedThreadFactory;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -15,8 +13,6 @@ import java.util.function.Function;
  */
 public class CompletableTask<V> implements Task<V> {
 
-	static final ExecutorService SERVICE = Executors.newCachedThreadPool(new NamedThreadFactory("TaskProcessor"));
-
 	private final Collection<TaskListener<V>> listeners = new ArrayList<>();
 	private final CompletableFuture<V> future;
 
@@ -36,8 +32,13 @@ public class CompletableTask<V> implements Task<V> {
 
 	@Nonnull
 	public static <V> Task<V> callAsync(@Nonnull Callable<V> callable) {
+		return callAsync(callable, Task.getAsyncExecutor());
+	}
+
+	@Nonnull
+	public static <V> Task<V> callAsync(@Nonnull Callable<V> callable, @Nonnull Executor executor) {
 		CompletableTask<V> task = new CompletableTask<>();
-		SERVICE.execute(() -> {
+		executor.execute(() -> {
 			try {
 				task.complete(callable.call());
 			} catch (Throwable ex) {
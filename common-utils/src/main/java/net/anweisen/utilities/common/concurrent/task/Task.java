@@ -1,6 +1,7 @@
 package net.anweisen.utilities.common.concurrent.task;
 
 import net.anweisen.utilities.common.collection.WrappedException;
+import net.anweisen.utilities.common.concurrent.ExecutorRegistry;
 import net.anweisen.utilities.common.function.ExceptionallyFunction;
 import net.anweisen.utilities.common.function.ExceptionallyRunnable;
 
@@ -26,9 +27,12 @@ import java.util.function.Supplier;
  */
 public interface Task<V> extends Future<V>, Callable<V> {
 
+	/**
+	 * @return the {@link ExecutorRegistry#TASK task} executor of the {@link ExecutorRegistry}
+	 */
 	@Nonnull
 	static ExecutorService getAsyncExecutor() {
-		return CompletableTask.SERVICE;
+		return ExecutorRegistry.get(ExecutorRegistry.TASK);
 	}
 
 	@Nonnull
@@ -61,6 +65,14 @@ public interface Task<V> extends Future<V>, Callable<V> {
 		return CompletableTask.callAsync(callable);
 	}
 
+	/**
+	 * @param executor the executor to call the callable on, eg one of the {@link ExecutorRegistry}
+	 */
+	@Nonnull
+	static <V> Task<V> asyncCall(@Nonnull Callable<V> callable, @Nonnull Executor executor) {
+		return CompletableTask.callAsync(callable, executor);
+	}
+
 	@Nonnull
 	static <V> Task<V> asyncSupply(@Nonnull Supplier<V> supplier) {
 		return asyncCall(supplier::get);
@@ -0,0 +1,110 @@
+package net.anweisen.utilities.common.debug;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records durations in nanos into log linear buckets like a HdrHistogram with two significant digits:
+ * values below {@value #LINEAR_BUCKETS} are counted exactly, every higher power of two is split into {@value #SUB_BUCKETS} buckets,
+ * so percentiles are accurate to about 3%.
+ *
+ * Recording is lock free and does not allocate, reading while recording returns a slightly inconsistent but usable view.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_BUCKETS = SUB_BUCKETS * 2;
+	private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+	private static final int BUCKET_COUNT = LINEAR_BUCKETS + (63 - LINEAR_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	public void record(@Nonnegative long nanos) {
+		if (nanos < 0) nanos = 0;
+		buckets.incrementAndGet(indexOf(nanos));
+		count.increment();
+		total.add(nanos);
+		max.accumulate(nanos);
+	}
+
+	public void record(@Nonnegative long duration, @Nonnull TimeUnit unit) {
+		record(unit.toNanos(duration));
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getMax(@Nonnull TimeUnit unit) {
+		return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+	}
+
+	public long getMean(@Nonnull TimeUnit unit) {
+		long count = this.count.sum();
+		return count == 0 ? 0 : unit.convert(total.sum() / count, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @param percentile the percentile between {@code 0} and {@code 100}, eg {@code 99.9}
+	 * @return the highest value of the bucket containing the percentile, never more than the recorded maximum
+	 */
+	public long getPercentile(double percentile, @Nonnull TimeUnit unit) {
+		long count = this.count.sum();
+		if (count == 0) return 0;
+
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += buckets.get(i);
+			if (seen >= rank)
+				return unit.convert(Math.min(highestValueOf(i), max.get()), TimeUnit.NANOSECONDS);
+		}
+		return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets.set(i, 0);
+		}
+		count.reset();
+		total.reset();
+		max.reset();
+	}
+
+	private static int indexOf(long value) {
+		if (value < LINEAR_BUCKETS) return (int) value;
+		int highestBit = 63 - Long.numberOfLeadingZeros(value);
+		int shift = highestBit - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+		return LINEAR_BUCKETS + (highestBit - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+	}
+
+	private static long highestValueOf(int index) {
+		if (index < LINEAR_BUCKETS) return index;
+		int highestBit = (index - LINEAR_BUCKETS) / SUB_BUCKETS + LINEAR_BITS;
+		int shift = highestBit - SUB_BUCKET_BITS;
+		long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	@Override
+	public String toString() {
+		return "LatencyHistogram[count=" + getCount()
+			+ ", p50=" + getPercentile(50, TimeUnit.MICROSECONDS) + "us"
+			+ ", p99=" + getPercentile(99, TimeUnit.MICROSECONDS) + "us"
+			+ ", p999=" + getPercentile(99.9, TimeUnit.MICROSECONDS) + "us"
+			+ ", max=" + getMax(TimeUnit.MICROSECONDS) + "us]";
+	}
+
+}
@@ -162,6 +162,23 @@ public interface ILogger {
 		log(LogLevel.ERROR, message, args);
 	}
 
+	// the fixed arity overloads check the level before the argument array is created
+
+	default void error(@Nullable String message) {
+		if (isLevelEnabled(LogLevel.ERROR))
+			log(LogLevel.ERROR, message, LogMessageFormatter.NO_ARGS);
+	}
+
+	default void error(@Nullable String message, @Nullable Object arg) {
+		if (isLevelEnabled(LogLevel.ERROR))
+			log(LogLevel.ERROR, message, arg);
+	}
+
+	default void error(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		if (isLevelEnabled(LogLevel.ERROR))
+			log(LogLevel.ERROR, message, arg1, arg2);
+	}
+
 	default void warn(@Nullable String message, @Nonnull Object... args) {
 		log(LogLevel.WARN, message, args);
 	}
@@ -170,6 +187,21 @@ public interface ILogger {
 		log(LogLevel.WARN, message, args);
 	}
 
+	default void warn(@Nullable String message) {
+		if (isLevelEnabled(LogLevel.WARN))
+			log(LogLevel.WARN, message, LogMessageFormatter.NO_ARGS);
+	}
+
+	default void warn(@Nullable String message, @Nullable Object arg) {
+		if (isLevelEnabled(LogLevel.WARN))
+			log(LogLevel.WARN, message, arg);
+	}
+
+	default void warn(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		if (isLevelEnabled(LogLevel.WARN))
+			log(LogLevel.WARN, message, arg1, arg2);
+	}
+
 	default void info(@Nullable String message, @Nonnull Object... args) {
 		log(LogLevel.INFO, message, args);
 	}
@@ -178,6 +210,21 @@ public interface ILogger {
 		log(LogLevel.INFO, message, args);
 	}
 
+	default void info(@Nullable String message) {
+		if (isLevelEnabled(LogLevel.INFO))
+			log(LogLevel.INFO, message, LogMessageFormatter.NO_ARGS);
+	}
+
+	default void info(@Nullable String message, @Nullable Object arg) {
+		if (isLevelEnabled(LogLevel.INFO))
+			log(LogLevel.INFO, message, arg);
+	}
+
+	default void info(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		if (isLevelEnabled(LogLevel.INFO))
+			log(LogLevel.INFO, message, arg1, arg2);
+	}
+
 	default void status(@Nullable String message, @Nonnull Object... args) {
 		log(LogLevel.STATUS, message, args);
 	}
@@ -186,6 +233,21 @@ public interface ILogger {
 		log(LogLevel.STATUS, message, args);
 	}
 
+	default void status(@Nullable String message) {
+		if (isLevelEnabled(LogLevel.STATUS))
+			log(LogLevel.STATUS, message, LogMessageFormatter.NO_ARGS);
+	}
+
+	default void status(@Nullable String message, @Nullable Object arg) {
+		if (isLevelEnabled(LogLevel.STATUS))
+			log(LogLevel.STATUS, message, arg);
+	}
+
+	default void status(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		if (isLevelEnabled(LogLevel.STATUS))
+			log(LogLevel.STATUS, message, arg1, arg2);
+	}
+
 	default void extended(@Nullable String message, @Nonnull Object... args) {
 		log(LogLevel.EXTENDED, message, args);
 	}
@@ -194,6 +256,21 @@ public interface ILogger {
 		log(LogLevel.EXTENDED, message, args);
 	}
 
+	default void extended(@Nullable String message) {
+		if (isLevelEnabled(LogLevel.EXTENDED))
+			log(LogLevel.EXTENDED, message, LogMessageFormatter.NO_ARGS);
+	}
+
+	default void extended(@Nullable String message, @Nullable Object arg) {
+		if (isLevelEnabled(LogLevel.EXTENDED))
+			log(LogLevel.EXTENDED, message, arg);
+	}
+
+	default void extended(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		if (isLevelEnabled(LogLevel.EXTENDED))
+			log(LogLevel.EXTENDED, message, arg1, arg2);
+	}
+
 	default void debug(@Nullable String message, @Nonnull Object... args) {
 		log(LogLevel.DEBUG, message, args);
 	}
@@ -202,6 +279,21 @@ public interface ILogger {
 		log(LogLevel.DEBUG, message, args);
 	}
 
+	default void debug(@Nullable String message) {
+		if (isLevelEnabled(LogLevel.DEBUG))
+			log(LogLevel.DEBUG, message, LogMessageFormatter.NO_ARGS);
+	}
+
+	default void debug(@Nullable String message, @Nullable Object arg) {
+		if (isLevelEnabled(LogLevel.DEBUG))
+			log(LogLevel.DEBUG, message, arg);
+	}
+
+	default void debug(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		if (isLevelEnabled(LogLevel.DEBUG))
+			log(LogLevel.DEBUG, message, arg1, arg2);
+	}
+
 	default void trace(@Nullable String message, @Nonnull Object... args) {
 		log(LogLevel.TRACE, message, args);
 	}
@@ -210,6 +302,21 @@ public interface ILogger {
 		log(LogLevel.TRACE, message, args);
 	}
 
+	default void trace(@Nullable String message) {
+		if (isLevelEnabled(LogLevel.TRACE))
+			log(LogLevel.TRACE, message, LogMessageFormatter.NO_ARGS);
+	}
+
+	default void trace(@Nullable String message, @Nullable Object arg) {
+		if (isLevelEnabled(LogLevel.TRACE))
+			log(LogLevel.TRACE, message, arg);
+	}
+
+	default void trace(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		if (isLevelEnabled(LogLevel.TRACE))
+			log(LogLevel.TRACE, message, arg1, arg2);
+	}
+
 	default boolean isLevelEnabled(@Nonnull LogLevel level) {
 		return level.isShownAtLoggerLevel(getMinLevel());
 	}
@@ -273,14 +380,7 @@ public interface ILogger {
 	@Nonnull
 	@CheckReturnValue
 	static String formatMessage(@Nullable Object messageObject, @Nonnull Object... args) {
-		StringBuilder message = new StringBuilder(String.valueOf(messageObject));
-		for (Object arg : args) {
-			if (arg instanceof Throwable) continue;
-			int index = message.indexOf("{}");
-			if (index == -1) break;
-			message.replace(index, index+2, String.valueOf(arg));
-		}
-		return message.toString();
+		return LogMessageFormatter.format(messageObject, args);
 	}
 
 }
@@ -0,0 +1,133 @@
+package net.anweisen.utilities.common.logging;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Key value pairs attached to every log entry created on the current thread, like the id of the guild a command is executed in.
+ * The context of a thread is an immutable map which is replaced on every change,
+ * so log entries can keep a reference to it without copying it.
+ *
+ * Use {@link #with(String, Object)} in a try with resources block to restore the previous context afterwards.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class LogContext {
+
+	private static final ThreadLocal<Map<String, Object>> context = ThreadLocal.withInitial(Collections::emptyMap);
+
+	private LogContext() {}
+
+	/**
+	 * @return the immutable context of the current thread
+	 */
+	@Nonnull
+	@CheckReturnValue
+	public static Map<String, Object> current() {
+		return context.get();
+	}
+
+	@Nullable
+	@CheckReturnValue
+	public static Object get(@Nonnull String key) {
+		return context.get().get(key);
+	}
+
+	/**
+	 * @param value the value, {@code null} to remove the key
+	 */
+	public static void put(@Nonnull String key, @Nullable Object value) {
+		Map<String, Object> current = context.get();
+		if (value == null && !current.containsKey(key)) return;
+
+		Map<String, Object> copy = new LinkedHashMap<>(current);
+		if (value == null) copy.remove(key);
+		else copy.put(key, value);
+		set(copy);
+	}
+
+	public static void remove(@Nonnull String key) {
+		put(key, null);
+	}
+
+	public static void clear() {
+		context.remove();
+	}
+
+	/**
+	 * Adds the key to the context until the returned scope is closed
+	 */
+	@Nonnull
+	@CheckReturnValue
+	public static Scope with(@Nonnull String key, @Nullable Object value) {
+		Scope scope = new Scope(context.get());
+		put(key, value);
+		return scope;
+	}
+
+	/**
+	 * Replaces the context of the current thread until the returned scope is closed
+	 *
+	 * @param captured a context previously returned by {@link #current()}, most likely of another thread
+	 */
+	@Nonnull
+	@CheckReturnValue
+	public static Scope restore(@Nonnull Map<String, Object> captured) {
+		Scope scope = new Scope(context.get());
+		context.set(captured);
+		return scope;
+	}
+
+	/**
+	 * @return a task running the given task with the context of the calling thread
+	 */
+	@Nonnull
+	@CheckReturnValue
+	public static Runnable wrap(@Nonnull Runnable task) {
+		Map<String, Object> captured = current();
+		if (captured.isEmpty()) return task;
+		return () -> {
+			Scope scope = restore(captured);
+			try {
+				task.run();
+			} finally {
+				scope.close();
+			}
+		};
+	}
+
+	private static void set(@Nonnull Map<String, Object> map) {
+		context.set(map.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(map));
+	}
+
+	public static final class Scope implements AutoCloseable {
+
+		private final Map<String, Object> previous;
+
+		private Scope(@Nonnull Map<String, Object> previous) {
+			this.previous = previous;
+		}
+
+		/**
+		 * Adds another key, which is also removed when this scope is closed
+		 */
+		@Nonnull
+		public Scope and(@Nonnull String key, @Nullable Object value) {
+			put(key, value);
+			return this;
+		}
+
+		@Override
+		public void close() {
+			if (previous.isEmpty()) context.remove();
+			else context.set(previous);
+		}
+
+	}
+
+}
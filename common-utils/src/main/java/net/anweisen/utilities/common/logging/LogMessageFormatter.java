@@ -0,0 +1,88 @@
+package net.anweisen.utilities.common.logging;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Replaces the {@code {}} placeholders of a log message with its arguments in a single pass.
+ * {@link Throwable Throwables} in the arguments are skipped, they are logged as the exception of the entry.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class LogMessageFormatter {
+
+	public static final Object[] NO_ARGS = new Object[0];
+
+	private static final int MAX_RETAINED_CAPACITY = 4096;
+
+	private static final ThreadLocal<Buffer> buffer = ThreadLocal.withInitial(Buffer::new);
+
+	private static final class Buffer {
+		private StringBuilder builder = new StringBuilder(256);
+		private boolean inUse;
+	}
+
+	private LogMessageFormatter() {}
+
+	@Nonnull
+	@CheckReturnValue
+	public static String format(@Nullable Object pattern, @Nonnull Object... args) {
+		String message = String.valueOf(pattern);
+		if (args.length == 0 || message.indexOf('{') == -1) return message;
+
+		Buffer buffer = LogMessageFormatter.buffer.get();
+		if (buffer.inUse) {
+			// an argument logged something in its toString, do not touch the builder of the outer call
+			StringBuilder builder = new StringBuilder(message.length() + 16 * args.length);
+			formatTo(builder, message, args);
+			return builder.toString();
+		}
+
+		buffer.inUse = true;
+		StringBuilder builder = buffer.builder;
+		try {
+			formatTo(builder, message, args);
+			return builder.toString();
+		} finally {
+			builder.setLength(0);
+			if (builder.capacity() > MAX_RETAINED_CAPACITY)
+				buffer.builder = new StringBuilder(256);
+			buffer.inUse = false;
+		}
+	}
+
+	public static void formatTo(@Nonnull StringBuilder builder, @Nonnull String pattern, @Nonnull Object... args) {
+		int length = pattern.length();
+		int start = 0;
+		int argIndex = 0;
+
+		while (start < length) {
+			int index = pattern.indexOf("{}", start);
+			if (index == -1) break;
+
+			while (argIndex < args.length && args[argIndex] instanceof Throwable) argIndex++;
+			if (argIndex == args.length) break;
+
+			builder.append(pattern, start, index);
+			builder.append(args[argIndex++]);
+			start = index + 2;
+		}
+
+		builder.append(pattern, start, length);
+	}
+
+	/**
+	 * @return the last {@link Throwable} in the arguments, or {@code null} if there is none
+	 */
+	@Nullable
+	public static Throwable findThrowable(@Nonnull Object... args) {
+		for (int i = args.length - 1; i >= 0; i--) {
+			if (args[i] instanceof Throwable)
+				return (Throwable) args[i];
+		}
+		return null;
+	}
+
+}
@@ -36,6 +36,21 @@ public interface WrappedILogger extends ILogger {
 		getWrappedLogger().error(message, args);
 	}
 
+	@Override
+	default void error(@Nullable String message) {
+		getWrappedLogger().error(message);
+	}
+
+	@Override
+	default void error(@Nullable String message, @Nullable Object arg) {
+		getWrappedLogger().error(message, arg);
+	}
+
+	@Override
+	default void error(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		getWrappedLogger().error(message, arg1, arg2);
+	}
+
 	@Override
 	default void warn(@Nullable String message, @Nonnull Object... args) {
 		getWrappedLogger().warn(message, args);
@@ -46,6 +61,21 @@ public interface WrappedILogger extends ILogger {
 		getWrappedLogger().warn(message, args);
 	}
 
+	@Override
+	default void warn(@Nullable String message) {
+		getWrappedLogger().warn(message);
+	}
+
+	@Override
+	default void warn(@Nullable String message, @Nullable Object arg) {
+		getWrappedLogger().warn(message, arg);
+	}
+
+	@Override
+	default void warn(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		getWrappedLogger().warn(message, arg1, arg2);
+	}
+
 	@Override
 	default void info(@Nullable String message, @Nonnull Object... args) {
 		getWrappedLogger().info(message, args);
@@ -56,6 +86,21 @@ public interface WrappedILogger extends ILogger {
 		getWrappedLogger().info(message, args);
 	}
 
+	@Override
+	default void info(@Nullable String message) {
+		getWrappedLogger().info(message);
+	}
+
+	@Override
+	default void info(@Nullable String message, @Nullable Object arg) {
+		getWrappedLogger().info(message, arg);
+	}
+
+	@Override
+	default void info(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		getWrappedLogger().info(message, arg1, arg2);
+	}
+
 	@Override
 	default void status(@Nullable String message, @Nonnull Object... args) {
 		getWrappedLogger().status(message, args);
@@ -66,6 +111,21 @@ public interface WrappedILogger extends ILogger {
 		getWrappedLogger().status(message, args);
 	}
 
+	@Override
+	default void status(@Nullable String message) {
+		getWrappedLogger().status(message);
+	}
+
+	@Override
+	default void status(@Nullable String message, @Nullable Object arg) {
+		getWrappedLogger().status(message, arg);
+	}
+
+	@Override
+	default void status(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		getWrappedLogger().status(message, arg1, arg2);
+	}
+
 	@Override
 	default void extended(@Nullable String message, @Nonnull Object... args) {
 		getWrappedLogger().extended(message, args);
@@ -76,6 +136,21 @@ public interface WrappedILogger extends ILogger {
 		getWrappedLogger().extended(message, args);
 	}
 
+	@Override
+	default void extended(@Nullable String message) {
+		getWrappedLogger().extended(message);
+	}
+
+	@Override
+	default void extended(@Nullable String message, @Nullable Object arg) {
+		getWrappedLogger().extended(message, arg);
+	}
+
+	@Override
+	default void extended(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		getWrappedLogger().extended(message, arg1, arg2);
+	}
+
 	@Override
 	default void debug(@Nullable String message, @Nonnull Object... args) {
 		getWrappedLogger().debug(message, args);
@@ -86,6 +161,21 @@ public interface WrappedILogger extends ILogger {
 		getWrappedLogger().debug(message, args);
 	}
 
+	@Override
+	default void debug(@Nullable String message) {
+		getWrappedLogger().debug(message);
+	}
+
+	@Override
+	default void debug(@Nullable String message, @Nullable Object arg) {
+		getWrappedLogger().debug(message, arg);
+	}
+
+	@Override
+	default void debug(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		getWrappedLogger().debug(message, arg1, arg2);
+	}
+
 	@Override
 	default void trace(@Nullable String message, @Nonnull Object... args) {
 		getWrappedLogger().trace(message, args);
@@ -96,6 +186,21 @@ public interface WrappedILogger extends ILogger {
 		getWrappedLogger().trace(message, args);
 	}
 
+	@Override
+	default void trace(@Nullable String message) {
+		getWrappedLogger().trace(message);
+	}
+
+	@Override
+	default void trace(@Nullable String message, @Nullable Object arg) {
+		getWrappedLogger().trace(message, arg);
+	}
+
+	@Override
+	default void trace(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2) {
+		getWrappedLogger().trace(message, arg1, arg2);
+	}
+
 	@Override
 	default boolean isLevelEnabled(@Nonnull LogLevel level) {
 		return getWrappedLogger().isLevelEnabled(level);
@@ -3,25 +3,79 @@ package net.anweisen.utilities.common.logging.handler;
 import net.anweisen.utilities.common.collection.NamedThreadFactory;
 import net.anweisen.utilities.common.logging.LogLevel;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Handles the log entries on a separate thread.
+ *
+ * By default entries are passed to a single thread executor, which queue has no limit.
+ * When created with a buffer size, entries are written into a preallocated {@link LogRingBuffer} instead,
+ * which caps the memory used and handles entries in batches; the {@link LogOverflowPolicy} decides what happens when it is full.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
 public class HandledAsyncLogger extends HandledLogger {
 
-	protected final Executor executor = Executors.newSingleThreadExecutor(new NamedThreadFactory("AsyncLogTask"));
+	protected final Executor executor;
+	protected final LogRingBuffer ringBuffer;
 
 	public HandledAsyncLogger(@Nonnull LogLevel initialLevel) {
 		super(initialLevel);
+		this.executor = Executors.newSingleThreadExecutor(new NamedThreadFactory("AsyncLogTask"));
+		this.ringBuffer = null;
+	}
+
+	public HandledAsyncLogger(@Nonnull LogLevel initialLevel, @Nonnegative int bufferSize, @Nonnull LogOverflowPolicy policy) {
+		super(initialLevel);
+		this.executor = null;
+		this.ringBuffer = new LogRingBuffer(bufferSize, policy, "AsyncLogTask", this::handleNow, this::flushHandlers);
+
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				ringBuffer.shutdown(5, TimeUnit.SECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+	}
+
+	@Override
+	protected void log0(@Nonnull Instant timestamp, @Nonnull String threadName, @Nullable String pattern, @Nonnull Object[] args, @Nonnull LogLevel level, @Nullable Throwable exception,
+	                    @Nonnull Map<String, Object> context) {
+		if (ringBuffer != null) {
+			ringBuffer.publish(timestamp, threadName, pattern, args, level, exception, context);
+		} else {
+			super.log0(timestamp, threadName, pattern, args, level, exception, context);
+		}
 	}
 
 	@Override
 	protected void log0(@Nonnull LogEntry entry) {
-		executor.execute(() -> logNow(entry));
+		if (ringBuffer != null) {
+			ringBuffer.publish(entry.getTimestamp(), entry.getThreadName(), entry.getPattern(), entry.getArgs(), entry.getLevel(), entry.getException(), entry.getContext());
+		} else {
+			executor.execute(() -> logNow(entry));
+		}
+	}
+
+	/**
+	 * @return the amount of entries dropped because the ring buffer was full, always {@code 0} without a ring buffer
+	 */
+	public long getDroppedCount() {
+		return ringBuffer == null ? 0 : ringBuffer.getDroppedCount();
+	}
+
+	@Nullable
+	public LogRingBuffer getRingBuffer() {
+		return ringBuffer;
 	}
 
 }
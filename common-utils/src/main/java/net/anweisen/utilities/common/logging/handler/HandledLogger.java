@@ -1,11 +1,14 @@
 package net.anweisen.utilities.common.logging.handler;
 
 import net.anweisen.utilities.common.logging.ILogger;
+import net.anweisen.utilities.common.logging.LogContext;
 import net.anweisen.utilities.common.logging.LogLevel;
+import net.anweisen.utilities.common.logging.LogMessageFormatter;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Instant;
+import java.util.Map;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -26,12 +29,7 @@ public abstract class HandledLogger implements ILogger {
 	@Override
 	public void log(@Nonnull LogLevel level, @Nullable String message, @Nonnull Object... args) {
 		if (!level.isShownAtLoggerLevel(this.level)) return;
-		Throwable exception = null;
-		for (Object arg : args) {
-			if (arg instanceof Throwable)
-				exception = (Throwable) arg;
-		}
-		log0(new LogEntry(Instant.now(), Thread.currentThread().getName(), ILogger.formatMessage(message, args), level, exception));
+		log0(Instant.now(), Thread.currentThread().getName(), message, args, level, LogMessageFormatter.findThrowable(args), LogContext.current());
 	}
 
 	public void log(@Nonnull LogEntry entry) {
@@ -39,9 +37,19 @@ public abstract class HandledLogger implements ILogger {
 		log0(entry);
 	}
 
+	protected void log0(@Nonnull Instant timestamp, @Nonnull String threadName, @Nullable String pattern, @Nonnull Object[] args, @Nonnull LogLevel level, @Nullable Throwable exception,
+	                    @Nonnull Map<String, Object> context) {
+		log0(new LogEntry(timestamp, threadName, pattern, args, level, exception, context));
+	}
+
 	protected abstract void log0(@Nonnull LogEntry entry);
 
 	protected void logNow(@Nonnull LogEntry entry) {
+		handleNow(entry);
+		flushHandlers();
+	}
+
+	protected void handleNow(@Nonnull LogEntry entry) {
 		for (LogHandler handler : handlers) {
 			try {
 				handler.handle(entry);
@@ -51,6 +59,16 @@ public abstract class HandledLogger implements ILogger {
 		}
 	}
 
+	protected void flushHandlers() {
+		for (LogHandler handler : handlers) {
+			try {
+				handler.flush();
+			} catch (Exception ex) {
+				ex.printStackTrace();
+			}
+		}
+	}
+
 	@Nonnull
 	public HandledLogger addHandler(@Nonnull LogHandler... handler) {
 		handlers.addAll(Arrays.asList(handler));
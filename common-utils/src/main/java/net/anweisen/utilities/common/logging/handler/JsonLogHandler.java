@@ -0,0 +1,143 @@
+package net.anweisen.utilities.common.logging.handler;
+
+import net.anweisen.utilities.common.logging.LogContext;
+import net.anweisen.utilities.common.logging.internal.LogLineEncoder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.*;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Writes every entry as a single line json object (newline delimited json), which can be shipped without parsing the text output:
+ * <pre>{"timestamp":"2021-09-01T12:00:00.123Z","level":"INFO","thread":"main","message":"...","context":{"guild":123},"exception":"..."}</pre>
+ *
+ * The json is appended directly into a reusable buffer, no json tree is created.
+ * {@link Number Numbers} and {@link Boolean booleans} in the {@link LogContext context} are written as json values, everything else as string.
+ * The stream is only flushed when the logger {@link #flush() flushes} after a batch.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class JsonLogHandler implements LogHandler, Closeable {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	protected final OutputStream output;
+	protected final String loggerName;
+	protected final LogLineEncoder encoder = new LogLineEncoder();
+	protected final StringBuilder line = new StringBuilder(512);
+	protected final StringBuilder message = new StringBuilder(256);
+
+	/**
+	 * @param loggerName the name written as {@code logger} field, {@code null} to omit it
+	 */
+	public JsonLogHandler(@Nonnull OutputStream output, @Nullable String loggerName) {
+		this.output = output instanceof BufferedOutputStream ? output : new BufferedOutputStream(output, 16 * 1024);
+		this.loggerName = loggerName;
+	}
+
+	public JsonLogHandler(@Nonnull OutputStream output) {
+		this(output, null);
+	}
+
+	@Override
+	public synchronized void handle(@Nonnull LogEntry entry) throws Exception {
+		line.setLength(0);
+		line.append("{\"timestamp\":\"");
+		DateTimeFormatter.ISO_INSTANT.formatTo(entry.getTimestamp(), line);
+		line.append("\",\"level\":\"").append(entry.getLevel().getUpperCaseName());
+		line.append("\",\"thread\":");
+		appendString(entry.getThreadName());
+		if (loggerName != null) {
+			line.append(",\"logger\":");
+			appendString(loggerName);
+		}
+
+		message.setLength(0);
+		entry.appendMessage(message);
+		line.append(",\"message\":");
+		appendString(message);
+
+		Map<String, Object> context = entry.getContext();
+		if (!context.isEmpty()) {
+			line.append(",\"context\":{");
+			boolean first = true;
+			for (Entry<String, Object> field : context.entrySet()) {
+				if (!first) line.append(',');
+				first = false;
+				appendString(field.getKey());
+				line.append(':');
+				appendValue(field.getValue());
+			}
+			line.append('}');
+		}
+
+		Throwable exception = entry.getException();
+		if (exception != null) {
+			StringWriter writer = new StringWriter();
+			exception.printStackTrace(new PrintWriter(writer));
+			line.append(",\"exception\":");
+			appendString(writer.getBuffer());
+		}
+
+		line.append("}\n");
+
+		if (message.capacity() > 16 * 1024) {
+			message.setLength(0);
+			message.trimToSize();
+		}
+
+		int length = encoder.encode(line);
+		output.write(encoder.getBytes(), 0, length);
+	}
+
+	@Override
+	public synchronized void flush() throws IOException {
+		output.flush();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		output.close();
+	}
+
+	protected void appendValue(@Nullable Object value) {
+		if (value instanceof Boolean || value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			line.append(value);
+		} else if (value instanceof Number && Double.isFinite(((Number) value).doubleValue())) {
+			line.append(value);
+		} else if (value == null) {
+			line.append("null");
+		} else {
+			appendString(value instanceof CharSequence ? (CharSequence) value : String.valueOf(value));
+		}
+	}
+
+	protected void appendString(@Nonnull CharSequence value) {
+		line.append('"');
+		int start = 0;
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') continue;
+
+			line.append(value, start, i);
+			start = i + 1;
+			switch (c) {
+				case '"':   line.append("\\\""); break;
+				case '\\':  line.append("\\\\"); break;
+				case '\n':  line.append("\\n"); break;
+				case '\r':  line.append("\\r"); break;
+				case '\t':  line.append("\\t"); break;
+				default:
+					line.append("\\u").append(HEX[c >> 12 & 0xF]).append(HEX[c >> 8 & 0xF]).append(HEX[c >> 4 & 0xF]).append(HEX[c & 0xF]);
+			}
+		}
+		line.append(value, start, length);
+		line.append('"');
+	}
+
+}
@@ -1,12 +1,20 @@
 package net.anweisen.utilities.common.logging.handler;
 
+import net.anweisen.utilities.common.logging.LogContext;
 import net.anweisen.utilities.common.logging.LogLevel;
+import net.anweisen.utilities.common.logging.LogMessageFormatter;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
 
 /**
+ * The message of an entry is only formatted when it is requested by {@link #getMessage()} the first time,
+ * so an entry which is not printed by any handler never creates the formatted string.
+ * The arguments are formatted on the thread handling the entry, which might not be the thread which logged it.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
@@ -14,16 +22,50 @@ public class LogEntry {
 
 	private Instant timestamp;
 	private String threadName;
+	private String pattern;
+	private Object[] args;
 	private String message;
 	private LogLevel level;
 	private Throwable exception;
+	private Map<String, Object> context;
+
+	LogEntry() {
+	}
 
 	public LogEntry(@Nonnull Instant timestamp, @Nonnull String threadName, @Nonnull String message, @Nonnull LogLevel level, @Nullable Throwable exception) {
+		this(timestamp, threadName, message, LogMessageFormatter.NO_ARGS, level, exception);
+		this.message = message;
+	}
+
+	/**
+	 * @param pattern the unformatted message containing the {@code {}} placeholders
+	 */
+	public LogEntry(@Nonnull Instant timestamp, @Nonnull String threadName, @Nullable String pattern, @Nonnull Object[] args, @Nonnull LogLevel level, @Nullable Throwable exception) {
+		this(timestamp, threadName, pattern, args, level, exception, Collections.emptyMap());
+	}
+
+	/**
+	 * @param context the immutable {@link LogContext context} of the logging thread
+	 */
+	public LogEntry(@Nonnull Instant timestamp, @Nonnull String threadName, @Nullable String pattern, @Nonnull Object[] args, @Nonnull LogLevel level, @Nullable Throwable exception,
+	                @Nonnull Map<String, Object> context) {
+		set(timestamp, threadName, pattern, args, level, exception, context);
+	}
+
+	void set(@Nonnull Instant timestamp, @Nonnull String threadName, @Nullable String pattern, @Nonnull Object[] args, @Nonnull LogLevel level, @Nullable Throwable exception,
+	         @Nonnull Map<String, Object> context) {
 		this.timestamp = timestamp;
 		this.threadName = threadName;
-		this.message = message;
+		this.pattern = pattern;
+		this.args = args;
+		this.message = null;
 		this.level = level;
 		this.exception = exception;
+		this.context = context;
+	}
+
+	void clear() {
+		set(null, null, null, null, null, null, null);
 	}
 
 	@Nonnull
@@ -38,9 +80,29 @@ public class LogEntry {
 
 	@Nonnull
 	public String getMessage() {
+		if (message == null)
+			message = LogMessageFormatter.format(pattern, args);
 		return message;
 	}
 
+	/**
+	 * Appends the formatted message without creating a string, if it was not formatted yet
+	 */
+	public void appendMessage(@Nonnull StringBuilder builder) {
+		if (message != null) builder.append(message);
+		else LogMessageFormatter.formatTo(builder, String.valueOf(pattern), args);
+	}
+
+	@Nullable
+	public String getPattern() {
+		return pattern;
+	}
+
+	@Nonnull
+	public Object[] getArgs() {
+		return args;
+	}
+
 	@Nonnull
 	public LogLevel getLevel() {
 		return level;
@@ -50,4 +112,13 @@ public class LogEntry {
 	public Throwable getException() {
 		return exception;
 	}
+
+	/**
+	 * @return the immutable {@link LogContext context} of the thread which created this entry
+	 */
+	@Nonnull
+	public Map<String, Object> getContext() {
+		return context;
+	}
+
 }
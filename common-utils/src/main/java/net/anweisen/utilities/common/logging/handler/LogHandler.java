@@ -14,4 +14,11 @@ public interface LogHandler {
 
 	void handle(@Nonnull LogEntry entry) throws Exception;
 
+	/**
+	 * Called after a batch of entries was handled.
+	 * Handlers may buffer their output in {@link #handle(LogEntry)} and write it here at once.
+	 */
+	default void flush() throws Exception {
+	}
+
 }
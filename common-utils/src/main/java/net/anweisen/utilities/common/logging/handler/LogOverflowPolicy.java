@@ -0,0 +1,29 @@
+package net.anweisen.utilities.common.logging.handler;
+
+import net.anweisen.utilities.common.logging.LogLevel;
+
+/**
+ * Decides what happens when an entry is logged while the {@link LogRingBuffer} is full.
+ * Entries logged by a handler on the consumer thread are always dropped when the buffer is full, waiting would never end.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public enum LogOverflowPolicy {
+
+	/**
+	 * The logging thread waits until there is space in the buffer
+	 */
+	BLOCK,
+
+	/**
+	 * Entries with a level below {@link LogLevel#WARN} are dropped, warnings and errors wait until there is space
+	 */
+	DROP_BELOW_WARN,
+
+	/**
+	 * The oldest entries which were not yet handled are dropped to make space for the new entry
+	 */
+	DROP_OLDEST
+
+}
@@ -0,0 +1,207 @@
+package net.anweisen.utilities.common.logging.handler;
+
+import com.google.common.base.Preconditions;
+import net.anweisen.utilities.common.logging.LogLevel;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * A bounded multi producer, single consumer ring buffer of preallocated {@link LogEntry log entries}.
+ * Logging threads claim a sequence, fill the entry of its slot and publish it;
+ * the consumer thread handles all published entries in a batch and calls the batch end action afterwards.
+ *
+ * The oldest entry is taken by advancing the head, which the consumer does to handle it
+ * and logging threads do to drop it under {@link LogOverflowPolicy#DROP_OLDEST}, so dropping never waits for the consumer.
+ * A slot can be claimed again once the entry taken from it was handled or dropped.
+ *
+ * The entries passed to the handler are reused once it returns, they must not be kept.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class LogRingBuffer {
+
+	protected final LogEntry[] entries;
+	protected final AtomicLongArray published;
+	protected final AtomicLongArray available; // the sequence each slot can be claimed for next
+	protected final int mask;
+	protected final AtomicLong claimed = new AtomicLong();
+	protected final AtomicLong head = new AtomicLong();
+	protected final LongAdder droppedCount = new LongAdder();
+	protected final LogOverflowPolicy policy;
+	protected final Consumer<? super LogEntry> handler;
+	protected final Runnable batchEnd;
+	protected final Thread consumer;
+
+	protected volatile boolean running = true;
+	protected volatile boolean sleeping;
+
+	/**
+	 * @param capacity the amount of entries, will be rounded up to the next power of two
+	 */
+	public LogRingBuffer(@Nonnegative int capacity, @Nonnull LogOverflowPolicy policy, @Nonnull String threadName,
+	                     @Nonnull Consumer<? super LogEntry> handler, @Nonnull Runnable batchEnd) {
+		Preconditions.checkArgument(capacity > 0 && capacity <= 1 << 30, "Capacity must be in range 1..2^30");
+		int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+		this.entries = new LogEntry[size];
+		this.published = new AtomicLongArray(size);
+		this.available = new AtomicLongArray(size);
+		this.mask = size - 1;
+		this.policy = policy;
+		this.handler = handler;
+		this.batchEnd = batchEnd;
+
+		for (int i = 0; i < size; i++) {
+			entries[i] = new LogEntry();
+			published.set(i, -1);
+			available.set(i, i);
+		}
+
+		this.consumer = new Thread(this::consume, threadName);
+		this.consumer.setDaemon(true);
+		this.consumer.start();
+	}
+
+	/**
+	 * @return {@code false} if the entry was dropped
+	 */
+	public boolean publish(@Nonnull Instant timestamp, @Nonnull String threadName, @Nullable String pattern, @Nonnull Object[] args, @Nonnull LogLevel level, @Nullable Throwable exception,
+	                       @Nonnull Map<String, Object> context) {
+		if (!running) {
+			droppedCount.increment();
+			return false;
+		}
+
+		long sequence;
+		while (true) {
+			long current = claimed.get();
+			if (available.get((int) (current & mask)) != current) {
+				if (Thread.currentThread() == consumer || (policy == LogOverflowPolicy.DROP_BELOW_WARN && !level.isShownAtLoggerLevel(LogLevel.WARN))) {
+					droppedCount.increment();
+					return false;
+				}
+				if (policy == LogOverflowPolicy.DROP_OLDEST) {
+					if (dropOldest(current)) continue;
+					// the slot is still being handled, or its entry is still being written
+					droppedCount.increment();
+					return false;
+				}
+
+				LockSupport.unpark(consumer);
+				LockSupport.parkNanos(1000);
+				continue;
+			}
+			if (claimed.compareAndSet(current, current + 1)) {
+				sequence = current;
+				break;
+			}
+		}
+
+		int index = (int) (sequence & mask);
+		entries[index].set(timestamp, threadName, pattern, args, level, exception, context);
+		published.lazySet(index, sequence);
+
+		if (sleeping) LockSupport.unpark(consumer);
+		return true;
+	}
+
+	/**
+	 * Drops the oldest entry if it blocks the slot of the given sequence and was not taken by the consumer yet
+	 *
+	 * @return whether the slot may be free now, {@code false} if the new entry has to be dropped instead
+	 */
+	protected boolean dropOldest(long sequence) {
+		long oldest = head.get();
+		if (oldest > sequence - entries.length) {
+			// the entry blocking the slot was already taken, by the consumer handling it or by another thread dropping it
+			return available.get((int) (sequence & mask)) == sequence;
+		}
+
+		int index = (int) (oldest & mask);
+		if (published.get(index) != oldest) return false;
+		if (!head.compareAndSet(oldest, oldest + 1)) return true; // taken by someone else, check again
+
+		entries[index].clear();
+		available.lazySet(index, oldest + entries.length);
+		droppedCount.increment();
+		return true;
+	}
+
+	protected void consume() {
+		while (true) {
+			int processed = 0;
+			long next;
+			int index;
+			while (published.get(index = (int) ((next = head.get()) & mask)) == next) {
+				if (!head.compareAndSet(next, next + 1)) continue; // dropped by a logging thread
+
+				LogEntry entry = entries[index];
+				try {
+					handler.accept(entry);
+				} catch (Throwable ex) {
+					ex.printStackTrace();
+				}
+
+				entry.clear();
+				available.lazySet(index, next + entries.length);
+				processed++;
+			}
+
+			if (processed > 0) {
+				try {
+					batchEnd.run();
+				} catch (Throwable ex) {
+					ex.printStackTrace();
+				}
+				continue;
+			}
+
+			if (!running) return;
+
+			sleeping = true;
+			if (published.get((int) (next & mask)) != next && running)
+				LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1));
+			sleeping = false;
+		}
+	}
+
+	/**
+	 * Stops accepting new entries and waits until all published entries were handled
+	 */
+	public void shutdown(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+		running = false;
+		LockSupport.unpark(consumer);
+		consumer.join(unit.toMillis(timeout));
+	}
+
+	public int getCapacity() {
+		return entries.length;
+	}
+
+	/**
+	 * @return the amount of entries published but not handled yet
+	 */
+	public long getPendingCount() {
+		return Math.max(claimed.get() - head.get(), 0);
+	}
+
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	@Nonnull
+	public LogOverflowPolicy getPolicy() {
+		return policy;
+	}
+
+}
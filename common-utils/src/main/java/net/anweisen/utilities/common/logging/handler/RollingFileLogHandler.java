@@ -0,0 +1,310 @@
+package net.anweisen.utilities.common.logging.handler;
+
+import com.google.common.base.Preconditions;
+import net.anweisen.utilities.common.logging.ILogger;
+import net.anweisen.utilities.common.logging.internal.LogLineEncoder;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the log entries into {@code <name>.log} in the given directory.
+ *
+ * Entries are collected in a direct buffer and written to the file channel when the buffer is full or when the logger
+ * {@link #flush() flushes} after a batch, so a batch of a {@link HandledAsyncLogger} costs a single write.
+ * The file is rotated when it would exceed the maximum size or when the rotation interval passed,
+ * rotated segments are compressed to {@code <name>-<time>.log.gz} on a background thread.
+ * The oldest archives are deleted when there are more than the maximum amount or they are larger than the maximum total size.
+ *
+ * Writing to a file is blocking, use this handler with a {@link HandledAsyncLogger} to keep the disk off the logging threads.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class RollingFileLogHandler implements LogHandler, Closeable {
+
+	protected static final ILogger logger = ILogger.forThisClass();
+	protected static final DateTimeFormatter ARCHIVE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss");
+
+	protected final Path directory;
+	protected final String name;
+	protected final Pattern archivePattern;
+	protected final Path file;
+	protected final long maxFileSize;
+	protected final long rotationInterval;
+	protected final int maxArchives;
+	protected final long maxTotalArchiveSize;
+
+	protected final LogLineEncoder encoder = new LogLineEncoder();
+	protected final ByteBuffer buffer;
+	protected final ExecutorService compressor;
+
+	protected FileChannel channel;
+	protected long fileSize;
+	protected long segmentStart;
+	protected boolean closed;
+	protected String lastArchiveTime;
+	protected int lastArchiveIndex;
+
+	/**
+	 * @param maxFileSize the size in bytes a file is rotated at, {@code 0} to not rotate by size
+	 * @param rotationInterval the time after which a file is rotated, {@code 0} to not rotate by time
+	 * @param maxArchives the amount of compressed archives to keep, {@code 0} for no limit
+	 * @param maxTotalArchiveSize the size in bytes all compressed archives together may have, {@code 0} for no limit
+	 */
+	public RollingFileLogHandler(@Nonnull Path directory, @Nonnull String name,
+	                             @Nonnegative long maxFileSize, @Nonnegative long rotationInterval, @Nonnull TimeUnit unit,
+	                             @Nonnegative int maxArchives, @Nonnegative long maxTotalArchiveSize) throws IOException {
+		Preconditions.checkArgument(maxFileSize >= 0 && rotationInterval >= 0 && maxArchives >= 0 && maxTotalArchiveSize >= 0, "Limits cannot be negative");
+		this.directory = directory;
+		this.name = name;
+		// only names this handler writes, other handlers may share the directory and a prefix of the name
+		this.archivePattern = Pattern.compile(Pattern.quote(name) + "-(\\d{4}-\\d{2}-\\d{2}-\\d{2}-\\d{2}-\\d{2})(?:-(\\d{1,9}))?(\\.log(?:\\.gz)?)");
+		this.file = directory.resolve(name + ".log");
+		this.maxFileSize = maxFileSize;
+		this.rotationInterval = unit.toMillis(rotationInterval);
+		this.maxArchives = maxArchives;
+		this.maxTotalArchiveSize = maxTotalArchiveSize;
+		this.buffer = ByteBuffer.allocateDirect(64 * 1024);
+		this.compressor = Executors.newSingleThreadExecutor(task -> {
+			Thread thread = new Thread(task, "LogCompressor");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		Files.createDirectories(directory);
+		openFile();
+
+		// archives left uncompressed because the jvm stopped while compressing
+		for (Path archive : listArchives(".log")) {
+			compressor.execute(() -> compress(archive));
+		}
+		compressor.execute(this::applyRetention);
+	}
+
+	/**
+	 * Rotates daily and by the given size, keeps at most the given amount of archives
+	 */
+	public RollingFileLogHandler(@Nonnull Path directory, @Nonnull String name, @Nonnegative long maxFileSize, @Nonnegative int maxArchives) throws IOException {
+		this(directory, name, maxFileSize, 1, TimeUnit.DAYS, maxArchives, 0);
+	}
+
+	@Override
+	public synchronized void handle(@Nonnull LogEntry entry) throws Exception {
+		if (closed) return;
+
+		long now = entry.getTimestamp().toEpochMilli();
+		if (rotationInterval > 0 && now - segmentStart >= rotationInterval) {
+			if (fileSize + buffer.position() > 0) rotate();
+			else segmentStart = now;
+		}
+
+		int length = encoder.encode(entry, null);
+		if (maxFileSize > 0 && fileSize + buffer.position() + length > maxFileSize && fileSize + buffer.position() > 0)
+			rotate();
+
+		byte[] bytes = encoder.getBytes();
+		int offset = 0;
+		while (offset < length) {
+			if (!buffer.hasRemaining()) writeBuffer();
+			int chunk = Math.min(buffer.remaining(), length - offset);
+			buffer.put(bytes, offset, chunk);
+			offset += chunk;
+		}
+	}
+
+	/**
+	 * Writes all collected entries to the file.
+	 * The data is not forced to the disk, the operating system will write it on its own.
+	 */
+	@Override
+	public synchronized void flush() throws IOException {
+		if (closed) return;
+		writeBuffer();
+	}
+
+	/**
+	 * Rotates the file immediately, even if neither the size nor the rotation interval was reached
+	 */
+	public synchronized void rotate() throws IOException {
+		if (closed) return;
+		try {
+			try {
+				writeBuffer();
+				channel.force(false);
+			} finally {
+				channel.close();
+			}
+
+			if (fileSize > 0) {
+				Path archive = nextArchivePath();
+				Files.move(file, archive, StandardCopyOption.ATOMIC_MOVE);
+				compressor.execute(() -> {
+					compress(archive);
+					applyRetention();
+				});
+			}
+		} finally {
+			openFile();
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) return;
+		try {
+			writeBuffer();
+			channel.force(false);
+			channel.close();
+		} finally {
+			closed = true;
+			compressor.shutdown();
+		}
+	}
+
+	/**
+	 * Waits until all pending archives are compressed, for use after {@link #close()}
+	 */
+	public boolean awaitCompression(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+		return compressor.awaitTermination(timeout, unit);
+	}
+
+	protected void openFile() throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		fileSize = channel.size();
+		segmentStart = System.currentTimeMillis();
+	}
+
+	protected void writeBuffer() throws IOException {
+		((Buffer) buffer).flip();
+		try {
+			while (buffer.hasRemaining()) {
+				fileSize += channel.write(buffer);
+			}
+		} finally {
+			// drop what could not be written, keeping it would write it again in front of newer entries
+			((Buffer) buffer).clear();
+		}
+	}
+
+	@Nonnull
+	protected Path nextArchivePath() {
+		String time = LocalDateTime.now().format(ARCHIVE_TIME_FORMAT);
+		// continue counting within the same second, retention could have deleted an archive with a lower index
+		int index = time.equals(lastArchiveTime) ? lastArchiveIndex + 1 : 0;
+		Path archive;
+		while (Files.exists(archive = directory.resolve(name + "-" + time + (index == 0 ? "" : "-" + index) + ".log")) || Files.exists(compressedPath(archive))) {
+			index++;
+		}
+		lastArchiveTime = time;
+		lastArchiveIndex = index;
+		return archive;
+	}
+
+	@Nonnull
+	protected Path compressedPath(@Nonnull Path archive) {
+		return archive.resolveSibling(archive.getFileName() + ".gz");
+	}
+
+	protected void compress(@Nonnull Path archive) {
+		Path target = compressedPath(archive);
+		Path temp = archive.resolveSibling(archive.getFileName() + ".gz.tmp");
+		try {
+			try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+				Files.copy(archive, output);
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			Files.delete(archive);
+		} catch (IOException ex) {
+			logger.error("Could not compress log archive {}", archive, ex);
+			try {
+				Files.deleteIfExists(temp);
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	protected void applyRetention() {
+		if (maxArchives == 0 && maxTotalArchiveSize == 0) return;
+		try {
+			List<Path> archives = listArchives(".log.gz");
+			archives.sort(Comparator.comparing(this::getArchiveTime).thenComparingInt(this::getArchiveIndex).reversed());
+
+			long totalSize = 0;
+			for (int i = 0; i < archives.size(); i++) {
+				Path archive = archives.get(i);
+				totalSize += Files.size(archive);
+				if ((maxArchives > 0 && i >= maxArchives) || (maxTotalArchiveSize > 0 && totalSize > maxTotalArchiveSize))
+					Files.deleteIfExists(archive);
+			}
+		} catch (IOException ex) {
+			logger.error("Could not apply retention to log archives in {}", directory, ex);
+		}
+	}
+
+	/**
+	 * Files which are not named like an archive of this handler, {@code <name>-<time>[-<index>]<suffix>}, are skipped
+	 */
+	@Nonnull
+	protected List<Path> listArchives(@Nonnull String suffix) throws IOException {
+		List<Path> archives = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, name + "-*" + suffix)) {
+			for (Path path : stream) {
+				Matcher matcher = matchArchive(path);
+				if (matcher != null && matcher.group(3).equals(suffix))
+					archives.add(path);
+			}
+		}
+		return archives;
+	}
+
+	/**
+	 * @return the time part of an archive name, which sorts in chronological order
+	 */
+	@Nonnull
+	protected String getArchiveTime(@Nonnull Path archive) {
+		Matcher matcher = matchArchive(archive);
+		return matcher == null ? "" : matcher.group(1);
+	}
+
+	/**
+	 * @return the index of an archive rotated multiple times in the same second
+	 */
+	protected int getArchiveIndex(@Nonnull Path archive) {
+		Matcher matcher = matchArchive(archive);
+		return matcher == null || matcher.group(2) == null ? 0 : Integer.parseInt(matcher.group(2));
+	}
+
+	private Matcher matchArchive(@Nonnull Path archive) {
+		Matcher matcher = archivePattern.matcher(archive.getFileName().toString());
+		return matcher.matches() ? matcher : null;
+	}
+
+	@Nonnull
+	public Path getFile() {
+		return file;
+	}
+
+	public synchronized long getFileSize() {
+		return fileSize + buffer.position();
+	}
+
+}
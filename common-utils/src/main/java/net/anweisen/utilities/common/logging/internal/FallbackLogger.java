@@ -7,7 +7,7 @@ import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.PrintStream;
-import java.time.OffsetDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -16,13 +16,22 @@ import java.time.format.DateTimeFormatter;
  */
 public class FallbackLogger implements ILogger {
 
-	protected final PrintStream stream = System.err;
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+	protected final LogOutput output;
+	protected final PrintStream stream;
 	protected final String name;
 
 	protected LogLevel level = LogLevel.INFO;
 
-	public FallbackLogger(@Nullable String name) {
+	public FallbackLogger(@Nullable String name, @Nonnull LogOutput output) {
 		this.name = name;
+		this.output = output;
+		this.stream = output.getStream();
+	}
+
+	public FallbackLogger(@Nullable String name) {
+		this(name, LogOutput.standardError());
 	}
 
 	public FallbackLogger() {
@@ -32,11 +41,7 @@ public class FallbackLogger implements ILogger {
 	@Override
 	public void log(@Nonnull LogLevel level, @Nullable String message, @Nonnull Object... args) {
 		if (!isLevelEnabled(level)) return;
-		stream.println(getLogMessage(level, ILogger.formatMessage(message, args), name));
-		for (Object arg : args) {
-			if (!(arg instanceof Throwable)) continue;
-			((Throwable)arg).printStackTrace(stream);
-		}
+		output.println(level, name, message, args);
 	}
 
 	@Nonnull
@@ -57,10 +62,10 @@ public class FallbackLogger implements ILogger {
 	public static String getLogMessage(@Nonnull LogLevel level, @Nonnull String message, @Nullable String name) {
 		Thread thread = Thread.currentThread();
 		String threadName = thread.getName();
-		String time = OffsetDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+		String time = TIME_FORMAT.format(LocalTime.now());
 		return name == null ?
-				String.format("[%s: %s/%s]: %s", time, threadName, level.getUpperCaseName(), message) :
-				String.format("[%s: %s/%s] %s: %s", time, threadName, level.getUpperCaseName(), name, message);
+				"[" + time + ": " + threadName + "/" + level.getUpperCaseName() + "]: " + message :
+				"[" + time + ": " + threadName + "/" + level.getUpperCaseName() + "] " + name + ": " + message;
 	}
 
 }
@@ -2,6 +2,7 @@ package net.anweisen.utilities.common.logging.internal;
 
 import net.anweisen.utilities.common.logging.ILogger;
 import net.anweisen.utilities.common.logging.LogLevel;
+import net.anweisen.utilities.common.logging.LogMessageFormatter;
 import net.anweisen.utilities.common.logging.lib.JavaILogger;
 
 import javax.annotation.Nonnull;
@@ -333,12 +334,8 @@ public class JavaLoggerWrapper extends JavaILogger {
 
 	@Override
 	public void log(@Nonnull LogLevel level, @Nullable String message, @Nonnull Object... args) {
-		Throwable thrown = null;
-		for (Object arg : args) {
-			if (arg instanceof Throwable)
-				thrown = (Throwable) arg;
-		}
-		log(level.getJavaUtilLevel(), ILogger.formatMessage(message, args), thrown);
+		if (!isLoggable(level.getJavaUtilLevel())) return;
+		log(level.getJavaUtilLevel(), ILogger.formatMessage(message, args), LogMessageFormatter.findThrowable(args));
 	}
 
 	@Override
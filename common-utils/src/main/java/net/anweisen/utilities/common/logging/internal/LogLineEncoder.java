@@ -0,0 +1,179 @@
+package net.anweisen.utilities.common.logging.internal;
+
+import net.anweisen.utilities.common.logging.LogLevel;
+import net.anweisen.utilities.common.logging.LogMessageFormatter;
+import net.anweisen.utilities.common.logging.handler.LogEntry;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * Encodes log lines in the format of {@link FallbackLogger#getLogMessage(LogLevel, String, String)} into a reusable byte buffer.
+ * The {@code HH:mm:ss.} prefix of the timestamp is only formatted once per second, the buffers are only replaced when a line does not fit.
+ * An encoder is not thread safe, use one per thread or synchronize the access.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class LogLineEncoder {
+
+	private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+	private final StringBuilder line = new StringBuilder(256);
+	private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+		.onMalformedInput(CodingErrorAction.REPLACE)
+		.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	private final char[] secondPrefix = new char[9];
+
+	private char[] chars = new char[256];
+	private CharBuffer charBuffer = CharBuffer.wrap(chars);
+	private ByteBuffer bytes = ByteBuffer.allocate(512);
+
+	private long cachedSecond = Long.MIN_VALUE;
+	private long nextOffsetCheck = Long.MIN_VALUE;
+	private ZoneId zone;
+	private int offsetSeconds;
+
+	/**
+	 * @return the amount of bytes written to {@link #getBytes()}
+	 */
+	public int encode(long millis, @Nonnull String threadName, @Nonnull LogLevel level, @Nullable String name, @Nullable String pattern, @Nonnull Object[] args) {
+		startLine(millis, threadName, level, name);
+		LogMessageFormatter.formatTo(line, String.valueOf(pattern), args);
+		line.append(System.lineSeparator());
+
+		return encodeLine(line);
+	}
+
+	/**
+	 * Encodes the entry including the stack trace of its exception
+	 *
+	 * @return the amount of bytes written to {@link #getBytes()}
+	 */
+	public int encode(@Nonnull LogEntry entry, @Nullable String name) {
+		startLine(entry.getTimestamp().toEpochMilli(), entry.getThreadName(), entry.getLevel(), name);
+		entry.appendMessage(line);
+		line.append(System.lineSeparator());
+
+		Throwable exception = entry.getException();
+		if (exception != null) {
+			StringWriter writer = new StringWriter();
+			exception.printStackTrace(new PrintWriter(writer));
+			line.append(writer.getBuffer());
+		}
+
+		return encodeLine(line);
+	}
+
+	@Nonnull
+	public byte[] getBytes() {
+		return bytes.array();
+	}
+
+	private void startLine(long millis, @Nonnull String threadName, @Nonnull LogLevel level, @Nullable String name) {
+		if (chars.length > MAX_RETAINED_CAPACITY)
+			shrinkBuffers(); // do not keep the memory of a single huge line
+
+		line.setLength(0);
+		line.append('[');
+		appendTime(millis);
+		line.append(": ").append(threadName).append('/').append(level.getUpperCaseName()).append(']');
+		if (name != null) line.append(' ').append(name);
+		line.append(": ");
+	}
+
+	private void appendTime(long millis) {
+		long second = Math.floorDiv(millis, 1000);
+		if (second != cachedSecond || millis >= nextOffsetCheck)
+			updateSecondPrefix(second, millis);
+
+		int milli = (int) Math.floorMod(millis, 1000L);
+		line.append(secondPrefix)
+			.append((char) ('0' + milli / 100))
+			.append((char) ('0' + milli / 10 % 10))
+			.append((char) ('0' + milli % 10));
+	}
+
+	private void updateSecondPrefix(long second, long millis) {
+		ZoneId currentZone = ZoneId.systemDefault();
+		if (!currentZone.equals(zone) || millis >= nextOffsetCheck) {
+			// the offset only changes on daylight saving transitions, checking it once a minute is enough
+			zone = currentZone;
+			offsetSeconds = zone.getRules().getOffset(Instant.ofEpochMilli(millis)).getTotalSeconds();
+			nextOffsetCheck = millis + 60_000;
+		}
+
+		cachedSecond = second;
+		int secondOfDay = (int) Math.floorMod(second + offsetSeconds, 24L * 60 * 60);
+		LocalTime time = LocalTime.ofSecondOfDay(secondOfDay);
+		writeTwoDigits(0, time.getHour());
+		secondPrefix[2] = ':';
+		writeTwoDigits(3, time.getMinute());
+		secondPrefix[5] = ':';
+		writeTwoDigits(6, time.getSecond());
+		secondPrefix[8] = '.';
+	}
+
+	private void writeTwoDigits(int index, int value) {
+		secondPrefix[index] = (char) ('0' + value / 10);
+		secondPrefix[index + 1] = (char) ('0' + value % 10);
+	}
+
+	/**
+	 * Encodes the given text as it is
+	 *
+	 * @return the amount of bytes written to {@link #getBytes()}
+	 */
+	public int encode(@Nonnull CharSequence text) {
+		if (chars.length > MAX_RETAINED_CAPACITY)
+			shrinkBuffers();
+		return encodeLine(text);
+	}
+
+	private int encodeLine(@Nonnull CharSequence line) {
+		int length = line.length();
+		if (chars.length < length) {
+			chars = new char[Math.max(length, chars.length * 2)];
+			charBuffer = CharBuffer.wrap(chars);
+		}
+		if (line instanceof StringBuilder) {
+			((StringBuilder) line).getChars(0, length, chars, 0);
+		} else {
+			for (int i = 0; i < length; i++) chars[i] = line.charAt(i);
+		}
+		// cast to Buffer, the covariant overrides of clear and limit do not exist on java 8
+		((Buffer) charBuffer).clear().limit(length);
+
+		int maxBytes = (int) Math.ceil(length * (double) encoder.maxBytesPerChar());
+		if (bytes.capacity() < maxBytes)
+			bytes = ByteBuffer.allocate(maxBytes);
+		((Buffer) bytes).clear();
+
+		encoder.reset();
+		CoderResult result = encoder.encode(charBuffer, bytes, true);
+		if (!result.isUnderflow()) throw new IllegalStateException("Could not encode log line: " + result);
+		encoder.flush(bytes);
+		return bytes.position();
+	}
+
+	private void shrinkBuffers() {
+		chars = new char[256];
+		charBuffer = CharBuffer.wrap(chars);
+		bytes = ByteBuffer.allocate(512);
+		line.setLength(0);
+		line.trimToSize();
+	}
+
+}
@@ -0,0 +1,114 @@
+package net.anweisen.utilities.common.logging.internal;
+
+import com.google.common.base.Preconditions;
+import net.anweisen.utilities.common.concurrent.TimingWheel;
+import net.anweisen.utilities.common.logging.LogLevel;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The stream the {@link FallbackLogger} writes to.
+ * Every line is encoded into a reusable per thread buffer and written with a single {@link PrintStream#write(byte[], int, int)},
+ * so lines of different threads are never mixed.
+ *
+ * A batched output does not flush after every line but at most once per flush interval, warnings and errors are flushed immediately.
+ * Loggers sharing a stream should share the output, so their lines end up in the same buffer.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class LogOutput {
+
+	private static final ThreadLocal<LogLineEncoder> encoder = ThreadLocal.withInitial(LogLineEncoder::new);
+
+	private static LogOutput standardError;
+
+	/**
+	 * @return an output writing to the current {@link System#err}, flushing every line
+	 */
+	@Nonnull
+	public static synchronized LogOutput standardError() {
+		if (standardError == null || standardError.stream != System.err)
+			standardError = new LogOutput(System.err, 0, TimeUnit.MILLISECONDS);
+		return standardError;
+	}
+
+	/**
+	 * @return an output writing to a buffer around the file descriptor of the standard error stream, flushed in the given interval
+	 */
+	@Nonnull
+	public static LogOutput batchedStandardError(@Nonnegative long flushInterval, @Nonnull TimeUnit unit) {
+		return batched(new FileOutputStream(FileDescriptor.err), flushInterval, unit);
+	}
+
+	@Nonnull
+	public static LogOutput batched(@Nonnull OutputStream output, @Nonnegative long flushInterval, @Nonnull TimeUnit unit) {
+		Preconditions.checkArgument(flushInterval > 0, "Flush interval must be positive");
+		return new LogOutput(new PrintStream(new BufferedOutputStream(output, 16 * 1024), false), flushInterval, unit);
+	}
+
+	protected final PrintStream stream;
+	protected final long flushInterval;
+	protected final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	/**
+	 * @param flushInterval the interval to flush the stream in, {@code 0} to flush after every line
+	 */
+	public LogOutput(@Nonnull PrintStream stream, @Nonnegative long flushInterval, @Nonnull TimeUnit unit) {
+		this.stream = stream;
+		this.flushInterval = unit.toMillis(flushInterval);
+
+		if (isBatched())
+			Runtime.getRuntime().addShutdownHook(new Thread(stream::flush));
+	}
+
+	public void println(@Nonnull LogLevel level, @Nullable String name, @Nullable String pattern, @Nonnull Object... args) {
+		LogLineEncoder encoder = LogOutput.encoder.get();
+		int length = encoder.encode(System.currentTimeMillis(), Thread.currentThread().getName(), level, name, pattern, args);
+		stream.write(encoder.getBytes(), 0, length);
+
+		for (Object arg : args) {
+			if (!(arg instanceof Throwable)) continue;
+			((Throwable) arg).printStackTrace(stream);
+		}
+
+		afterWrite(level);
+	}
+
+	protected void afterWrite(@Nonnull LogLevel level) {
+		if (!isBatched() || level.isHighlighted()) {
+			stream.flush();
+			return;
+		}
+
+		if (flushScheduled.compareAndSet(false, true)) {
+			TimingWheel.getShared().schedule(flushInterval, TimeUnit.MILLISECONDS, () -> {
+				flushScheduled.set(false);
+				stream.flush();
+			});
+		}
+	}
+
+	public void flush() {
+		stream.flush();
+	}
+
+	public boolean isBatched() {
+		return flushInterval > 0;
+	}
+
+	@Nonnull
+	public PrintStream getStream() {
+		return stream;
+	}
+
+}
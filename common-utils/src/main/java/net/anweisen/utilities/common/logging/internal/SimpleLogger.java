@@ -1,6 +1,7 @@
 package net.anweisen.utilities.common.logging.internal;
 
 import net.anweisen.utilities.common.logging.LogLevel;
+import net.anweisen.utilities.common.logging.LogMessageFormatter;
 import net.anweisen.utilities.common.logging.lib.Slf4jILogger;
 import org.slf4j.Marker;
 
@@ -17,6 +18,10 @@ public class SimpleLogger extends FallbackLogger implements Slf4jILogger {
 		super(name);
 	}
 
+	public SimpleLogger(@Nullable String name, @Nonnull LogOutput output) {
+		super(name, output);
+	}
+
 	public SimpleLogger() {
 		super();
 	}
@@ -98,22 +103,25 @@ public class SimpleLogger extends FallbackLogger implements Slf4jILogger {
 
 	@Override
 	public void trace(String msg) {
-		trace(msg, new Object[0]);
+		trace(msg, LogMessageFormatter.NO_ARGS);
 	}
 
 	@Override
 	public void trace(String format, Object arg) {
-		trace(format, new Object[] { arg });
+		if (isTraceEnabled())
+			trace(format, new Object[] { arg });
 	}
 
 	@Override
 	public void trace(String format, Object arg1, Object arg2) {
-		trace(format, new Object[] { arg1, arg2 });
+		if (isTraceEnabled())
+			trace(format, new Object[] { arg1, arg2 });
 	}
 
 	@Override
 	public void trace(String msg, Throwable t) {
-		trace(msg, new Object[] { t });
+		if (isTraceEnabled())
+			trace(msg, new Object[] { t });
 	}
 
 	@Override
@@ -153,22 +161,25 @@ public class SimpleLogger extends FallbackLogger implements Slf4jILogger {
 
 	@Override
 	public void debug(String msg) {
-		debug(msg, new Object[0]);
+		debug(msg, LogMessageFormatter.NO_ARGS);
 	}
 
 	@Override
 	public void debug(String format, Object arg) {
-		debug(format, new Object[] { arg });
+		if (isDebugEnabled())
+			debug(format, new Object[] { arg });
 	}
 
 	@Override
 	public void debug(String format, Object arg1, Object arg2) {
-		debug(format, new Object[] { arg1, arg2 });
+		if (isDebugEnabled())
+			debug(format, new Object[] { arg1, arg2 });
 	}
 
 	@Override
 	public void debug(String msg, Throwable t) {
-		debug(msg, new Object[] { t });
+		if (isDebugEnabled())
+			debug(msg, new Object[] { t });
 	}
 
 	@Override
@@ -208,22 +219,25 @@ public class SimpleLogger extends FallbackLogger implements Slf4jILogger {
 
 	@Override
 	public void info(String msg) {
-		info(msg, new Object[0]);
+		info(msg, LogMessageFormatter.NO_ARGS);
 	}
 
 	@Override
 	public void info(String format, Object arg) {
-		info(format, new Object[] { arg });
+		if (isInfoEnabled())
+			info(format, new Object[] { arg });
 	}
 
 	@Override
 	public void info(String format, Object arg1, Object arg2) {
-		info(format, new Object[] { arg1, arg2 });
+		if (isInfoEnabled())
+			info(format, new Object[] { arg1, arg2 });
 	}
 
 	@Override
 	public void info(String msg, Throwable t) {
-		info(msg, new Object[] { t });
+		if (isInfoEnabled())
+			info(msg, new Object[] { t });
 	}
 
 	@Override
@@ -263,22 +277,25 @@ public class SimpleLogger extends FallbackLogger implements Slf4jILogger {
 
 	@Override
 	public void warn(String msg) {
-		warn(msg, new Object[0]);
+		warn(msg, LogMessageFormatter.NO_ARGS);
 	}
 
 	@Override
 	public void warn(String format, Object arg) {
-		warn(format, new Object[] { arg });
+		if (isWarnEnabled())
+			warn(format, new Object[] { arg });
 	}
 
 	@Override
 	public void warn(String format, Object arg1, Object arg2) {
-		warn(format, new Object[] { arg1, arg2 });
+		if (isWarnEnabled())
+			warn(format, new Object[] { arg1, arg2 });
 	}
 
 	@Override
 	public void warn(String msg, Throwable t) {
-		warn(msg, new Object[] { t });
+		if (isWarnEnabled())
+			warn(msg, new Object[] { t });
 	}
 
 	@Override
@@ -288,7 +305,7 @@ public class SimpleLogger extends FallbackLogger implements Slf4jILogger {
 
 	@Override
 	public void warn(Marker marker, String msg) {
-		warn(marker);
+		warn(msg);
 	}
 
 	@Override
@@ -318,22 +335,25 @@ public class SimpleLogger extends FallbackLogger implements Slf4jILogger {
 
 	@Override
 	public void error(String msg) {
-		error(msg, new Object[0]);
+		error(msg, LogMessageFormatter.NO_ARGS);
 	}
 
 	@Override
 	public void error(String format, Object arg) {
-		error(format, new Object[] { arg });
+		if (isErrorEnabled())
+			error(format, new Object[] { arg });
 	}
 
 	@Override
 	public void error(String format, Object arg1, Object arg2) {
-		error(format, new Object[] { arg1, arg2 });
+		if (isErrorEnabled())
+			error(format, new Object[] { arg1, arg2 });
 	}
 
 	@Override
 	public void error(String msg, Throwable t) {
-		error(msg, new Object[] { t });
+		if (isErrorEnabled())
+			error(msg, new Object[] { t });
 	}
 
 	@Override
@@ -42,4 +42,49 @@ public interface Slf4jILogger extends ILogger, Logger {
 	@Override
 	void error(@Nullable String message, @Nonnull Object... args);
 
-}
\ No newline at end of file
+	@Override
+	void trace(@Nullable String message);
+
+	@Override
+	void trace(@Nullable String message, @Nullable Object arg);
+
+	@Override
+	void trace(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2);
+
+	@Override
+	void debug(@Nullable String message);
+
+	@Override
+	void debug(@Nullable String message, @Nullable Object arg);
+
+	@Override
+	void debug(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2);
+
+	@Override
+	void info(@Nullable String message);
+
+	@Override
+	void info(@Nullable String message, @Nullable Object arg);
+
+	@Override
+	void info(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2);
+
+	@Override
+	void warn(@Nullable String message);
+
+	@Override
+	void warn(@Nullable String message, @Nullable Object arg);
+
+	@Override
+	void warn(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2);
+
+	@Override
+	void error(@Nullable String message);
+
+	@Override
+	void error(@Nullable String message, @Nullable Object arg);
+
+	@Override
+	void error(@Nullable String message, @Nullable Object arg1, @Nullable Object arg2);
+
+}
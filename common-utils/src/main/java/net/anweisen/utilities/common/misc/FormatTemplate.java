@@ -0,0 +1,147 @@
+package net.anweisen.utilities.common.misc;
+
+import net.anweisen.utilities.common.collection.WrappedException;
+import net.anweisen.utilities.common.logging.ILogger;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * A format string parsed once into literal segments and argument slots like {@code {0}},
+ * so formatting it only appends the segments and arguments to a single pre-sized builder.
+ * Formats exactly like {@link StringUtils#format(String, Object...)}.
+ *
+ * Slots which are not a valid index are kept as literal text,
+ * slots whose index exceeds the given arguments are kept as literal text when formatting.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class FormatTemplate {
+
+	private static final ILogger logger = ILogger.forThisClass();
+
+	private static final char START = '{', END = '}';
+	private static final int EXPECTED_ARGUMENT_LENGTH = 16;
+
+	private final String source;
+	private final String[] literals; // one more literal than slots, the literal at i precedes the slot at i
+	private final int[] indices;
+	private final String[] slots;
+	private final int literalLength;
+
+	private FormatTemplate(@Nonnull String source, @Nonnull String[] literals, @Nonnull int[] indices, @Nonnull String[] slots) {
+		this.source = source;
+		this.literals = literals;
+		this.indices = indices;
+		this.slots = slots;
+
+		int length = 0;
+		for (String literal : literals) length += literal.length();
+		this.literalLength = length;
+	}
+
+	@Nonnull
+	public static FormatTemplate compile(@Nonnull String sequence) {
+		List<String> literals = new ArrayList<>();
+		List<Integer> indices = new ArrayList<>();
+		List<String> slots = new ArrayList<>();
+
+		StringBuilder literal = new StringBuilder();
+		int argumentStart = -1;
+		for (int i = 0; i < sequence.length(); i++) {
+			char c = sequence.charAt(i);
+			if (c == END && argumentStart != -1) {
+				String argument = sequence.substring(argumentStart, i);
+				argumentStart = -1;
+				int index = parseIndex(argument);
+				if (index == -1) {
+					logger.warn("Invalid argument index '{}'", argument);
+					literal.append(START).append(argument).append(END);
+					continue;
+				}
+				literals.add(literal.toString());
+				indices.add(index);
+				slots.add(argument);
+				literal.setLength(0);
+				continue;
+			}
+			if (c == START && argumentStart == -1) {
+				argumentStart = i + 1;
+				continue;
+			}
+			if (argumentStart == -1) literal.append(c);
+		}
+		if (argumentStart != -1 && argumentStart < sequence.length()) literal.append(START).append(sequence, argumentStart, sequence.length());
+		literals.add(literal.toString());
+
+		int[] indexArray = new int[indices.size()];
+		for (int i = 0; i < indexArray.length; i++) indexArray[i] = indices.get(i);
+		return new FormatTemplate(sequence, literals.toArray(new String[0]), indexArray, slots.toArray(new String[0]));
+	}
+
+	private static int parseIndex(@Nonnull String argument) {
+		try {
+			int index = Integer.parseInt(argument);
+			return index < 0 ? -1 : index;
+		} catch (NumberFormatException ex) {
+			return -1;
+		}
+	}
+
+	@Nonnull
+	public String format(@Nonnull Object... args) {
+		if (indices.length == 0) return literals[0];
+		StringBuilder builder = new StringBuilder(literalLength + indices.length * EXPECTED_ARGUMENT_LENGTH);
+		formatTo(builder, args);
+		return builder.toString();
+	}
+
+	/**
+	 * Appends the formatted template to the builder, so multiple templates can be joined without intermediate strings
+	 */
+	public void formatTo(@Nonnull StringBuilder builder, @Nonnull Object... args) {
+		for (int i = 0; i < indices.length; i++) {
+			builder.append(literals[i]);
+			int index = indices[i];
+			if (index >= args.length) {
+				logger.warn("Invalid argument index '{}'", slots[i]);
+				builder.append(START).append(slots[i]).append(END);
+				continue;
+			}
+			builder.append(resolve(args[index]));
+		}
+		builder.append(literals[indices.length]);
+	}
+
+	private static Object resolve(Object argument) {
+		try {
+			return argument instanceof Supplier ? ((Supplier<?>) argument).get() :
+					argument instanceof Callable ? ((Callable<?>) argument).call() :
+					argument;
+		} catch (Exception ex) {
+			throw new WrappedException(ex);
+		}
+	}
+
+	/**
+	 * @return the amount of argument slots, excluding slots which are not a valid index
+	 */
+	public int getArgumentCount() {
+		return indices.length;
+	}
+
+	@Nonnull
+	public String getSource() {
+		return source;
+	}
+
+	@Override
+	public String toString() {
+		return source;
+	}
+
+}
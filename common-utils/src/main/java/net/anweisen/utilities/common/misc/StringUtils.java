@@ -1,14 +1,9 @@
 package net.anweisen.utilities.common.misc;
 
-import net.anweisen.utilities.common.collection.WrappedException;
-import net.anweisen.utilities.common.logging.ILogger;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Optional;
-import java.util.concurrent.Callable;
 import java.util.function.Function;
-import java.util.function.Supplier;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -16,8 +11,6 @@ import java.util.function.Supplier;
  */
 public final class StringUtils {
 
-	private static final ILogger logger = ILogger.forThisClass();
-
 	private StringUtils() {}
 
 	@Nonnull
@@ -42,44 +35,12 @@ public final class StringUtils {
 		return builder.toString();
 	}
 
+	/**
+	 * Messages formatted repeatedly should be {@link FormatTemplate#compile(String) compiled} once instead
+	 */
 	@Nonnull
 	public static String format(@Nonnull String sequence, @Nonnull Object... args) {
-		char start = '{', end = '}';
-		boolean inArgument = false;
-		StringBuilder argument = new StringBuilder();
-		StringBuilder builder = new StringBuilder();
-		for (char c : sequence.toCharArray()) {
-			if (c == end && inArgument) {
-				inArgument = false;
-				try {
-					int arg = Integer.parseInt(argument.toString());
-					Object current = args[arg];
-					Object replacement =
-							current instanceof Supplier ? ((Supplier<?>)current).get() :
-							current instanceof Callable ? ((Callable<?>)current).call() :
-							current;
-					builder.append(replacement);
-				} catch (NumberFormatException | IndexOutOfBoundsException ex) {
-					logger.warn("Invalid argument index '{}'", argument);
-					builder.append(start).append(argument).append(end);
-				} catch (Exception ex) {
-					throw new WrappedException(ex);
-				}
-				argument = new StringBuilder();
-				continue;
-			}
-			if (c == start && !inArgument) {
-				inArgument = true;
-				continue;
-			}
-			if (inArgument) {
-				argument.append(c);
-				continue;
-			}
-			builder.append(c);
-		}
-		if (argument.length() > 0) builder.append(start).append(argument);
-		return builder.toString();
+		return FormatTemplate.compile(sequence).format(args);
 	}
 
 	@Nonnull
@@ -0,0 +1,59 @@
+package net.anweisen.utilities.common.logging.internal;
+
+import net.anweisen.utilities.common.logging.ILogger;
+import net.anweisen.utilities.common.logging.LogLevel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding a log line with the {@link LogLineEncoder} to building it as a string first,
+ * as {@link FallbackLogger} did before it wrote through the encoder.
+ * Run with {@link #main(String[])} from the test classpath, add {@code -prof gc} to the options to also compare the allocations.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogLineEncoderBenchmark {
+
+	private static final String PATTERN = "Loaded {} entries of {} in {}ms";
+
+	private final LogLineEncoder encoder = new LogLineEncoder();
+	private final String threadName = Thread.currentThread().getName();
+	private final Object[] args = { 1024, "cache_invalidations", 17 };
+
+	@Benchmark
+	public byte[] formatString() {
+		String time = OffsetDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+		String line = String.format("[%s: %s/%s] %s: %s", time, threadName, LogLevel.INFO.getUpperCaseName(), "Benchmark", ILogger.formatMessage(PATTERN, args)) + System.lineSeparator();
+		return line.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public byte[] getLogMessage() {
+		String line = FallbackLogger.getLogMessage(LogLevel.INFO, ILogger.formatMessage(PATTERN, args), "Benchmark") + System.lineSeparator();
+		return line.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public int encode() {
+		return encoder.encode(System.currentTimeMillis(), threadName, LogLevel.INFO, "Benchmark", PATTERN, args);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(LogLineEncoderBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -76,6 +76,12 @@ public interface Database {
 		return Task.asyncRunExceptionally(() -> createTable(name, columns));
 	}
 
+	/**
+	 * Creates an index on the given columns of the table if it does not exist yet,
+	 * so queries filtering or sorting by these columns do not have to scan the whole table.
+	 */
+	void createIndex(@Nonnull String table, @Nonnull String... columns) throws DatabaseException;
+
 	@Nonnull
 	@CheckReturnValue
 	DatabaseListTables listTables();
@@ -100,6 +106,17 @@ public interface Database {
 	@CheckReturnValue
 	DatabaseInsertionOrUpdate insertOrUpdate(@Nonnull String table);
 
+	@Nonnull
+	@CheckReturnValue
+	DatabaseBulkInsertion insertMany(@Nonnull String table);
+
+	/**
+	 * @param keys the fields identifying a row, rows with the same values for these fields are updated instead of inserted
+	 */
+	@Nonnull
+	@CheckReturnValue
+	DatabaseBulkInsertionOrUpdate upsertMany(@Nonnull String table, @Nonnull String... keys);
+
 	@Nonnull
 	@CheckReturnValue
 	DatabaseDeletion delete(@Nonnull String table);
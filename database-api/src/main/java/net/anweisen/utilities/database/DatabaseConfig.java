@@ -1,5 +1,6 @@
 package net.anweisen.utilities.database;
 
+import net.anweisen.utilities.common.config.Document;
 import net.anweisen.utilities.common.config.Propertyable;
 
 import javax.annotation.Nonnull;
@@ -18,6 +19,7 @@ public final class DatabaseConfig {
 	private final String file;
 	private final int port;
 	private final boolean portIsSet;
+	private final DatabasePoolConfig pool;
 
 	public DatabaseConfig(String host, String database, String password, String user, int port) {
 		this(host, database, null, password, user, port, true, null);
@@ -38,6 +40,10 @@ public final class DatabaseConfig {
 	}
 
 	public DatabaseConfig(String host, String database, String authDatabase, String password, String user, int port, boolean portIsSet, String file) {
+		this(host, database, authDatabase, password, user, port, portIsSet, file, DatabasePoolConfig.DEFAULT);
+	}
+
+	public DatabaseConfig(String host, String database, String authDatabase, String password, String user, int port, boolean portIsSet, String file, @Nonnull DatabasePoolConfig pool) {
 		this.host = host;
 		this.database = database;
 		this.authDatabase = authDatabase;
@@ -46,6 +52,7 @@ public final class DatabaseConfig {
 		this.port = port;
 		this.portIsSet = portIsSet;
 		this.file = file;
+		this.pool = pool;
 	}
 
 	public DatabaseConfig(@Nonnull Propertyable config) {
@@ -57,10 +64,19 @@ public final class DatabaseConfig {
 				config.getString("user"),
 				config.getInt("port"),
 				config.contains("port"),
-				config.getString("file")
+				config.getString("file"),
+				config instanceof Document && config.contains("pool") ? new DatabasePoolConfig(((Document) config).getDocument("pool")) : DatabasePoolConfig.DEFAULT
 		);
 	}
 
+	/**
+	 * @return a copy of this config using the given pool settings
+	 */
+	@Nonnull
+	public DatabaseConfig withPool(@Nonnull DatabasePoolConfig pool) {
+		return new DatabaseConfig(host, database, authDatabase, password, user, port, portIsSet, file, pool);
+	}
+
 	public int getPort() {
 		return port;
 	}
@@ -93,6 +109,11 @@ public final class DatabaseConfig {
 		return file;
 	}
 
+	@Nonnull
+	public DatabasePoolConfig getPool() {
+		return pool;
+	}
+
 	@Override
 	public String toString() {
 		return "DatabaseConfig{" +
@@ -103,6 +124,7 @@ public final class DatabaseConfig {
 				", file='" + file + '\'' +
 				", port=" + port +
 				", portIsSet=" + portIsSet +
+				", pool=" + pool +
 				'}';
 	}
 
@@ -0,0 +1,123 @@
+package net.anweisen.utilities.database;
+
+import com.google.common.base.Preconditions;
+import net.anweisen.utilities.common.config.Propertyable;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * Settings of the connection pool used by databases which open their connections themselves, like the sql databases.
+ * All durations are in milliseconds, {@code 0} disables the feature.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class DatabasePoolConfig {
+
+	public static final DatabasePoolConfig DEFAULT = new DatabasePoolConfig(1, Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+	private final int minSize;
+	private final int maxSize;
+	private final long connectionTimeout;
+	private final long validationTimeout;
+	private final long idleTimeout;
+	private final long maxLifetime;
+	private final long leakDetectionThreshold;
+	private final int statementCacheSize;
+
+	/**
+	 * @param minSize the amount of connections kept open even if they are idle
+	 * @param maxSize the maximum amount of connections, {@code 1} behaves like a single shared connection
+	 * @param connectionTimeout the time to wait for a free connection before failing
+	 * @param validationTimeout the time a connection may take to respond to the validation check when it is borrowed
+	 * @param idleTimeout the time after which idle connections above the minimum size are closed
+	 * @param maxLifetime the time after which a connection is replaced, should be shorter than the timeout of the server
+	 * @param leakDetectionThreshold the time after which a warning with the borrowing stacktrace is logged for a connection which was not returned
+	 * @param statementCacheSize the amount of prepared statements kept open per connection
+	 */
+	public DatabasePoolConfig(@Nonnegative int minSize, @Nonnegative int maxSize, @Nonnegative long connectionTimeout, @Nonnegative long validationTimeout,
+	                          @Nonnegative long idleTimeout, @Nonnegative long maxLifetime, @Nonnegative long leakDetectionThreshold, @Nonnegative int statementCacheSize) {
+		Preconditions.checkArgument(maxSize > 0, "Max size must be positive");
+		Preconditions.checkArgument(minSize >= 0 && minSize <= maxSize, "Min size must be between 0 and max size");
+		Preconditions.checkArgument(connectionTimeout >= 0 && validationTimeout >= 0 && idleTimeout >= 0 && maxLifetime >= 0 && leakDetectionThreshold >= 0, "Durations cannot be negative");
+		Preconditions.checkArgument(statementCacheSize >= 0, "Statement cache size cannot be negative");
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.connectionTimeout = connectionTimeout;
+		this.validationTimeout = validationTimeout;
+		this.idleTimeout = idleTimeout;
+		this.maxLifetime = maxLifetime;
+		this.leakDetectionThreshold = leakDetectionThreshold;
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	public DatabasePoolConfig(@Nonnegative int minSize, @Nonnegative int maxSize, @Nonnegative long connectionTimeout, @Nonnegative long validationTimeout,
+	                          @Nonnegative long idleTimeout, @Nonnegative long maxLifetime, @Nonnegative long leakDetectionThreshold) {
+		this(minSize, maxSize, connectionTimeout, validationTimeout, idleTimeout, maxLifetime, leakDetectionThreshold, 64);
+	}
+
+	public DatabasePoolConfig(@Nonnegative int minSize, @Nonnegative int maxSize) {
+		this(minSize, maxSize, 30_000, 5_000, 600_000, 1_800_000, 0);
+	}
+
+	public DatabasePoolConfig(@Nonnull Propertyable config) {
+		this(
+				config.getInt("min-size", DEFAULT.minSize),
+				config.getInt("max-size", DEFAULT.maxSize),
+				config.getLong("connection-timeout", DEFAULT.connectionTimeout),
+				config.getLong("validation-timeout", DEFAULT.validationTimeout),
+				config.getLong("idle-timeout", DEFAULT.idleTimeout),
+				config.getLong("max-lifetime", DEFAULT.maxLifetime),
+				config.getLong("leak-detection-threshold", DEFAULT.leakDetectionThreshold),
+				config.getInt("statement-cache-size", DEFAULT.statementCacheSize)
+		);
+	}
+
+	public int getMinSize() {
+		return minSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getConnectionTimeout() {
+		return connectionTimeout;
+	}
+
+	public long getValidationTimeout() {
+		return validationTimeout;
+	}
+
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	public long getMaxLifetime() {
+		return maxLifetime;
+	}
+
+	public long getLeakDetectionThreshold() {
+		return leakDetectionThreshold;
+	}
+
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	@Override
+	public String toString() {
+		return "DatabasePoolConfig{" +
+				"minSize=" + minSize +
+				", maxSize=" + maxSize +
+				", connectionTimeout=" + connectionTimeout +
+				", validationTimeout=" + validationTimeout +
+				", idleTimeout=" + idleTimeout +
+				", maxLifetime=" + maxLifetime +
+				", leakDetectionThreshold=" + leakDetectionThreshold +
+				", statementCacheSize=" + statementCacheSize +
+				'}';
+	}
+
+}
@@ -1,6 +1,8 @@
 package net.anweisen.utilities.database;
 
 import net.anweisen.utilities.common.concurrent.task.Task;
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.common.config.Propertyable;
 import net.anweisen.utilities.database.action.*;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.abstraction.DefaultExecutedQuery;
@@ -11,6 +13,8 @@ import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -69,6 +73,12 @@ public class EmptyDatabase implements Database {
 	public void createTableSafely(@Nonnull String name, @Nonnull SQLColumn... columns) {
 	}
 
+	@Override
+	public void createIndex(@Nonnull String table, @Nonnull String... columns) throws DatabaseException {
+		if (!silent)
+			exception("Cannot create indices from a NOP Database");
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseListTables listTables() {
@@ -123,6 +133,24 @@ public class EmptyDatabase implements Database {
 		return new EmptyVoidAction();
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertion insertMany(@Nonnull String table) {
+		if (!silent)
+			exception("Cannot insert into a NOP Database");
+
+		return new EmptyVoidAction();
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertionOrUpdate upsertMany(@Nonnull String table, @Nonnull String... keys) {
+		if (!silent)
+			exception("Cannot inset or update into a NOP Database");
+
+		return new EmptyVoidAction();
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseDeletion delete(@Nonnull String table) {
@@ -181,6 +209,12 @@ public class EmptyDatabase implements Database {
 			return this;
 		}
 
+		@Nonnull
+		@Override
+		public DatabaseQuery whereIn(@Nonnull String field, @Nonnull Collection<?> values) {
+			return this;
+		}
+
 		@Nonnull
 		@Override
 		public DatabaseQuery select(@Nonnull String... selection) {
@@ -193,6 +227,24 @@ public class EmptyDatabase implements Database {
 			return this;
 		}
 
+		@Nonnull
+		@Override
+		public DatabaseQuery limit(int limit) {
+			return this;
+		}
+
+		@Nonnull
+		@Override
+		public DatabaseQuery offset(int offset) {
+			return this;
+		}
+
+		@Nonnull
+		@Override
+		public DatabaseQuery seekAfter(@Nonnull String field, @Nonnull Object value) {
+			return this;
+		}
+
 		@Nonnull
 		@Override
 		public ExecutedQuery execute() throws DatabaseException {
@@ -205,9 +257,42 @@ public class EmptyDatabase implements Database {
 			return Task.syncCall(this::execute);
 		}
 
+		@Nonnull
+		@Override
+		public Stream<Document> stream(int batchSize) throws DatabaseException {
+			return Stream.empty();
+		}
+
+		@Nonnull
+		@Override
+		public CompiledQuery compile() {
+			return new EmptyCompiledQuery();
+		}
+
+	}
+
+	public static class EmptyCompiledQuery implements CompiledQuery {
+
+		@Override
+		public int getParameterCount() {
+			return 0;
+		}
+
+		@Nonnull
+		@Override
+		public ExecutedQuery execute(@Nonnull Object... values) throws DatabaseException {
+			return new DefaultExecutedQuery(Collections.emptyList());
+		}
+
+		@Nonnull
+		@Override
+		public Task<ExecutedQuery> executeAsync(@Nonnull Object... values) {
+			return Task.syncCall(() -> execute(values));
+		}
+
 	}
 
-	public static class EmptyVoidAction implements DatabaseDeletion, DatabaseInsertion, DatabaseUpdate, DatabaseInsertionOrUpdate {
+	public static class EmptyVoidAction implements DatabaseDeletion, DatabaseInsertion, DatabaseUpdate, DatabaseInsertionOrUpdate, DatabaseBulkInsertionOrUpdate {
 
 		@Nonnull
 		@Override
@@ -245,6 +330,29 @@ public class EmptyDatabase implements Database {
 			return this;
 		}
 
+		@Nonnull
+		@Override
+		public EmptyVoidAction add(@Nonnull Map<String, ?> row) {
+			return this;
+		}
+
+		@Nonnull
+		@Override
+		public EmptyVoidAction add(@Nonnull Propertyable row) {
+			return this;
+		}
+
+		@Nonnull
+		@Override
+		public EmptyVoidAction addAll(@Nonnull Collection<? extends Map<String, ?>> rows) {
+			return this;
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
 		@Override
 		public Void execute() throws DatabaseException {
 			return null;
@@ -3,6 +3,7 @@ package net.anweisen.utilities.database;
 import net.anweisen.utilities.common.misc.ReflectionUtils;
 import net.anweisen.utilities.common.misc.StringUtils;
 
+import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -68,14 +69,20 @@ public final class SQLColumn {
 	private final String name;
 	private final String type;
 	private final String param;
+	private final boolean primaryKey;
 
 	public SQLColumn(@Nonnull String name, @Nonnull String type, @Nullable String param) {
+		this(name, type, param, false);
+	}
+
+	private SQLColumn(@Nonnull String name, @Nonnull String type, @Nullable String param, boolean primaryKey) {
 		if (name.contains(" ")) throw new IllegalArgumentException("Column name cannot contain spaces");
 		if (type.contains(" ")) throw new IllegalArgumentException("Column type cannot contain spaces");
 
 		this.name = name;
 		this.type = type;
 		this.param = param;
+		this.primaryKey = primaryKey;
 	}
 
 	public SQLColumn(@Nonnull String name, @Nonnull String type, @Nonnegative int size) {
@@ -130,9 +137,22 @@ public final class SQLColumn {
 		return param;
 	}
 
+	public boolean isPrimaryKey() {
+		return primaryKey;
+	}
+
+	/**
+	 * @return a copy of this column which is the primary key of the table, so no two rows can have the same value
+	 */
+	@Nonnull
+	@CheckReturnValue
+	public SQLColumn asPrimaryKey() {
+		return new SQLColumn(name, type, param, true);
+	}
+
 	@Override
 	public String toString() {
-		return name + " " + type + (param == null ? "" : "(" + param + ")");
+		return name + " " + type + (param == null ? "" : "(" + param + ")") + (primaryKey ? " PRIMARY KEY" : "");
 	}
 
 }
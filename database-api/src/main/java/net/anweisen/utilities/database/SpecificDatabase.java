@@ -56,6 +56,20 @@ public interface SpecificDatabase {
 	@CheckReturnValue
 	DatabaseInsertionOrUpdate insertOrUpdate();
 
+	/**
+	 * @see Database#insertMany(String)
+	 */
+	@Nonnull
+	@CheckReturnValue
+	DatabaseBulkInsertion insertMany();
+
+	/**
+	 * @see Database#upsertMany(String, String...)
+	 */
+	@Nonnull
+	@CheckReturnValue
+	DatabaseBulkInsertionOrUpdate upsertMany(@Nonnull String... keys);
+
 	/**
 	 * @see Database#delete(String)
 	 */
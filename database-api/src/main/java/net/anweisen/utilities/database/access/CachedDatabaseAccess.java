@@ -1,64 +1,317 @@
 package net.anweisen.utilities.database.access;
 
+import com.google.common.base.Preconditions;
+import net.anweisen.utilities.common.annotations.ReplaceWith;
+import net.anweisen.utilities.common.collection.WrappedException;
+import net.anweisen.utilities.common.concurrent.cache.SingleFlightLoader;
 import net.anweisen.utilities.common.config.Document;
 import net.anweisen.utilities.common.config.Propertyable;
 import net.anweisen.utilities.database.Database;
+import net.anweisen.utilities.database.access.invalidation.InvalidationChannel;
+import net.anweisen.utilities.database.access.invalidation.InvalidationListener;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 
 /**
+ * Caches the values of the underlying table, including the absence of a value,
+ * so keys without a value do not query the database on every lookup.
+ *
+ * Entries can expire a fixed time after they were loaded or set, the least recently used entries are evicted when the maximum size is exceeded.
+ * Concurrent lookups of the same missing key share a single query.
+ * Changes made to the table without this access have to be announced using {@link #invalidate(String)} or {@link #invalidateAll()}.
+ *
+ * Caches of different processes sharing an {@link InvalidationChannel} invalidate each others keys when they are set or invalidated,
+ * so caches may live long without serving values which were changed by another process.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.1
  */
 public class CachedDatabaseAccess<V> extends DirectDatabaseAccess<V> {
 
-	protected final Map<String, V> cache = new ConcurrentHashMap<>();
+	/**
+	 * Cached for keys which have no value
+	 */
+	protected static final Object ABSENT = new Object();
+
+	protected static final class CachedValue {
+
+		private final Object value;
+		private final long expiresAt;
+		private volatile long accessTime;
+
+		private CachedValue(@Nonnull Object value, long now, long expireAfterWrite) {
+			this.value = value;
+			this.expiresAt = expireAfterWrite > 0 ? now + expireAfterWrite : Long.MAX_VALUE;
+			this.accessTime = now;
+		}
+
+		private boolean isExpired(long now) {
+			return now >= expiresAt;
+		}
+
+	}
+
+	protected final Map<String, CachedValue> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * A view of the cached values, which does not contain keys cached as absent or expired values.
+	 * Values put into the view are cached like values which were set, but are not written to the database.
+	 *
+	 * @deprecated the values are cached with their expiration, use {@link #entries}
+	 */
+	@Deprecated
+	@ReplaceWith("entries")
+	protected final Map<String, V> cache = new CacheView();
+
+	protected final SingleFlightLoader<String, CachedValue> loader = new SingleFlightLoader<>();
+	protected final AtomicLong modifications = new AtomicLong();
+	protected final AtomicBoolean evicting = new AtomicBoolean();
+
+	protected final long maximumSize;
+	protected final long expireAfterWrite;
+	protected final InvalidationChannel channel;
+	protected final String origin = UUID.randomUUID().toString();
+	protected final InvalidationListener listener = this::onInvalidation;
 
 	public CachedDatabaseAccess(@Nonnull Database database, @Nonnull DatabaseAccessConfig config, @Nonnull BiFunction<? super Document, ? super String, ? extends V> mapper) {
+		this(database, config, mapper, 0, 0, null);
+	}
+
+	/**
+	 * @param maximumSize the maximum amount of cached keys, {@code 0} for no limit
+	 * @param expireAfterWrite the time in millis after which a value is queried again, {@code 0} to keep values until they are invalidated
+	 */
+	public CachedDatabaseAccess(@Nonnull Database database, @Nonnull DatabaseAccessConfig config, @Nonnull BiFunction<? super Document, ? super String, ? extends V> mapper,
+	                            @Nonnegative long maximumSize, @Nonnegative long expireAfterWrite) {
+		this(database, config, mapper, maximumSize, expireAfterWrite, null);
+	}
+
+	/**
+	 * @param channel the channel to publish and receive invalidations of the keys of the table, {@code null} to only cache locally
+	 */
+	public CachedDatabaseAccess(@Nonnull Database database, @Nonnull DatabaseAccessConfig config, @Nonnull BiFunction<? super Document, ? super String, ? extends V> mapper,
+	                            @Nonnegative long maximumSize, @Nonnegative long expireAfterWrite, @Nullable InvalidationChannel channel) {
 		super(database, config, mapper);
+		Preconditions.checkArgument(maximumSize >= 0, "Maximum size cannot be negative");
+		Preconditions.checkArgument(expireAfterWrite >= 0, "Expiration cannot be negative");
+		this.maximumSize = maximumSize;
+		this.expireAfterWrite = expireAfterWrite;
+		this.channel = channel;
+		if (channel != null) channel.subscribe(config.getTable(), listener);
 	}
 
 	@Nullable
 	@Override
 	public V getValue(@Nonnull String key) throws DatabaseException {
-		V value = cache.get(key);
-		if (value != null) return value;
-
-		value = super.getValue(key);
-		cache.put(key, value);
-		return value;
+		return unpack(lookup(key), null);
 	}
 
 	@Nonnull
 	@Override
 	public V getValue(@Nonnull String key, @Nonnull V def) throws DatabaseException {
-		V value = cache.get(key);
-		if (value != null) return value;
-
-		value = super.getValue(key, def);
-		cache.put(key, value);
-		return value;
+		return unpack(lookup(key), def);
 	}
 
 	@Nonnull
 	@Override
 	public Optional<V> getValueOptional(@Nonnull String key) throws DatabaseException {
-		V cached = cache.get(key);
-		if (cached != null) return Optional.of(cached);
-
-		return super.getValueOptional(key);
+		return Optional.ofNullable(unpack(lookup(key), null));
 	}
 
 	@Override
 	public void setValue(@Nonnull String key, @Nullable V value) throws DatabaseException {
-		cache.put(key, value);
 		super.setValue(key, value);
+		modifications.incrementAndGet();
+		store(key, new CachedValue(value == null ? ABSENT : value, System.currentTimeMillis(), expireAfterWrite));
+		if (channel != null) channel.publish(config.getTable(), key, origin);
+	}
+
+	/**
+	 * Removes the cached value, the next lookup of the key will query the database again.
+	 * The key is also invalidated in the caches sharing the {@link InvalidationChannel} of this cache.
+	 */
+	public void invalidate(@Nonnull String key) throws DatabaseException {
+		invalidateLocally(key);
+		if (channel != null) channel.publish(config.getTable(), key, origin);
+	}
+
+	/**
+	 * @see #invalidate(String)
+	 */
+	public void invalidateAll() throws DatabaseException {
+		invalidateAllLocally();
+		if (channel != null) channel.publish(config.getTable(), null, origin);
+	}
+
+	public void invalidateLocally(@Nonnull String key) {
+		modifications.incrementAndGet();
+		entries.remove(key);
+	}
+
+	public void invalidateAllLocally() {
+		modifications.incrementAndGet();
+		entries.clear();
+	}
+
+	protected void onInvalidation(@Nullable String key, @Nonnull String origin) {
+		if (this.origin.equals(origin)) return;
+		if (key == null) invalidateAllLocally();
+		else invalidateLocally(key);
+	}
+
+	/**
+	 * Stops receiving invalidations from the {@link InvalidationChannel} of this cache
+	 */
+	public void detach() {
+		if (channel != null) channel.unsubscribe(config.getTable(), listener);
+	}
+
+	/**
+	 * Removes all expired values, expired values are otherwise only replaced when their key is looked up again
+	 */
+	public void cleanUp() {
+		long now = System.currentTimeMillis();
+		entries.values().removeIf(cached -> cached.isExpired(now));
+	}
+
+	/**
+	 * @return the amount of cached keys, including keys cached as absent and expired keys which were not cleaned up yet
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	@Nonnull
+	protected Object lookup(@Nonnull String key) throws DatabaseException {
+		long now = System.currentTimeMillis();
+		CachedValue cached = entries.get(key);
+		if (cached != null && !cached.isExpired(now)) {
+			cached.accessTime = now;
+			return cached.value;
+		}
+
+		try {
+			return loader.load(key, this::load).value;
+		} catch (WrappedException ex) {
+			if (ex.getCause() instanceof DatabaseException)
+				throw (DatabaseException) ex.getCause();
+			throw ex;
+		}
+	}
+
+	@Nonnull
+	protected CachedValue load(@Nonnull String key) {
+		long modification = modifications.get();
+		Optional<V> value;
+		try {
+			value = getValue0(key);
+		} catch (DatabaseException ex) {
+			throw new WrappedException(ex);
+		}
+
+		CachedValue cached = new CachedValue(value.isPresent() ? value.get() : ABSENT, System.currentTimeMillis(), expireAfterWrite);
+		// a value set or invalidated while querying is newer than the queried one
+		entries.compute(key, (k, current) -> modifications.get() == modification ? cached : current);
+		evictIfNecessary();
+		return cached;
+	}
+
+	protected void store(@Nonnull String key, @Nonnull CachedValue cached) {
+		entries.put(key, cached);
+		evictIfNecessary();
+	}
+
+	/**
+	 * Removes the expired and then the least recently used entries until a tenth of the maximum size is free again,
+	 * so the entries only have to be sorted once in a while
+	 */
+	protected void evictIfNecessary() {
+		if (maximumSize == 0 || entries.size() <= maximumSize || !evicting.compareAndSet(false, true)) return;
+		try {
+			cleanUp();
+			long target = maximumSize - maximumSize / 10;
+			int excess = (int) (entries.size() - target);
+			if (excess <= 0) return;
+
+			// the access times change concurrently, select by a snapshot of them
+			long[] accessTimes = entries.values().stream().mapToLong(cached -> cached.accessTime).toArray();
+			if (accessTimes.length == 0) return;
+			Arrays.sort(accessTimes);
+			long threshold = accessTimes[Math.min(excess, accessTimes.length) - 1];
+
+			int removed = 0;
+			for (Iterator<CachedValue> iterator = entries.values().iterator(); iterator.hasNext() && removed < excess; ) {
+				if (iterator.next().accessTime <= threshold) {
+					iterator.remove();
+					removed++;
+				}
+			}
+		} finally {
+			evicting.set(false);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	protected V unpack(@Nonnull Object value, @Nullable V def) {
+		return value == ABSENT ? def : (V) value;
+	}
+
+	private final class CacheView extends AbstractMap<String, V> {
+
+		@Nullable
+		private V unpackValid(@Nullable CachedValue cached) {
+			return cached == null || cached.isExpired(System.currentTimeMillis()) ? null : unpack(cached.value, null);
+		}
+
+		@Override
+		public V get(Object key) {
+			return unpackValid(entries.get(key));
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+
+		@Override
+		public V put(String key, V value) {
+			V previous = get(key);
+			modifications.incrementAndGet();
+			store(key, new CachedValue(value == null ? ABSENT : value, System.currentTimeMillis(), expireAfterWrite));
+			return previous;
+		}
+
+		@Override
+		public V remove(Object key) {
+			V previous = get(key);
+			if (key instanceof String) invalidateLocally((String) key);
+			return previous;
+		}
+
+		@Override
+		public void clear() {
+			invalidateAllLocally();
+		}
+
+		@Nonnull
+		@Override
+		public Set<Entry<String, V>> entrySet() {
+			Set<Entry<String, V>> values = new LinkedHashSet<>();
+			entries.forEach((key, cached) -> {
+				V value = unpackValid(cached);
+				if (value != null) values.add(new SimpleImmutableEntry<>(key, value));
+			});
+			return Collections.unmodifiableSet(values);
+		}
+
 	}
 
 	@Nonnull
@@ -0,0 +1,46 @@
+package net.anweisen.utilities.database.access.invalidation;
+
+import net.anweisen.utilities.common.logging.ILogger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public abstract class AbstractInvalidationChannel implements InvalidationChannel {
+
+	protected static final ILogger logger = ILogger.forThisClass();
+
+	protected final Map<String, Collection<InvalidationListener>> listeners = new ConcurrentHashMap<>();
+
+	@Override
+	public void subscribe(@Nonnull String namespace, @Nonnull InvalidationListener listener) {
+		listeners.computeIfAbsent(namespace, key -> new CopyOnWriteArrayList<>()).add(listener);
+	}
+
+	@Override
+	public void unsubscribe(@Nonnull String namespace, @Nonnull InvalidationListener listener) {
+		Collection<InvalidationListener> subscribed = listeners.get(namespace);
+		if (subscribed != null) subscribed.remove(listener);
+	}
+
+	protected void dispatch(@Nonnull String namespace, @Nullable String key, @Nonnull String origin) {
+		Collection<InvalidationListener> subscribed = listeners.get(namespace);
+		if (subscribed == null) return;
+
+		for (InvalidationListener listener : subscribed) {
+			try {
+				listener.onInvalidation(key, origin);
+			} catch (Throwable ex) {
+				logger.error("Could not handle invalidation of {} in {}", key, namespace, ex);
+			}
+		}
+	}
+
+}
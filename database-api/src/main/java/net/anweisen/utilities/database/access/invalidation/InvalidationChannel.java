@@ -0,0 +1,40 @@
+package net.anweisen.utilities.database.access.invalidation;
+
+import net.anweisen.utilities.database.access.CachedDatabaseAccess;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Broadcasts invalidated cache keys to all caches sharing the channel, usually on different processes.
+ * The namespace of the keys is the table of a {@link CachedDatabaseAccess}.
+ *
+ * Messages carry the origin of the cache which published them, so the cache can ignore its own messages.
+ * Channels may deliver a message more than once and to the publishing process itself.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see LoopbackInvalidationChannel
+ * @see PollingInvalidationChannel
+ */
+public interface InvalidationChannel extends AutoCloseable {
+
+	/**
+	 * @param key the invalidated key, or {@code null} to invalidate all keys of the namespace
+	 * @param origin identifies the publishing cache
+	 */
+	void publish(@Nonnull String namespace, @Nullable String key, @Nonnull String origin) throws DatabaseException;
+
+	void subscribe(@Nonnull String namespace, @Nonnull InvalidationListener listener);
+
+	void unsubscribe(@Nonnull String namespace, @Nonnull InvalidationListener listener);
+
+	/**
+	 * Stops receiving messages
+	 */
+	@Override
+	void close();
+
+}
@@ -0,0 +1,21 @@
+package net.anweisen.utilities.database.access.invalidation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see InvalidationChannel#subscribe(String, InvalidationListener)
+ */
+@FunctionalInterface
+public interface InvalidationListener {
+
+	/**
+	 * @param key the invalidated key, or {@code null} if all keys of the namespace were invalidated
+	 * @param origin the origin passed to {@link InvalidationChannel#publish(String, String, String)}
+	 */
+	void onInvalidation(@Nullable String key, @Nonnull String origin);
+
+}
@@ -0,0 +1,29 @@
+package net.anweisen.utilities.database.access.invalidation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Delivers messages synchronously to the listeners of this channel only,
+ * used to share invalidations between caches of the same process or to test them.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class LoopbackInvalidationChannel extends AbstractInvalidationChannel {
+
+	protected volatile boolean closed;
+
+	@Override
+	public void publish(@Nonnull String namespace, @Nullable String key, @Nonnull String origin) {
+		if (closed) return;
+		dispatch(namespace, key, origin);
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		listeners.clear();
+	}
+
+}
@@ -0,0 +1,163 @@
+package net.anweisen.utilities.database.access.invalidation;
+
+import com.google.common.hash.Hashing;
+import net.anweisen.utilities.common.concurrent.ExecutorRegistry;
+import net.anweisen.utilities.common.concurrent.TimingWheel;
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.database.Database;
+import net.anweisen.utilities.database.SQLColumn;
+import net.anweisen.utilities.database.SQLColumn.Type;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores the time each key was last invalidated in a table of the shared database, which every process polls for keys invalidated since its last poll.
+ * Works with every {@link Database}, but invalidations are only noticed after up to one poll interval.
+ *
+ * The times are taken from the clocks of the publishing processes, every poll also reads the invalidations
+ * of the clock skew tolerance before the last poll, keys already delivered for the same time are not delivered twice.
+ * The table holds one row per invalidated key, identified by a primary key hashed from the namespace and key,
+ * so publishing updates the row in a single statement regardless of the length of the key.
+ * Polls use the index on the time of the invalidation.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class PollingInvalidationChannel extends AbstractInvalidationChannel {
+
+	public static final String DEFAULT_TABLE = "cache_invalidations";
+
+	/**
+	 * Stored as key when all keys of a namespace were invalidated, real keys starting with it are stored with it prepended
+	 */
+	public static final String ALL_KEYS = "*";
+
+	protected final Database database;
+	protected final String table;
+	protected final long interval;
+	protected final long clockSkewTolerance;
+
+	/**
+	 * The time of the last invalidation delivered for each namespace and key, only covering the tolerance window
+	 */
+	protected final Map<String, Long> delivered = new ConcurrentHashMap<>();
+
+	protected volatile long lastPoll;
+	protected volatile boolean closed;
+	protected volatile TimingWheel.Timeout timeout;
+
+	public PollingInvalidationChannel(@Nonnull Database database) {
+		this(database, DEFAULT_TABLE, 1000, 5000);
+	}
+
+	/**
+	 * @param interval the time in millis between two polls
+	 * @param clockSkewTolerance the maximum difference in millis between the clocks of the processes sharing the table
+	 */
+	public PollingInvalidationChannel(@Nonnull Database database, @Nonnull String table, @Nonnegative long interval, @Nonnegative long clockSkewTolerance) {
+		this.database = database;
+		this.table = table;
+		this.interval = interval;
+		this.clockSkewTolerance = clockSkewTolerance;
+	}
+
+	/**
+	 * Creates the table if necessary and starts polling, invalidations published before are not delivered
+	 */
+	public void start() throws DatabaseException {
+		database.createTable(table,
+			new SQLColumn("id", Type.CHAR, 64).asPrimaryKey(),
+			new SQLColumn("namespace", Type.TEXT, (String) null),
+			new SQLColumn("entry", Type.TEXT, (String) null),
+			new SQLColumn("modified", Type.BIGINT, 20),
+			new SQLColumn("origin", Type.VARCHAR, 36)
+		);
+		database.createIndex(table, "modified");
+		lastPoll = System.currentTimeMillis();
+		schedule();
+	}
+
+	@Override
+	public void publish(@Nonnull String namespace, @Nullable String key, @Nonnull String origin) throws DatabaseException {
+		String entry = key == null ? ALL_KEYS : key.startsWith(ALL_KEYS) ? ALL_KEYS + key : key;
+		String id = createId(namespace, entry);
+		long modified = System.currentTimeMillis();
+		database.insertOrUpdate(table)
+				.where("id", id)
+				.set("namespace", namespace)
+				.set("entry", entry)
+				.set("modified", modified)
+				.set("origin", origin)
+				.execute();
+
+		// listeners of this process do not have to wait for the next poll
+		delivered.put(id, modified);
+		dispatch(namespace, key, origin);
+	}
+
+	protected void schedule() {
+		if (closed) return;
+		timeout = TimingWheel.getShared().schedule(interval, TimeUnit.MILLISECONDS, () -> {
+			// queries block, keep them off the timing wheel thread
+			ExecutorRegistry.get(ExecutorRegistry.DATABASE).execute(() -> {
+				try {
+					if (database.isConnected()) poll();
+				} catch (Throwable ex) {
+					logger.warn("Could not poll invalidations from {}", table, ex);
+				}
+				schedule();
+			});
+		});
+	}
+
+	protected void poll() throws DatabaseException {
+		long now = System.currentTimeMillis();
+		long since = lastPoll - clockSkewTolerance;
+
+		for (Document row : database.query(table).seekAfter("modified", since).execute()) {
+			String id = row.getString("id");
+			String namespace = row.getString("namespace");
+			String entry = row.getString("entry");
+			String origin = row.getString("origin", "");
+			long modified = row.getLong("modified");
+			if (id == null || namespace == null || entry == null) continue;
+
+			Long previous = delivered.get(id);
+			if (previous != null && previous >= modified) continue;
+
+			delivered.put(id, modified);
+			dispatch(namespace, ALL_KEYS.equals(entry) ? null : entry.startsWith(ALL_KEYS) ? entry.substring(ALL_KEYS.length()) : entry, origin);
+		}
+
+		delivered.values().removeIf(modified -> modified <= since);
+		lastPoll = now;
+	}
+
+	/**
+	 * @return the hex encoded sha-256 hash of the namespace and entry, which always fits the primary key
+	 */
+	@Nonnull
+	protected static String createId(@Nonnull String namespace, @Nonnull String entry) {
+		return Hashing.sha256().newHasher()
+				.putString(namespace, StandardCharsets.UTF_8)
+				.putChar('\0')
+				.putString(entry, StandardCharsets.UTF_8)
+				.hash().toString();
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		TimingWheel.Timeout timeout = this.timeout;
+		if (timeout != null) timeout.cancel();
+		listeners.clear();
+	}
+
+}
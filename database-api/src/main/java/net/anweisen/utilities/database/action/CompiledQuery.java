@@ -0,0 +1,47 @@
+package net.anweisen.utilities.database.action;
+
+import net.anweisen.utilities.common.concurrent.ExecutorRegistry;
+import net.anweisen.utilities.common.concurrent.task.Task;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link DatabaseQuery} which was built once and can be executed many times with new values.
+ * The values are bound to the where clauses of the query in the order they were added,
+ * a {@link DatabaseQuery#whereIn(String, java.util.Collection) where in} clause takes a {@link java.util.Collection}.
+ * The selection, order, limit, offset and seek value are the ones of the query when it was compiled.
+ *
+ * <pre>
+ * CompiledQuery query = database.query("prefixes").where("guild", 0L).select("prefix").compile();
+ * String prefix = query.execute(guild.getIdLong()).firstOrEmpty().getString("prefix");
+ * </pre>
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see DatabaseQuery#compile()
+ */
+public interface CompiledQuery {
+
+	/**
+	 * @return the amount of values which have to be passed to {@link #execute(Object...)}
+	 */
+	int getParameterCount();
+
+	/**
+	 * @throws IllegalArgumentException
+	 *         If the amount of values does not match the {@link #getParameterCount() parameter count}
+	 */
+	@Nonnull
+	@CheckReturnValue
+	ExecutedQuery execute(@Nonnull Object... values) throws DatabaseException;
+
+	@Nonnull
+	@CheckReturnValue
+	default Task<ExecutedQuery> executeAsync(@Nonnull Object... values) {
+		return Task.asyncCall(() -> execute(values), ExecutorRegistry.get(ExecutorRegistry.DATABASE));
+	}
+
+}
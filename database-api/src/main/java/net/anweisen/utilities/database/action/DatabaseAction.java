@@ -1,5 +1,6 @@
 package net.anweisen.utilities.database.action;
 
+import net.anweisen.utilities.common.concurrent.ExecutorRegistry;
 import net.anweisen.utilities.common.concurrent.task.Task;
 import net.anweisen.utilities.database.action.hierarchy.*;
 import net.anweisen.utilities.database.exceptions.DatabaseConnectionClosedException;
@@ -71,13 +72,13 @@ public interface DatabaseAction<R> {
 	}
 
 	/**
-	 * Executes this action asynchronous
+	 * Executes this action asynchronous on the {@link ExecutorRegistry#DATABASE database} executor
 	 *
 	 * @return a new {@link Task} which will be completed when the action was executed
 	 */
 	@Nonnull
 	default Task<R> executeAsync() {
-		return Task.asyncCall(this::execute);
+		return Task.asyncCall(this::execute, ExecutorRegistry.get(ExecutorRegistry.DATABASE));
 	}
 
 }
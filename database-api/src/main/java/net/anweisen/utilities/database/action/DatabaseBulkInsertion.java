@@ -0,0 +1,63 @@
+package net.anweisen.utilities.database.action;
+
+import net.anweisen.utilities.common.config.Propertyable;
+import net.anweisen.utilities.database.Database;
+import net.anweisen.utilities.database.SpecificDatabase;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Inserts many rows at once.
+ * The rows are sent in batches instead of one round trip per row, sql databases write all rows in a single transaction.
+ * Rows may set different fields, fields which are not set by a row are not written for it.
+ *
+ * <pre>
+ * DatabaseBulkInsertion insertion = database.insertMany("stats");
+ * for (Stats stats : pending) {
+ *   insertion.add(stats.toMap());
+ * }
+ * insertion.execute();
+ * </pre>
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see Database#insertMany(String)
+ * @see SpecificDatabase#insertMany()
+ */
+public interface DatabaseBulkInsertion extends DatabaseAction<Void> {
+
+	@Nonnull
+	DatabaseBulkInsertion add(@Nonnull Map<String, ?> row);
+
+	@Nonnull
+	default DatabaseBulkInsertion add(@Nonnull Propertyable row) {
+		return add(row.values());
+	}
+
+	@Nonnull
+	default DatabaseBulkInsertion addAll(@Nonnull Collection<? extends Map<String, ?>> rows) {
+		for (Map<String, ?> row : rows) {
+			add(row);
+		}
+		return this;
+	}
+
+	/**
+	 * @return the amount of rows added to this action
+	 */
+	@Nonnegative
+	@CheckReturnValue
+	int size();
+
+	@Nullable
+	@Override
+	Void execute() throws DatabaseException;
+
+}
@@ -0,0 +1,55 @@
+package net.anweisen.utilities.database.action;
+
+import net.anweisen.utilities.common.config.Propertyable;
+import net.anweisen.utilities.database.Database;
+import net.anweisen.utilities.database.SpecificDatabase;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Inserts many rows at once, a row replaces the fields of the existing row with the same key fields.
+ * Every row has to set all key fields.
+ *
+ * The key fields have to be the primary key or a unique index of sql tables,
+ * MySQL uses the unique indices of the table regardless of the key fields.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see Database#upsertMany(String, String...)
+ * @see SpecificDatabase#upsertMany(String...)
+ */
+public interface DatabaseBulkInsertionOrUpdate extends DatabaseBulkInsertion {
+
+	/**
+	 * @throws IllegalArgumentException
+	 *         If the row does not set all key fields
+	 */
+	@Nonnull
+	@Override
+	DatabaseBulkInsertionOrUpdate add(@Nonnull Map<String, ?> row);
+
+	@Nonnull
+	@Override
+	default DatabaseBulkInsertionOrUpdate add(@Nonnull Propertyable row) {
+		return add(row.values());
+	}
+
+	@Nonnull
+	@Override
+	default DatabaseBulkInsertionOrUpdate addAll(@Nonnull Collection<? extends Map<String, ?>> rows) {
+		for (Map<String, ?> row : rows) {
+			add(row);
+		}
+		return this;
+	}
+
+	@Nullable
+	@Override
+	Void execute() throws DatabaseException;
+
+}
@@ -1,5 +1,6 @@
 package net.anweisen.utilities.database.action;
 
+import net.anweisen.utilities.common.config.Document;
 import net.anweisen.utilities.database.Database;
 import net.anweisen.utilities.database.Order;
 import net.anweisen.utilities.database.SpecificDatabase;
@@ -8,8 +9,11 @@ import net.anweisen.utilities.database.action.hierarchy.WhereAction;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 
 import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -20,6 +24,8 @@ import javax.annotation.Nullable;
  */
 public interface DatabaseQuery extends DatabaseAction<ExecutedQuery>, WhereAction, OrderedAction {
 
+	int DEFAULT_BATCH_SIZE = 1000;
+
 	@Nonnull
 	@CheckReturnValue
 	DatabaseQuery where(@Nonnull String field, @Nullable Object object);
@@ -40,6 +46,14 @@ public interface DatabaseQuery extends DatabaseAction<ExecutedQuery>, WhereActio
 	@CheckReturnValue
 	DatabaseQuery whereNot(@Nonnull String field, @Nullable Object value);
 
+	/**
+	 * Matches all entries whose value of the given field equals any of the given values.
+	 * This allows to query multiple keys with a single query.
+	 */
+	@Nonnull
+	@CheckReturnValue
+	DatabaseQuery whereIn(@Nonnull String field, @Nonnull Collection<?> values);
+
 	@Nonnull
 	@CheckReturnValue
 	DatabaseQuery select(@Nonnull String... selection);
@@ -48,9 +62,67 @@ public interface DatabaseQuery extends DatabaseAction<ExecutedQuery>, WhereActio
 	@CheckReturnValue
 	DatabaseQuery orderBy(@Nonnull String field, @Nonnull Order order);
 
+	/**
+	 * Limits the amount of results, the limit is applied by the database.
+	 */
+	@Nonnull
+	@CheckReturnValue
+	DatabaseQuery limit(@Nonnegative int limit);
+
+	/**
+	 * Skips the first results.
+	 * The database still has to read the skipped results, use {@link #seekAfter(String, Object)} for deep pages.
+	 */
+	@Nonnull
+	@CheckReturnValue
+	DatabaseQuery offset(@Nonnegative int offset);
+
+	/**
+	 * Keyset pagination, only matches entries whose value of the given field comes after the given value in the order of this query.
+	 * The value is usually the one of the last result of the previous page, which makes every page as fast as the first one.
+	 * The field should be the unique and indexed field the query is {@link #orderBy(String, Order) ordered by},
+	 * the results are ordered by it from the {@link Order#LOWEST lowest} value if no order was set.
+	 */
+	@Nonnull
+	@CheckReturnValue
+	DatabaseQuery seekAfter(@Nonnull String field, @Nonnull Object value);
+
 	@Nonnull
 	@Override
 	@CheckReturnValue
 	ExecutedQuery execute() throws DatabaseException;
 
+	/**
+	 * Executes this query and fetches the results lazily in batches of the given size,
+	 * so the memory used does not depend on the amount of results.
+	 * The stream holds a connection or cursor until it is closed or fully consumed and should be used in a try with resources block:
+	 * <pre>
+	 * try (Stream&lt;Document&gt; stream = database.query("players").stream(500)) {
+	 *   stream.forEach(player -&gt; ...);
+	 * }
+	 * </pre>
+	 * Errors while fetching a later batch are thrown unchecked, as the stream cannot throw a {@link DatabaseException}.
+	 *
+	 * @param batchSize the amount of results fetched at once
+	 */
+	@Nonnull
+	@CheckReturnValue
+	Stream<Document> stream(@Nonnegative int batchSize) throws DatabaseException;
+
+	@Nonnull
+	@CheckReturnValue
+	default Stream<Document> stream() throws DatabaseException {
+		return stream(DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Builds this query once so it can be executed many times with new values for its where clauses.
+	 * Changes to this query after it was compiled do not affect the compiled query.
+	 *
+	 * @see CompiledQuery
+	 */
+	@Nonnull
+	@CheckReturnValue
+	CompiledQuery compile();
+
 }
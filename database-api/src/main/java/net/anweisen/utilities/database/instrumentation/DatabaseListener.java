@@ -0,0 +1,23 @@
+package net.anweisen.utilities.database.instrumentation;
+
+import net.anweisen.utilities.database.internal.abstraction.AbstractDatabase;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Called after every action executed by a database, on the thread which executed it.
+ * Listeners should return quickly, as they delay the caller of the action.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see AbstractDatabase#addListener(DatabaseListener)
+ * @see DatabaseMetrics
+ * @see SlowQueryLogger
+ */
+@FunctionalInterface
+public interface DatabaseListener {
+
+	void onExecuted(@Nonnull ExecutionEvent event);
+
+}
@@ -0,0 +1,132 @@
+package net.anweisen.utilities.database.instrumentation;
+
+import net.anweisen.utilities.common.debug.LatencyHistogram;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates latency histograms, rows, bytes and errors per table and operation
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class DatabaseMetrics implements DatabaseListener {
+
+	public static final class OperationMetrics {
+
+		private final String table;
+		private final DatabaseOperation operation;
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final LongAdder rows = new LongAdder();
+		private final LongAdder bytes = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+
+		private OperationMetrics(@Nullable String table, @Nonnull DatabaseOperation operation) {
+			this.table = table;
+			this.operation = operation;
+		}
+
+		private void record(@Nonnull ExecutionEvent event) {
+			latency.record(event.getDuration(TimeUnit.NANOSECONDS));
+			if (event.getRows() > 0) rows.add(event.getRows());
+			if (event.getBytes() > 0) bytes.add(event.getBytes());
+			if (!event.isSuccessful()) errors.increment();
+		}
+
+		@Nullable
+		public String getTable() {
+			return table;
+		}
+
+		@Nonnull
+		public DatabaseOperation getOperation() {
+			return operation;
+		}
+
+		@Nonnull
+		public LatencyHistogram getLatency() {
+			return latency;
+		}
+
+		public long getRows() {
+			return rows.sum();
+		}
+
+		public long getBytes() {
+			return bytes.sum();
+		}
+
+		public long getErrors() {
+			return errors.sum();
+		}
+
+		@Override
+		public String toString() {
+			return "OperationMetrics[" + operation + " " + table + ", " + latency + ", rows=" + getRows() + ", errors=" + getErrors() + "]";
+		}
+
+	}
+
+	private static final class Key {
+
+		private final String table;
+		private final DatabaseOperation operation;
+
+		private Key(@Nullable String table, @Nonnull DatabaseOperation operation) {
+			this.table = table;
+			this.operation = operation;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Key key = (Key) o;
+			return Objects.equals(table, key.table) && operation == key.operation;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(table, operation);
+		}
+
+	}
+
+	protected final Map<Key, OperationMetrics> metrics = new ConcurrentHashMap<>();
+
+	@Override
+	public void onExecuted(@Nonnull ExecutionEvent event) {
+		Key key = new Key(event.getTable(), event.getOperation());
+		OperationMetrics metrics = this.metrics.get(key);
+		if (metrics == null) metrics = this.metrics.computeIfAbsent(key, k -> new OperationMetrics(k.table, k.operation));
+		metrics.record(event);
+	}
+
+	@Nullable
+	public OperationMetrics get(@Nullable String table, @Nonnull DatabaseOperation operation) {
+		return metrics.get(new Key(table, operation));
+	}
+
+	@Nonnull
+	public Collection<OperationMetrics> getAll() {
+		return Collections.unmodifiableCollection(metrics.values());
+	}
+
+	public void reset() {
+		metrics.clear();
+	}
+
+	@Override
+	public String toString() {
+		return "DatabaseMetrics" + metrics.values();
+	}
+
+}
@@ -0,0 +1,25 @@
+package net.anweisen.utilities.database.instrumentation;
+
+/**
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public enum DatabaseOperation {
+
+	QUERY,
+	/**
+	 * Only covers opening the stream, the rows are read afterwards
+	 */
+	STREAM,
+	COUNT,
+	INSERT,
+	BULK_INSERT,
+	UPDATE,
+	INSERT_OR_UPDATE,
+	BULK_INSERT_OR_UPDATE,
+	DELETE,
+	LIST_TABLES,
+	CREATE_TABLE,
+	CREATE_INDEX
+
+}
@@ -0,0 +1,88 @@
+package net.anweisen.utilities.database.instrumentation;
+
+import net.anweisen.utilities.database.Database;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes an executed database action
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class ExecutionEvent {
+
+	private final Database database;
+	private final String table;
+	private final DatabaseOperation operation;
+	private final long nanos;
+	private final long rows;
+	private final long bytes;
+	private final Throwable error;
+
+	public ExecutionEvent(@Nonnull Database database, @Nullable String table, @Nonnull DatabaseOperation operation, long nanos, long rows, long bytes, @Nullable Throwable error) {
+		this.database = database;
+		this.table = table;
+		this.operation = operation;
+		this.nanos = nanos;
+		this.rows = rows;
+		this.bytes = bytes;
+		this.error = error;
+	}
+
+	@Nonnull
+	public Database getDatabase() {
+		return database;
+	}
+
+	/**
+	 * @return the table of the action, or {@code null} if the action is not bound to a table
+	 */
+	@Nullable
+	public String getTable() {
+		return table;
+	}
+
+	@Nonnull
+	public DatabaseOperation getOperation() {
+		return operation;
+	}
+
+	public long getDuration(@Nonnull TimeUnit unit) {
+		return unit.convert(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return the amount of rows returned or written, {@code -1} if unknown
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return the amount of bytes received, {@code -1} if unknown
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @return the exception the action failed with, or {@code null} if it succeeded
+	 */
+	@Nullable
+	public Throwable getError() {
+		return error;
+	}
+
+	public boolean isSuccessful() {
+		return error == null;
+	}
+
+	@Override
+	public String toString() {
+		return "ExecutionEvent[" + operation + " " + table + ", " + getDuration(TimeUnit.MICROSECONDS) + "us, rows=" + rows + (error != null ? ", error=" + error : "") + "]";
+	}
+
+}
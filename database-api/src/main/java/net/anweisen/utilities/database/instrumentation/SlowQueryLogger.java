@@ -0,0 +1,38 @@
+package net.anweisen.utilities.database.instrumentation;
+
+import net.anweisen.utilities.common.logging.ILogger;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs actions which took longer than the threshold
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class SlowQueryLogger implements DatabaseListener {
+
+	protected final ILogger logger;
+	protected final long thresholdNanos;
+
+	public SlowQueryLogger(@Nonnegative long thresholdMillis) {
+		this(ILogger.forThisClass(), thresholdMillis);
+	}
+
+	public SlowQueryLogger(@Nonnull ILogger logger, @Nonnegative long thresholdMillis) {
+		this.logger = logger;
+		this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+	}
+
+	@Override
+	public void onExecuted(@Nonnull ExecutionEvent event) {
+		if (event.getDuration(TimeUnit.NANOSECONDS) < thresholdNanos) return;
+		logger.warn("Slow {} on {} of {} took {}ms, rows={}{}",
+			event.getOperation(), event.getTable(), event.getDatabase().getClass().getSimpleName(),
+			event.getDuration(TimeUnit.MILLISECONDS), event.getRows(),
+			event.getError() != null ? ", failed with " + event.getError() : "");
+	}
+
+}
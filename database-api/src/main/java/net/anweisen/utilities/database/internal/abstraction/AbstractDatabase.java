@@ -7,16 +7,34 @@ import net.anweisen.utilities.database.SpecificDatabase;
 import net.anweisen.utilities.database.exceptions.DatabaseAlreadyConnectedException;
 import net.anweisen.utilities.database.exceptions.DatabaseConnectionClosedException;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseListener;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
+import net.anweisen.utilities.database.instrumentation.ExecutionEvent;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToLongFunction;
 
 /**
+ * Actions of the implementations report their executions to the {@link DatabaseListener listeners} of the database
+ * using {@link #instrument(String, DatabaseOperation, ToLongFunction, ToLongFunction, InstrumentedCall)}.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
 public abstract class AbstractDatabase implements Database {
 
+	@FunctionalInterface
+	public interface InstrumentedCall<R> {
+
+		R call() throws DatabaseException;
+
+	}
+
 	protected final DatabaseConfig config;
+	protected final Collection<DatabaseListener> listeners = new CopyOnWriteArrayList<>();
 
 	public AbstractDatabase(@Nonnull DatabaseConfig config) {
 		this.config = config;
@@ -92,6 +110,67 @@ public abstract class AbstractDatabase implements Database {
 		return config;
 	}
 
+	public void addListener(@Nonnull DatabaseListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(@Nonnull DatabaseListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Executes the call and reports its duration, result and failure to the listeners.
+	 * The call is executed directly if there are no listeners.
+	 *
+	 * @param table the table of the action, or {@code null} if it is not bound to a table
+	 * @param rows counts the rows affected by the call, or {@code null} if the amount is not known
+	 */
+	public <R> R instrument(@Nullable String table, @Nonnull DatabaseOperation operation, @Nullable ToLongFunction<? super R> rows,
+	                        @Nonnull InstrumentedCall<R> call) throws DatabaseException {
+		return instrument(table, operation, rows, null, call);
+	}
+
+	/**
+	 * @param rows counts the rows affected by the call, or {@code null} if the amount is not known
+	 * @param bytes counts the bytes received by the call, or {@code null} if the amount is not known
+	 *
+	 * @see #instrument(String, DatabaseOperation, ToLongFunction, InstrumentedCall)
+	 */
+	public <R> R instrument(@Nullable String table, @Nonnull DatabaseOperation operation, @Nullable ToLongFunction<? super R> rows,
+	                        @Nullable ToLongFunction<? super R> bytes, @Nonnull InstrumentedCall<R> call) throws DatabaseException {
+		if (listeners.isEmpty()) return call.call();
+
+		long start = System.nanoTime();
+		R result;
+		try {
+			result = call.call();
+		} catch (DatabaseException | RuntimeException | Error ex) {
+			report(new ExecutionEvent(this, table, operation, System.nanoTime() - start, -1, -1, ex));
+			throw ex;
+		}
+
+		long nanos = System.nanoTime() - start;
+		report(new ExecutionEvent(this, table, operation, nanos, rows != null ? rows.applyAsLong(result) : -1, bytes != null ? bytes.applyAsLong(result) : -1, null));
+		return result;
+	}
+
+	/**
+	 * Reports an action which measured itself, because it knows more than {@link #instrument(String, DatabaseOperation, ToLongFunction, InstrumentedCall) instrument} could tell
+	 */
+	public void report(@Nonnull ExecutionEvent event) {
+		for (DatabaseListener listener : listeners) {
+			try {
+				listener.onExecuted(event);
+			} catch (Throwable ex) {
+				LOGGER.error("Could not pass execution to listener {}", listener, ex);
+			}
+		}
+	}
+
+	public boolean isInstrumented() {
+		return !listeners.isEmpty();
+	}
+
 	protected final void checkConnection() throws DatabaseConnectionClosedException {
 		if (!isConnected())
 			throw new DatabaseConnectionClosedException();
@@ -62,6 +62,18 @@ public class DefaultSpecificDatabase implements SpecificDatabase {
 		return parent.insertOrUpdate(name);
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertion insertMany() {
+		return parent.insertMany(name);
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertionOrUpdate upsertMany(@Nonnull String... keys) {
+		return parent.upsertMany(name, keys);
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseDeletion delete() {
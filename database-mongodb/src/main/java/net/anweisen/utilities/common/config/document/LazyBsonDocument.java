@@ -0,0 +1,374 @@
+package net.anweisen.utilities.common.config.document;
+
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.common.config.exceptions.ConfigReadOnlyException;
+import org.bson.*;
+import org.bson.codecs.DocumentCodec;
+import org.bson.json.JsonWriterSettings;
+import org.bson.types.Binary;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * A read only document backed by the encoded bytes of a {@link RawBsonDocument}.
+ * Fields are only decoded when they are accessed, nested documents stay encoded until their fields are accessed.
+ * Values are unpacked to the same types as an {@link org.bson.Document} would contain.
+ *
+ * Every access scans the fields of the document, prefer {@link BsonDocument} if most fields are read repeatedly.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class LazyBsonDocument extends AbstractDocument {
+
+	protected static final DocumentCodec codec = new DocumentCodec();
+
+	protected final RawBsonDocument bsonDocument;
+
+	public LazyBsonDocument(@Nonnull RawBsonDocument bsonDocument) {
+		this.bsonDocument = bsonDocument;
+	}
+
+	public LazyBsonDocument(@Nonnull RawBsonDocument bsonDocument, @Nonnull Document root, @Nullable Document parent) {
+		super(root, parent);
+		this.bsonDocument = bsonDocument;
+	}
+
+	@Nonnull
+	@Override
+	public Document getDocument0(@Nonnull String path, @Nonnull Document root, @Nullable Document parent) {
+		BsonValue value = bsonDocument.get(path);
+		if (value instanceof RawBsonDocument)
+			return new LazyBsonDocument((RawBsonDocument) value, root, parent);
+		if (value != null && !value.isNull())
+			throw new IllegalStateException("Expected document at " + path + ", found " + value.getBsonType());
+		return new EmptyDocument(root, parent);
+	}
+
+	@Nonnull
+	@Override
+	public List<Document> getDocumentList(@Nonnull String path) {
+		BsonValue value = bsonDocument.get(path);
+		if (value == null || !value.isArray()) return new ArrayList<>();
+		BsonArray array = value.asArray();
+		List<Document> documents = new ArrayList<>(array.size());
+		for (BsonValue element : array) {
+			if (element instanceof RawBsonDocument)
+				documents.add(new LazyBsonDocument((RawBsonDocument) element, root, this));
+		}
+		return documents;
+	}
+
+	@Nullable
+	@Override
+	public Object getObject(@Nonnull String path) {
+		return unpack(bsonDocument.get(path));
+	}
+
+	@Nullable
+	@Override
+	public String getString(@Nonnull String path) {
+		Object value = getObject(path);
+		return value == null ? null : value.toString();
+	}
+
+	@Override
+	public long getLong(@Nonnull String path, long def) {
+		Object value = getObject(path);
+		if (value instanceof Long || value instanceof Integer) return ((Number) value).longValue();
+		try {
+			return Long.parseLong(String.valueOf(value));
+		} catch (Exception ex) {
+			return def;
+		}
+	}
+
+	@Override
+	public int getInt(@Nonnull String path, int def) {
+		Object value = getObject(path);
+		if (value instanceof Integer) return (Integer) value;
+		try {
+			return Integer.parseInt(String.valueOf(value));
+		} catch (Exception ex) {
+			return def;
+		}
+	}
+
+	@Override
+	public short getShort(@Nonnull String path, short def) {
+		try {
+			return Short.parseShort(getString(path));
+		} catch (Exception ex) {
+			return def;
+		}
+	}
+
+	@Override
+	public byte getByte(@Nonnull String path, byte def) {
+		try {
+			return Byte.parseByte(getString(path));
+		} catch (Exception ex) {
+			return def;
+		}
+	}
+
+	@Override
+	public double getDouble(@Nonnull String path, double def) {
+		Object value = getObject(path);
+		if (value instanceof Double || value instanceof Long || value instanceof Integer) return ((Number) value).doubleValue();
+		try {
+			return Double.parseDouble(String.valueOf(value));
+		} catch (Exception ex) {
+			return def;
+		}
+	}
+
+	@Override
+	public float getFloat(@Nonnull String path, float def) {
+		try {
+			return Float.parseFloat(getString(path));
+		} catch (Exception ex) {
+			return def;
+		}
+	}
+
+	@Override
+	public boolean getBoolean(@Nonnull String path, boolean def) {
+		Object value = getObject(path);
+		if (value instanceof Boolean) return (Boolean) value;
+		if (value instanceof String) return Boolean.parseBoolean((String) value);
+		return def;
+	}
+
+	@Nonnull
+	@Override
+	public List<String> getStringList(@Nonnull String path) {
+		BsonValue value = bsonDocument.get(path);
+		if (value == null || !value.isArray()) return new ArrayList<>();
+		BsonArray array = value.asArray();
+		List<String> list = new ArrayList<>(array.size());
+		for (BsonValue element : array) {
+			Object unpacked = unpack(element);
+			list.add(unpacked == null ? null : unpacked.toString());
+		}
+		return list;
+	}
+
+	@Nullable
+	@Override
+	public UUID getUUID(@Nonnull String path) {
+		try {
+			Object value = getObject(path);
+			if (value instanceof UUID) return (UUID) value;
+			if (value instanceof String) return UUID.fromString((String) value);
+		} catch (Exception ex) {
+		}
+		return null;
+	}
+
+	@Nullable
+	@Override
+	public Date getDate(@Nonnull String path) {
+		return (Date) getObject(path);
+	}
+
+	@Nullable
+	@Override
+	public OffsetDateTime getDateTime(@Nonnull String path) {
+		Object value = getObject(path);
+
+		if (value == null)
+			return null;
+		if (value instanceof Date)
+			return ((Date) value).toInstant().atOffset(ZoneOffset.UTC);
+		if (value instanceof String)
+			return OffsetDateTime.parse((CharSequence) value);
+
+		throw new IllegalStateException(value.getClass().getName() + " cannot be converted to java.time.OffsetDateTime");
+	}
+
+	@Nullable
+	@Override
+	public Color getColor(@Nonnull String path) {
+		Object value = getObject(path);
+
+		if (value == null)
+			return null;
+		if (value instanceof String)
+			return Color.decode((String) value);
+
+		throw new IllegalStateException(value.getClass().getName() + " cannot be converted to java.awt.Color");
+	}
+
+	@Override
+	public <T> T getInstance(@Nonnull String path, @Nonnull Class<T> classOfT) {
+		return copyJson().getInstance(path, classOfT);
+	}
+
+	@Override
+	public <T> T toInstanceOf(@Nonnull Class<T> classOfT) {
+		return copyJson().toInstanceOf(classOfT);
+	}
+
+	@Override
+	public boolean contains(@Nonnull String path) {
+		return bsonDocument.containsKey(path);
+	}
+
+	@Override
+	public boolean isList(@Nonnull String path) {
+		BsonValue value = bsonDocument.get(path);
+		return value != null && value.isArray();
+	}
+
+	@Override
+	public boolean isDocument(@Nonnull String path) {
+		BsonValue value = bsonDocument.get(path);
+		return value != null && value.isDocument();
+	}
+
+	@Override
+	public boolean isObject(@Nonnull String path) {
+		BsonValue value = bsonDocument.get(path);
+		return value != null && !value.isArray() && !value.isDocument();
+	}
+
+	@Override
+	public int size() {
+		return bsonDocument.size();
+	}
+
+	@Override
+	public boolean isReadonly() {
+		return true;
+	}
+
+	@Override
+	public void clear0() {
+		throw new ConfigReadOnlyException("clear");
+	}
+
+	@Override
+	public void set0(@Nonnull String path, @Nullable Object value) {
+		throw new ConfigReadOnlyException("set");
+	}
+
+	@Override
+	public void remove0(@Nonnull String path) {
+		throw new ConfigReadOnlyException("remove");
+	}
+
+	@Override
+	public void write(@Nonnull Writer writer) throws IOException {
+		writer.write(bsonDocument.toJson());
+	}
+
+	/**
+	 * Decodes the whole document
+	 */
+	@Nonnull
+	@Override
+	public Map<String, Object> values() {
+		return Collections.unmodifiableMap(bsonDocument.decode(codec));
+	}
+
+	@Nonnull
+	@Override
+	public Collection<String> keys() {
+		List<String> keys = new ArrayList<>();
+		try (BsonBinaryReader reader = new BsonBinaryReader(bsonDocument.getByteBuffer().asNIO())) {
+			reader.readStartDocument();
+			while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+				keys.add(reader.readName());
+				reader.skipValue();
+			}
+		}
+		return keys;
+	}
+
+	@Override
+	public void forEach(@Nonnull BiConsumer<? super String, ? super Object> action) {
+		values().forEach(action);
+	}
+
+	@Nonnull
+	@Override
+	public String toJson() {
+		return bsonDocument.toJson();
+	}
+
+	@Nonnull
+	@Override
+	public String toPrettyJson() {
+		return bsonDocument.toJson(JsonWriterSettings.builder().indent(true).build());
+	}
+
+	@Override
+	public String toString() {
+		return toJson();
+	}
+
+	@Nonnull
+	public RawBsonDocument getBsonDocument() {
+		return bsonDocument;
+	}
+
+	/**
+	 * @return the value as it would be decoded into an {@link org.bson.Document}
+	 */
+	@Nullable
+	public static Object unpack(@Nullable BsonValue value) {
+		if (value == null) return null;
+		switch (value.getBsonType()) {
+			case NULL:
+			case UNDEFINED:
+				return null;
+			case STRING:
+				return value.asString().getValue();
+			case INT32:
+				return value.asInt32().getValue();
+			case INT64:
+				return value.asInt64().getValue();
+			case DOUBLE:
+				return value.asDouble().getValue();
+			case BOOLEAN:
+				return value.asBoolean().getValue();
+			case DATE_TIME:
+				return new Date(value.asDateTime().getValue());
+			case OBJECT_ID:
+				return value.asObjectId().getValue();
+			case DECIMAL128:
+				return value.asDecimal128().getValue();
+			case BINARY:
+				BsonBinary binary = value.asBinary();
+				if (binary.getData().length == 16) {
+					if (binary.getType() == BsonBinarySubType.UUID_STANDARD.getValue())
+						return binary.asUuid();
+					if (binary.getType() == BsonBinarySubType.UUID_LEGACY.getValue())
+						return binary.asUuid(UuidRepresentation.JAVA_LEGACY);
+				}
+				return new Binary(binary.getType(), binary.getData());
+			case ARRAY:
+				BsonArray array = value.asArray();
+				List<Object> list = new ArrayList<>(array.size());
+				for (BsonValue element : array) {
+					list.add(unpack(element));
+				}
+				return list;
+			case DOCUMENT:
+				return value instanceof RawBsonDocument ? ((RawBsonDocument) value).decode(codec) : value;
+			default:
+				return value;
+		}
+	}
+
+}
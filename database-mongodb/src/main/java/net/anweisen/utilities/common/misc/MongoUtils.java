@@ -2,17 +2,20 @@ package net.anweisen.utilities.common.misc;
 
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Sorts;
 import net.anweisen.utilities.common.config.Json;
 import net.anweisen.utilities.database.Order;
 import net.anweisen.utilities.database.internal.mongodb.where.MongoDBWhere;
 import org.bson.BsonDocument;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.UUID;
 
 /**
@@ -24,18 +27,35 @@ public final class MongoUtils {
 	private MongoUtils() {
 	}
 
-	public static void applyWhere(@Nonnull FindIterable<Document> iterable, @Nonnull Map<String, MongoDBWhere> where) {
-		for (Entry<String, MongoDBWhere> entry : where.entrySet()) {
-			MongoDBWhere value = entry.getValue();
-			iterable.filter(value.toBson());
+	public static void applyWhere(@Nonnull FindIterable<?> iterable, @Nonnull Map<String, MongoDBWhere> where) {
+		applyWhere(iterable, where, null);
+	}
+
+	/**
+	 * Combines all wheres into a single filter, every call to {@link FindIterable#filter(Bson)} replaces the previous filter
+	 *
+	 * @param additional another filter results have to match, or {@code null}
+	 */
+	public static void applyWhere(@Nonnull FindIterable<?> iterable, @Nonnull Map<String, MongoDBWhere> where, @Nullable Bson additional) {
+		List<Bson> filters = new ArrayList<>(where.size() + 1);
+		for (MongoDBWhere value : where.values()) {
+			filters.add(value.toBson());
 
 			Collation collation = value.getCollation();
 			if (collation != null)
 				iterable.collation(collation);
 		}
+		if (additional != null)
+			filters.add(additional);
+
+		if (filters.size() == 1) {
+			iterable.filter(filters.get(0));
+		} else if (!filters.isEmpty()) {
+			iterable.filter(Filters.and(filters));
+		}
 	}
 
-	public static void applyOrder(@Nonnull FindIterable<Document> iterable, @Nullable String orderBy, @Nullable Order order) {
+	public static void applyOrder(@Nonnull FindIterable<?> iterable, @Nullable String orderBy, @Nullable Order order) {
 		if (order == null || orderBy == null) return;
 		switch (order) {
 			case HIGHEST:
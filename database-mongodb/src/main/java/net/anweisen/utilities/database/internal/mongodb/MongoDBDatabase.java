@@ -7,14 +7,19 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
 import net.anweisen.utilities.database.DatabaseConfig;
 import net.anweisen.utilities.database.SQLColumn;
 import net.anweisen.utilities.database.action.*;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.abstraction.AbstractDatabase;
 import net.anweisen.utilities.database.internal.mongodb.count.MongoDBCountEntries;
 import net.anweisen.utilities.database.internal.mongodb.deletion.MongoDBDeletion;
+import net.anweisen.utilities.database.internal.mongodb.insertion.MongoDBBulkInsertion;
 import net.anweisen.utilities.database.internal.mongodb.insertion.MongoDBInsertion;
+import net.anweisen.utilities.database.internal.mongodb.insertorupdate.MongoDBBulkInsertionOrUpdate;
 import net.anweisen.utilities.database.internal.mongodb.insertorupdate.MongoDBInsertionOrUpdate;
 import net.anweisen.utilities.database.internal.mongodb.list.MongoDBListTables;
 import net.anweisen.utilities.database.internal.mongodb.query.MongoDBQuery;
@@ -68,15 +73,44 @@ public class MongoDBDatabase extends AbstractDatabase {
 		checkConnection();
 
 		boolean collectionExists = listTables().execute().contains(name);
-		if (collectionExists) return;
+		if (!collectionExists) {
+			instrument(name, DatabaseOperation.CREATE_TABLE, null, () -> {
+				try {
+					database.createCollection(name);
+					return null;
+				} catch (Exception ex) {
+					throw new DatabaseException(ex);
+				}
+			});
+		}
 
-		try {
-			database.createCollection(name);
-		} catch (Exception ex) {
-			throw new DatabaseException(ex);
+		// collections have no columns, but a primary key column still has to be unique
+		for (SQLColumn column : columns) {
+			if (!column.isPrimaryKey()) continue;
+			instrument(name, DatabaseOperation.CREATE_INDEX, null, () -> {
+				try {
+					getCollection(name).createIndex(Indexes.ascending(column.getName()), new IndexOptions().unique(true));
+					return null;
+				} catch (Exception ex) {
+					throw new DatabaseException(ex);
+				}
+			});
 		}
 	}
 
+	@Override
+	public void createIndex(@Nonnull String table, @Nonnull String... columns) throws DatabaseException {
+		checkConnection();
+		instrument(table, DatabaseOperation.CREATE_INDEX, null, () -> {
+			try {
+				getCollection(table).createIndex(Indexes.ascending(columns));
+				return null;
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+		});
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseListTables listTables() {
@@ -128,6 +162,18 @@ public class MongoDBDatabase extends AbstractDatabase {
 		return new MongoDBInsertionOrUpdate(this, table);
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertion insertMany(@Nonnull String table) {
+		return new MongoDBBulkInsertion(this, table);
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertionOrUpdate upsertMany(@Nonnull String table, @Nonnull String... keys) {
+		return new MongoDBBulkInsertionOrUpdate(this, table, keys);
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseDeletion delete(@Nonnull String table) {
@@ -2,6 +2,7 @@ package net.anweisen.utilities.database.internal.mongodb.count;
 
 import net.anweisen.utilities.database.action.DatabaseCountEntries;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
 
 import javax.annotation.Nonnull;
@@ -24,11 +25,13 @@ public class MongoDBCountEntries implements DatabaseCountEntries {
 	@Nonnull
 	@Override
 	public Long execute() throws DatabaseException {
-		try {
-			return database.getCollection(table).countDocuments();
-		} catch (Exception ex) {
-			throw new DatabaseException(ex);
-		}
+		return database.instrument(table, DatabaseOperation.COUNT, null, () -> {
+			try {
+				return database.getCollection(table).countDocuments();
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+		});
 	}
 
 	@Override
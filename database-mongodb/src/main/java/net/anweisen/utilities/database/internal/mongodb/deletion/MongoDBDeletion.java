@@ -7,6 +7,7 @@ import com.mongodb.client.model.Filters;
 import net.anweisen.utilities.common.misc.BsonUtils;
 import net.anweisen.utilities.database.action.DatabaseDeletion;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
 import net.anweisen.utilities.database.internal.mongodb.where.MongoDBWhere;
 import net.anweisen.utilities.database.internal.mongodb.where.ObjectWhere;
@@ -73,27 +74,29 @@ public class MongoDBDeletion implements DatabaseDeletion {
 
 	@Override
 	public Void execute() throws DatabaseException {
-		try {
-			MongoCollection<Document> collection = database.getCollection(this.collection);
-
-			Document filter = new Document();
-			DeleteOptions options = new DeleteOptions();
-
-			for (MongoDBWhere where : where.values()) {
-				Bson whereBson = where.toBson();
-				BsonDocument asBsonDocument = BsonUtils.convertBsonToBsonDocument(whereBson);
-				filter.putAll(asBsonDocument);
-
-				Collation collation = where.getCollation();
-				if (collation != null)
-					options.collation(collation);
+		return database.instrument(collection, DatabaseOperation.DELETE, null, () -> {
+			try {
+				MongoCollection<Document> collection = database.getCollection(this.collection);
+
+				Document filter = new Document();
+				DeleteOptions options = new DeleteOptions();
+
+				for (MongoDBWhere where : where.values()) {
+					Bson whereBson = where.toBson();
+					BsonDocument asBsonDocument = BsonUtils.convertBsonToBsonDocument(whereBson);
+					filter.putAll(asBsonDocument);
+
+					Collation collation = where.getCollation();
+					if (collation != null)
+						options.collation(collation);
+				}
+
+				collection.deleteMany(filter, options);
+				return null;
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
 			}
-
-			collection.deleteMany(filter, options);
-			return null;
-		} catch (Exception ex) {
-			throw new DatabaseException(ex);
-		}
+		});
 	}
 
 	@Override
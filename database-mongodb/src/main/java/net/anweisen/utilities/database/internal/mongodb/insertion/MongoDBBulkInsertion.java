@@ -0,0 +1,84 @@
+package net.anweisen.utilities.database.internal.mongodb.insertion;
+
+import com.mongodb.client.model.InsertManyOptions;
+import net.anweisen.utilities.common.misc.MongoUtils;
+import net.anweisen.utilities.database.action.DatabaseBulkInsertion;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
+import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
+import org.bson.Document;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * The documents are written unordered, so the server may write them in parallel.
+ * The driver splits them into as few messages as the server allows.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class MongoDBBulkInsertion implements DatabaseBulkInsertion {
+
+	protected final MongoDBDatabase database;
+	protected final String collection;
+	protected final List<Document> documents = new ArrayList<>();
+
+	public MongoDBBulkInsertion(@Nonnull MongoDBDatabase database, @Nonnull String collection) {
+		this.database = database;
+		this.collection = collection;
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertion add(@Nonnull Map<String, ?> row) {
+		if (row.isEmpty()) throw new IllegalArgumentException("Cannot insert an empty row");
+		documents.add(pack(row));
+		return this;
+	}
+
+	@Nonnull
+	protected static Document pack(@Nonnull Map<String, ?> row) {
+		Document document = new Document();
+		for (Entry<String, ?> entry : row.entrySet()) {
+			document.put(entry.getKey(), MongoUtils.packObject(entry.getValue()));
+		}
+		return document;
+	}
+
+	@Override
+	public int size() {
+		return documents.size();
+	}
+
+	@Override
+	public Void execute() throws DatabaseException {
+		return database.instrument(collection, DatabaseOperation.BULK_INSERT, result -> documents.size(), () -> {
+			if (documents.isEmpty()) return null;
+			try {
+				database.getCollection(collection).insertMany(documents, new InsertManyOptions().ordered(false));
+				return null;
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+		});
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		MongoDBBulkInsertion that = (MongoDBBulkInsertion) o;
+		return database.equals(that.database) && collection.equals(that.collection) && documents.equals(that.documents);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(database, collection, documents);
+	}
+
+}
@@ -3,6 +3,7 @@ package net.anweisen.utilities.database.internal.mongodb.insertion;
 import net.anweisen.utilities.common.misc.MongoUtils;
 import net.anweisen.utilities.database.action.DatabaseInsertion;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
 import org.bson.Document;
 
@@ -41,9 +42,18 @@ public class MongoDBInsertion implements DatabaseInsertion {
 
 	@Override
 	public Void execute() throws DatabaseException {
+		return database.instrument(collection, DatabaseOperation.INSERT, result -> 1, () -> {
+			executeInsertion();
+			return null;
+		});
+	}
+
+	/**
+	 * Executes the insertion without reporting it, used by actions which report themselves
+	 */
+	public void executeInsertion() throws DatabaseException {
 		try {
 			database.getCollection(collection).insertOne(values);
-			return null;
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
 		}
@@ -0,0 +1,92 @@
+package net.anweisen.utilities.database.internal.mongodb.insertorupdate;
+
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import net.anweisen.utilities.common.misc.MongoUtils;
+import net.anweisen.utilities.database.action.DatabaseBulkInsertionOrUpdate;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
+import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
+import org.bson.Document;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.Map.Entry;
+
+/**
+ * Every row becomes an upserting update of the document matching its key fields, all updates are sent as one unordered bulk write.
+ * Like the sql implementations only the fields set by the row are replaced, other fields of an existing document are kept.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class MongoDBBulkInsertionOrUpdate implements DatabaseBulkInsertionOrUpdate {
+
+	protected static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+
+	protected final MongoDBDatabase database;
+	protected final String collection;
+	protected final List<String> keys;
+	protected final List<WriteModel<Document>> models = new ArrayList<>();
+
+	public MongoDBBulkInsertionOrUpdate(@Nonnull MongoDBDatabase database, @Nonnull String collection, @Nonnull String... keys) {
+		if (keys.length == 0) throw new IllegalArgumentException("At least one key field is required");
+		this.database = database;
+		this.collection = collection;
+		this.keys = Arrays.asList(keys);
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertionOrUpdate add(@Nonnull Map<String, ?> row) {
+		if (!row.keySet().containsAll(keys))
+			throw new IllegalArgumentException("Row " + row.keySet() + " does not set all key fields " + keys);
+
+		Document filter = new Document();
+		Document values = new Document();
+		for (Entry<String, ?> entry : row.entrySet()) {
+			Object value = MongoUtils.packObject(entry.getValue());
+			if (keys.contains(entry.getKey())) filter.put(entry.getKey(), value);
+			else values.put(entry.getKey(), value);
+		}
+
+		// an empty $set is rejected, the keys are set on insert by the filter anyway
+		Document update = values.isEmpty() ? new Document("$setOnInsert", filter) : new Document("$set", values);
+		models.add(new UpdateOneModel<>(filter, update, UPSERT));
+		return this;
+	}
+
+	@Override
+	public int size() {
+		return models.size();
+	}
+
+	@Override
+	public Void execute() throws DatabaseException {
+		return database.instrument(collection, DatabaseOperation.BULK_INSERT_OR_UPDATE, result -> models.size(), () -> {
+			if (models.isEmpty()) return null;
+			try {
+				database.getCollection(collection).bulkWrite(models, new BulkWriteOptions().ordered(false));
+				return null;
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+		});
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		MongoDBBulkInsertionOrUpdate that = (MongoDBBulkInsertionOrUpdate) o;
+		return database.equals(that.database) && collection.equals(that.collection) && keys.equals(that.keys) && models.equals(that.models);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(database, collection, keys, models);
+	}
+
+}
@@ -1,11 +1,15 @@
 package net.anweisen.utilities.database.internal.mongodb.insertorupdate;
 
+import com.mongodb.client.model.UpdateOptions;
 import net.anweisen.utilities.common.misc.BsonUtils;
 import net.anweisen.utilities.database.action.DatabaseInsertion;
 import net.anweisen.utilities.database.action.DatabaseInsertionOrUpdate;
 import net.anweisen.utilities.database.action.DatabaseUpdate;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
+import net.anweisen.utilities.database.internal.mongodb.insertion.MongoDBInsertion;
+import net.anweisen.utilities.database.internal.mongodb.query.MongoDBQuery;
 import net.anweisen.utilities.database.internal.mongodb.update.MongoDBUpdate;
 import net.anweisen.utilities.database.internal.mongodb.where.MongoDBWhere;
 import org.bson.BsonDocument;
@@ -16,6 +20,8 @@ import javax.annotation.Nullable;
 import java.util.Map.Entry;
 
 /**
+ * Updates the matching documents with an upsert, so the document is updated or inserted in a single round trip.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
@@ -69,18 +75,32 @@ public class MongoDBInsertionOrUpdate extends MongoDBUpdate implements DatabaseI
 
 	@Override
 	public Void execute() throws DatabaseException {
-		if (database.query(collection, where).execute().isSet()) {
-			return super.execute();
-		} else {
-			Document document = new Document(values);
-			for (Entry<String, MongoDBWhere> entry : where.entrySet()) {
-				BsonDocument bson = BsonUtils.convertBsonToBsonDocument(entry.getValue().toBson());
-				document.putAll(bson);
+		// the commands are executed without reporting them, so the operation is only reported once
+		return database.instrument(collection, DatabaseOperation.INSERT_OR_UPDATE, null, () -> {
+			if (!values.isEmpty()) {
+				// the server inserts a document built from the equality conditions of the filter if no document matches
+				try {
+					update(new UpdateOptions().upsert(true));
+					return null;
+				} catch (Exception ex) {
+					throw new DatabaseException(ex);
+				}
 			}
 
-			database.insert(collection, document).execute();
-			return null;
-		}
+			// an empty update is rejected by the server
+			if (new MongoDBQuery(database, collection, where).executeQuery().isSet()) {
+				return null;
+			} else {
+				Document document = new Document(values);
+				for (Entry<String, MongoDBWhere> entry : where.entrySet()) {
+					BsonDocument bson = BsonUtils.convertBsonToBsonDocument(entry.getValue().toBson());
+					document.putAll(bson);
+				}
+
+				new MongoDBInsertion(database, collection, document).executeInsertion();
+				return null;
+			}
+		});
 	}
 
 	@Override
@@ -0,0 +1,149 @@
+package net.anweisen.utilities.database.internal.mongodb.invalidation;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import net.anweisen.utilities.database.access.invalidation.AbstractInvalidationChannel;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
+import org.bson.BsonDocument;
+import org.bson.Document;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes invalidations as documents of a collection and receives them from a change stream of the collection,
+ * so they are delivered as soon as they were written. Change streams require a replica set or sharded cluster.
+ *
+ * The documents are removed by a ttl index after the retention time.
+ * If the change stream fails, it is resumed after the last received invalidation.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class MongoDBInvalidationChannel extends AbstractInvalidationChannel {
+
+	public static final String DEFAULT_COLLECTION = "cache_invalidations";
+
+	protected static final long RETRY_DELAY_MILLIS = 1000;
+
+	protected final MongoDBDatabase database;
+	protected final String collection;
+	protected final long retentionSeconds;
+
+	protected volatile boolean closed;
+	protected volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+	protected BsonDocument resumeToken;
+	protected Thread watcher;
+
+	public MongoDBInvalidationChannel(@Nonnull MongoDBDatabase database) {
+		this(database, DEFAULT_COLLECTION, 60);
+	}
+
+	/**
+	 * @param retentionSeconds the time after which published invalidations are removed from the collection
+	 */
+	public MongoDBInvalidationChannel(@Nonnull MongoDBDatabase database, @Nonnull String collection, @Nonnegative long retentionSeconds) {
+		this.database = database;
+		this.collection = collection;
+		this.retentionSeconds = retentionSeconds;
+	}
+
+	/**
+	 * Creates the ttl index and starts watching the collection, invalidations published before are not delivered
+	 */
+	public void start() throws DatabaseException {
+		try {
+			MongoCollection<Document> collection = database.getCollection(this.collection);
+			collection.createIndex(Indexes.ascending("created"), new IndexOptions().expireAfter(retentionSeconds, TimeUnit.SECONDS));
+			cursor = openCursor();
+		} catch (Exception ex) {
+			throw new DatabaseException(ex);
+		}
+
+		watcher = new Thread(this::watch, "MongoDBInvalidationChannel-" + collection);
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	@Nonnull
+	protected MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor() {
+		ChangeStreamIterable<Document> stream = database.getCollection(collection)
+				.watch(Collections.singletonList(Aggregates.match(Filters.eq("operationType", "insert"))))
+				.fullDocument(FullDocument.DEFAULT);
+		if (resumeToken != null) stream.resumeAfter(resumeToken);
+		return stream.cursor();
+	}
+
+	protected void watch() {
+		while (!closed) {
+			try {
+				MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = this.cursor;
+				if (cursor == null) this.cursor = cursor = openCursor();
+
+				ChangeStreamDocument<Document> change = cursor.next();
+				resumeToken = change.getResumeToken();
+
+				Document document = change.getFullDocument();
+				if (document == null) continue;
+				String namespace = document.getString("namespace");
+				String origin = document.getString("origin");
+				if (namespace == null || origin == null) continue;
+				dispatch(namespace, document.getString("entry"), origin);
+			} catch (MongoException | IllegalStateException ex) {
+				if (closed) return;
+				logger.warn("Change stream of {} failed, resuming in {}ms", collection, RETRY_DELAY_MILLIS, ex);
+				closeCursor();
+				try {
+					Thread.sleep(RETRY_DELAY_MILLIS);
+				} catch (InterruptedException interrupted) {
+					return;
+				}
+			}
+		}
+	}
+
+	@Override
+	public void publish(@Nonnull String namespace, @Nullable String key, @Nonnull String origin) throws DatabaseException {
+		try {
+			database.getCollection(collection).insertOne(new Document()
+					.append("namespace", namespace)
+					.append("entry", key)
+					.append("origin", origin)
+					.append("created", new Date()));
+		} catch (Exception ex) {
+			throw new DatabaseException(ex);
+		}
+	}
+
+	protected void closeCursor() {
+		MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = this.cursor;
+		this.cursor = null;
+		if (cursor == null) return;
+		try {
+			cursor.close();
+		} catch (Exception ignored) {
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		closeCursor();
+		if (watcher != null) watcher.interrupt();
+		listeners.clear();
+	}
+
+}
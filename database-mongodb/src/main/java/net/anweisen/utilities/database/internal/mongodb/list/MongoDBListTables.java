@@ -2,6 +2,7 @@ package net.anweisen.utilities.database.internal.mongodb.list;
 
 import net.anweisen.utilities.database.action.DatabaseListTables;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
 
 import javax.annotation.Nonnull;
@@ -23,11 +24,13 @@ public class MongoDBListTables implements DatabaseListTables {
 	@Nonnull
 	@Override
 	public List<String> execute() throws DatabaseException {
-		try {
-			return database.getDatabase().listCollectionNames().into(new ArrayList<>());
-		} catch (Exception ex) {
-			throw new DatabaseException(ex);
-		}
+		return database.instrument(null, DatabaseOperation.LIST_TABLES, List::size, () -> {
+			try {
+				return database.getDatabase().listCollectionNames().into(new ArrayList<>());
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+		});
 	}
 
 }
@@ -0,0 +1,50 @@
+package net.anweisen.utilities.database.internal.mongodb.query;
+
+import net.anweisen.utilities.database.action.CompiledQuery;
+import net.anweisen.utilities.database.action.ExecutedQuery;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.internal.mongodb.where.MongoDBWhere;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Mongo has no statements to prepare, a compiled query only reuses the where clauses and replaces their values.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class CompiledMongoDBQuery implements CompiledQuery {
+
+	protected final MongoDBQuery template;
+	protected final List<Entry<String, MongoDBWhere>> where;
+
+	public CompiledMongoDBQuery(@Nonnull MongoDBQuery template, @Nonnull Map<String, MongoDBWhere> where) {
+		this.template = template;
+		this.where = new ArrayList<>(where.entrySet());
+	}
+
+	@Override
+	public int getParameterCount() {
+		return where.size();
+	}
+
+	@Nonnull
+	@Override
+	public ExecutedQuery execute(@Nonnull Object... values) throws DatabaseException {
+		if (values.length != where.size())
+			throw new IllegalArgumentException("Query requires " + where.size() + " values, got " + values.length);
+
+		Map<String, MongoDBWhere> bound = new LinkedHashMap<>();
+		for (int i = 0; i < values.length; i++) {
+			Entry<String, MongoDBWhere> entry = where.get(i);
+			bound.put(entry.getKey(), entry.getValue().withValue(values[i]));
+		}
+		return template.execute(bound);
+	}
+
+}
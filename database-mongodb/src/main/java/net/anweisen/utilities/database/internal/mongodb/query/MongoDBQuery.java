@@ -1,22 +1,31 @@
 package net.anweisen.utilities.database.internal.mongodb.query;
 
 import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import net.anweisen.utilities.common.config.Document;
 import net.anweisen.utilities.common.misc.MongoUtils;
 import net.anweisen.utilities.database.Order;
+import net.anweisen.utilities.database.action.CompiledQuery;
 import net.anweisen.utilities.database.action.DatabaseQuery;
 import net.anweisen.utilities.database.action.ExecutedQuery;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.abstraction.DefaultExecutedQuery;
 import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
 import net.anweisen.utilities.database.internal.mongodb.where.MongoDBWhere;
 import net.anweisen.utilities.database.internal.mongodb.where.ObjectWhere;
 import net.anweisen.utilities.database.internal.mongodb.where.StringIgnoreCaseWhere;
-import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -29,11 +38,16 @@ public class MongoDBQuery implements DatabaseQuery {
 	protected final Map<String, MongoDBWhere> where;
 	protected Order order;
 	protected String orderBy;
+	protected int limit = -1;
+	protected int offset;
+	protected String seekField;
+	protected Object seekValue;
+	protected String[] selection;
 
 	public MongoDBQuery(@Nonnull MongoDBDatabase database, @Nonnull String collection) {
 		this.database = database;
 		this.collection = collection;
-		this.where = new HashMap<>();
+		this.where = new LinkedHashMap<>();
 	}
 
 	public MongoDBQuery(@Nonnull MongoDBDatabase database, @Nonnull String collection, @Nonnull Map<String, MongoDBWhere> where) {
@@ -77,6 +91,17 @@ public class MongoDBQuery implements DatabaseQuery {
 		return this;
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseQuery whereIn(@Nonnull String field, @Nonnull Collection<?> values) {
+		List<Object> packed = new ArrayList<>(values.size());
+		for (Object value : values) {
+			packed.add(MongoUtils.packObject(value));
+		}
+		where.put(field, new ObjectWhere(field, packed, (name, list) -> Filters.in(name, (List<?>) list)));
+		return this;
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseQuery orderBy(@Nonnull String column, @Nonnull Order order) {
@@ -85,21 +110,66 @@ public class MongoDBQuery implements DatabaseQuery {
 		return this;
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseQuery limit(int limit) {
+		if (limit < 0) throw new IllegalArgumentException("Limit cannot be negative");
+		this.limit = limit;
+		return this;
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseQuery offset(int offset) {
+		if (offset < 0) throw new IllegalArgumentException("Offset cannot be negative");
+		this.offset = offset;
+		return this;
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseQuery seekAfter(@Nonnull String field, @Nonnull Object value) {
+		this.seekField = field;
+		this.seekValue = MongoUtils.packObject(value);
+		return this;
+	}
+
+	/**
+	 * Only the selected fields are transferred, {@code _id} is always included
+	 */
 	@Nonnull
 	@Override
 	public DatabaseQuery select(@Nonnull String... selection) {
+		if (selection.length == 0) throw new IllegalArgumentException("Cannot select noting");
+		this.selection = Arrays.asList(selection).contains("*") ? null : selection;
 		return this;
 	}
 
 	@Nonnull
 	@Override
 	public ExecutedQuery execute() throws DatabaseException {
-		try {
-			FindIterable<Document> iterable = database.getCollection(collection).find();
-			MongoUtils.applyWhere(iterable, where);
-			MongoUtils.applyOrder(iterable, orderBy, order);
+		return execute(where);
+	}
 
-			List<Document> documents = iterable.into(new ArrayList<>());
+	@Nonnull
+	protected ExecutedQuery execute(@Nonnull Map<String, MongoDBWhere> where) throws DatabaseException {
+		return database.instrument(collection, DatabaseOperation.QUERY, ExecutedQuery::size, MongoDBQuery::sizeOf, () -> executeQuery(where));
+	}
+
+	/**
+	 * Executes the query without reporting it, used by actions which report themselves
+	 */
+	@Nonnull
+	public ExecutedQuery executeQuery() throws DatabaseException {
+		return executeQuery(where);
+	}
+
+	@Nonnull
+	protected ExecutedQuery executeQuery(@Nonnull Map<String, MongoDBWhere> where) throws DatabaseException {
+		// a limit of 0 means no limit for mongo
+		if (limit == 0) return new DefaultExecutedQuery(Collections.emptyList());
+		try {
+			List<RawBsonDocument> documents = find(where).into(new ArrayList<>());
 			return createExecutedQuery(documents);
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
@@ -107,26 +177,95 @@ public class MongoDBQuery implements DatabaseQuery {
 	}
 
 	@Nonnull
-	private ExecutedQuery createExecutedQuery(@Nonnull List<Document> documents) {
-		List<net.anweisen.utilities.common.config.Document> results = new ArrayList<>(documents.size());
-		for (Document document : documents) {
+	@Override
+	public Stream<Document> stream(int batchSize) throws DatabaseException {
+		return database.instrument(collection, DatabaseOperation.STREAM, null, () -> {
+			if (limit == 0) return Stream.empty();
+			try {
+				MongoCursor<RawBsonDocument> cursor = find(where).batchSize(batchSize).cursor();
+				return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+						.onClose(cursor::close)
+						.map(MongoDBResult::new);
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+		});
+	}
+
+	/**
+	 * The documents are not decoded, {@link MongoDBResult results} only decode the fields which are read
+	 */
+	@Nonnull
+	protected FindIterable<RawBsonDocument> find(@Nonnull Map<String, MongoDBWhere> where) {
+		FindIterable<RawBsonDocument> iterable = database.getCollection(collection).withDocumentClass(RawBsonDocument.class).find();
+
+		Bson seek = null;
+		if (seekField != null)
+			seek = order == Order.HIGHEST ? Filters.lt(seekField, seekValue) : Filters.gt(seekField, seekValue);
+		MongoUtils.applyWhere(iterable, where, seek);
+
+		if (orderBy != null) {
+			MongoUtils.applyOrder(iterable, orderBy, order);
+		} else if (seekField != null) {
+			iterable.sort(Sorts.ascending(seekField));
+		}
+
+		if (offset > 0) iterable.skip(offset);
+		if (limit > 0) iterable.limit(limit);
+		if (selection != null) iterable.projection(Projections.include(selection));
+		return iterable;
+	}
+
+	@Nonnull
+	@Override
+	public CompiledQuery compile() {
+		MongoDBQuery template = new MongoDBQuery(database, collection, new LinkedHashMap<>(where));
+		template.order = order;
+		template.orderBy = orderBy;
+		template.limit = limit;
+		template.offset = offset;
+		template.seekField = seekField;
+		template.seekValue = seekValue;
+		template.selection = selection;
+		return new CompiledMongoDBQuery(template, template.where);
+	}
+
+	@Nonnull
+	protected static ExecutedQuery createExecutedQuery(@Nonnull List<RawBsonDocument> documents) {
+		List<Document> results = new ArrayList<>(documents.size());
+		for (RawBsonDocument document : documents) {
 			results.add(new MongoDBResult(document));
 		}
 
 		return new DefaultExecutedQuery(results);
 	}
 
+	/**
+	 * @return the bytes of all documents of the query, as received from the server
+	 */
+	protected static long sizeOf(@Nonnull ExecutedQuery query) {
+		long bytes = 0;
+		for (Document document : query) {
+			if (document instanceof MongoDBResult)
+				bytes += ((MongoDBResult) document).getByteSize();
+		}
+		return bytes;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
 		if (o == null || getClass() != o.getClass()) return false;
 		MongoDBQuery that = (MongoDBQuery) o;
-		return database.equals(that.database) && collection.equals(that.collection) && where.equals(that.where) && order == that.order && Objects.equals(orderBy, that.orderBy);
+		return database.equals(that.database) && collection.equals(that.collection) && where.equals(that.where) && order == that.order && Objects.equals(orderBy, that.orderBy)
+			&& limit == that.limit && offset == that.offset && Objects.equals(seekField, that.seekField) && Objects.equals(seekValue, that.seekValue) && Arrays.equals(selection, that.selection);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(database, collection, where, order, orderBy);
+		int result = Objects.hash(database, collection, where, order, orderBy, limit, offset, seekField, seekValue);
+		result = 31 * result + Arrays.hashCode(selection);
+		return result;
 	}
 
 }
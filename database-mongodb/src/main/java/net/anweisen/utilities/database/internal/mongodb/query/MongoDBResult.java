@@ -1,22 +1,38 @@
 package net.anweisen.utilities.database.internal.mongodb.query;
 
-import net.anweisen.utilities.common.config.document.BsonDocument;
+import net.anweisen.utilities.common.annotations.ReplaceWith;
+import net.anweisen.utilities.common.config.document.LazyBsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
 
 import javax.annotation.Nonnull;
 
 /**
+ * Results keep the bytes received from the server, fields are only decoded when they are read.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
-public final class MongoDBResult extends BsonDocument {
+public final class MongoDBResult extends LazyBsonDocument {
 
-	public MongoDBResult(@Nonnull org.bson.Document bsonDocument) {
+	public MongoDBResult(@Nonnull RawBsonDocument bsonDocument) {
 		super(bsonDocument);
 	}
 
-	@Override
-	public boolean isReadonly() {
-		return true;
+	/**
+	 * @deprecated results are received as {@link RawBsonDocument}, this encodes the document again
+	 */
+	@Deprecated
+	@ReplaceWith("MongoDBResult(RawBsonDocument)")
+	public MongoDBResult(@Nonnull org.bson.Document bsonDocument) {
+		this(new RawBsonDocument(bsonDocument, new DocumentCodec()));
+	}
+
+	/**
+	 * @return the size of the encoded document in bytes, as received from the server
+	 */
+	public int getByteSize() {
+		return bsonDocument.getByteBuffer().remaining();
 	}
 
 }
@@ -9,6 +9,7 @@ import net.anweisen.utilities.common.misc.BsonUtils;
 import net.anweisen.utilities.common.misc.MongoUtils;
 import net.anweisen.utilities.database.action.DatabaseUpdate;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.mongodb.MongoDBDatabase;
 import net.anweisen.utilities.database.internal.mongodb.where.MongoDBWhere;
 import net.anweisen.utilities.database.internal.mongodb.where.ObjectWhere;
@@ -93,35 +94,39 @@ public class MongoDBUpdate implements DatabaseUpdate {
 
 	@Override
 	public Void execute() throws DatabaseException {
-		try {
-			MongoCollection<Document> collection = database.getCollection(this.collection);
+		return database.instrument(collection, DatabaseOperation.UPDATE, null, () -> {
+			try {
+				update(new UpdateOptions());
+				return null;
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+		});
+	}
 
-			Document filter = new Document();
-			UpdateOptions options = new UpdateOptions();
+	protected void update(@Nonnull UpdateOptions options) {
+		MongoCollection<Document> collection = database.getCollection(this.collection);
 
-			for (MongoDBWhere where : where.values()) {
-				Bson whereBson = where.toBson();
-				BsonDocument asBsonDocument = BsonUtils.convertBsonToBsonDocument(whereBson);
-				filter.putAll(asBsonDocument);
+		Document filter = new Document();
+		for (MongoDBWhere where : where.values()) {
+			Bson whereBson = where.toBson();
+			BsonDocument asBsonDocument = BsonUtils.convertBsonToBsonDocument(whereBson);
+			filter.putAll(asBsonDocument);
 
-				Collation collation = where.getCollation();
-				if (collation != null)
-					options.collation(collation);
-			}
+			Collation collation = where.getCollation();
+			if (collation != null)
+				options.collation(collation);
+		}
 
-			Document newDocument = new Document();
-			for (Entry<String, Object> entry : values.entrySet()) {
-				newDocument.put(entry.getKey(), MongoUtils.packObject(entry.getValue()));
-			}
+		Document newDocument = new Document();
+		for (Entry<String, Object> entry : values.entrySet()) {
+			newDocument.put(entry.getKey(), MongoUtils.packObject(entry.getValue()));
+		}
 
-			BasicDBObject update = new BasicDBObject();
-			update.put("$set", newDocument);
+		BasicDBObject update = new BasicDBObject();
+		update.put("$set", newDocument);
 
-			collection.updateMany(filter, update, options);
-			return null;
-		} catch (Exception ex) {
-			throw new DatabaseException(ex);
-		}
+		collection.updateMany(filter, update, options);
 	}
 
 	@Override
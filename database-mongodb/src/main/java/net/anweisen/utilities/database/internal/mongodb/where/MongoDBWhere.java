@@ -18,4 +18,10 @@ public interface MongoDBWhere {
 	@Nullable
 	Collation getCollation();
 
+	/**
+	 * @return a copy of this where with another value, used to bind new values to a compiled query
+	 */
+	@Nonnull
+	MongoDBWhere withValue(@Nullable Object value);
+
 }
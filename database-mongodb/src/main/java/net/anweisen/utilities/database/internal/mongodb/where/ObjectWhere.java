@@ -6,6 +6,9 @@ import org.bson.conversions.Bson;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.BiFunction;
 
@@ -37,6 +40,18 @@ public class ObjectWhere implements MongoDBWhere {
 		return null;
 	}
 
+	@Nonnull
+	@Override
+	public MongoDBWhere withValue(@Nullable Object value) {
+		if (!(value instanceof Collection)) return new ObjectWhere(field, value, creator);
+
+		List<Object> packed = new ArrayList<>(((Collection<?>) value).size());
+		for (Object element : (Collection<?>) value) {
+			packed.add(MongoUtils.packObject(element));
+		}
+		return new ObjectWhere(field, packed, creator);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
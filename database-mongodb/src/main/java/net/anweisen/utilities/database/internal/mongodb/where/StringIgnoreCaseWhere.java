@@ -35,6 +35,13 @@ public class StringIgnoreCaseWhere implements MongoDBWhere {
 		return Collation.builder().collationStrength(CollationStrength.SECONDARY).locale("en").build();
 	}
 
+	@Nonnull
+	@Override
+	public MongoDBWhere withValue(@Nullable Object value) {
+		if (value == null) throw new NullPointerException("Cannot use where ignore case with null value");
+		return new StringIgnoreCaseWhere(field, value.toString());
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
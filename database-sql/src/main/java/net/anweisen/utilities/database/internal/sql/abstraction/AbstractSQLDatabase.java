@@ -1,32 +1,57 @@
 package net.anweisen.utilities.database.internal.sql.abstraction;
 
+import net.anweisen.utilities.common.annotations.ReplaceWith;
 import net.anweisen.utilities.database.DatabaseConfig;
+import net.anweisen.utilities.database.DatabasePoolConfig;
 import net.anweisen.utilities.database.SQLColumn;
 import net.anweisen.utilities.database.action.*;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.abstraction.AbstractDatabase;
 import net.anweisen.utilities.database.internal.sql.abstraction.count.SQLCountEntries;
 import net.anweisen.utilities.database.internal.sql.abstraction.deletion.SQLDeletion;
+import net.anweisen.utilities.database.internal.sql.abstraction.insertion.SQLBulkInsertion;
 import net.anweisen.utilities.database.internal.sql.abstraction.insertion.SQLInsertion;
+import net.anweisen.utilities.database.internal.sql.abstraction.insertorupdate.SQLBulkInsertionOrUpdate;
 import net.anweisen.utilities.database.internal.sql.abstraction.insertorupdate.SQLInsertionOrUpdate;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.ConnectionPoolMetrics;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.SQLConnectionPool;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.SQLConnectionPool.ConnectionFactory;
 import net.anweisen.utilities.database.internal.sql.abstraction.query.SQLQuery;
 import net.anweisen.utilities.database.internal.sql.abstraction.update.SQLUpdate;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.SQLWhere;
 
 import javax.annotation.Nonnull;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.util.Map;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Connections are taken from a {@link SQLConnectionPool} configured by {@link DatabaseConfig#getPool()},
+ * so actions executed in parallel use different connections instead of queueing behind a single one.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 2.0
  */
 public abstract class AbstractSQLDatabase extends AbstractDatabase {
 
-	protected Connection connection;
+	/**
+	 * The pool used for reading
+	 */
+	protected SQLConnectionPool pool;
+
+	/**
+	 * The pool used for writing, the same as {@link #pool} unless the database only allows a single writer
+	 */
+	protected SQLConnectionPool writePool;
+
+	/**
+	 * The column sets of the primary key and unique indices by lower case table name
+	 */
+	protected final Map<String, Collection<Set<String>>> uniqueKeys = new ConcurrentHashMap<>();
+
+	private Connection sharedConnection;
 
 	public AbstractSQLDatabase(@Nonnull DatabaseConfig config) {
 		super(config);
@@ -34,51 +59,127 @@ public abstract class AbstractSQLDatabase extends AbstractDatabase {
 
 	@Override
 	public void disconnect0() throws Exception {
-		connection.close();
-		connection = null;
+		pool.close();
+		writePool.close();
+		pool = null;
+		writePool = null;
+
+		synchronized (this) {
+			if (sharedConnection != null) sharedConnection.close();
+			sharedConnection = null;
+		}
 	}
 
 	@Override
 	public void connect0() throws Exception {
-		connection = DriverManager.getConnection(createUrl(), config.getUser(), config.getPassword());
+		pool = writePool = createPool(getClass().getSimpleName(), config.getPool(), this::createConnection);
+	}
+
+	@Nonnull
+	protected SQLConnectionPool createPool(@Nonnull String name, @Nonnull DatabasePoolConfig poolConfig, @Nonnull ConnectionFactory factory) throws SQLException {
+		SQLConnectionPool pool = new SQLConnectionPool(name, poolConfig, factory);
+		pool.start();
+		return pool;
+	}
+
+	@Nonnull
+	protected Connection createConnection() throws SQLException {
+		return DriverManager.getConnection(createUrl(), config.getUser(), config.getPassword());
+	}
+
+	/**
+	 * Opens a connection set up like the connections of the pools, databases which configure their connections override this
+	 *
+	 * @param readOnly whether the connection is only used for reading
+	 */
+	@Nonnull
+	protected Connection createConnection(boolean readOnly) throws SQLException {
+		return createConnection();
 	}
 
 	protected abstract String createUrl();
 
 	@Override
 	public boolean isConnected() {
-		try {
-			if (connection == null) return false;
-			connection.isClosed();
-			return true;
-		} catch (SQLException ex) {
-			LOGGER.error("Could not check connection state: " + ex.getMessage());
-			return false;
-		}
+		SQLConnectionPool pool = this.pool;
+		return pool != null && !pool.isClosed();
+	}
+
+	/**
+	 * @return a connection which may be used for writing, has to be closed to return it to the pool
+	 */
+	@Nonnull
+	public PooledConnection borrowConnection() throws SQLException, DatabaseException {
+		checkConnection();
+		return writePool.borrow();
+	}
+
+	/**
+	 * @return a connection which only has to support reading, has to be closed to return it to the pool
+	 */
+	@Nonnull
+	public PooledConnection borrowReadConnection() throws SQLException, DatabaseException {
+		checkConnection();
+		return pool.borrow();
+	}
+
+	/**
+	 * @return the metrics of the read and write pool, or an empty collection if this database is not connected
+	 */
+	@Nonnull
+	public Collection<ConnectionPoolMetrics> getPoolMetrics() {
+		SQLConnectionPool pool = this.pool, writePool = this.writePool;
+		if (pool == null || writePool == null) return Collections.emptyList();
+		if (pool == writePool) return Collections.singletonList(pool.getMetrics());
+		return Arrays.asList(pool.getMetrics(), writePool.getMetrics());
 	}
 
 	@Override
 	public void createTable(@Nonnull String name, @Nonnull SQLColumn... columns) throws DatabaseException {
-		try {
-			StringBuilder command = new StringBuilder();
-			command.append("CREATE TABLE IF NOT EXISTS `");
-			command.append(name);
-			command.append("` (");
-			{
-				int index = 0;
-				for (SQLColumn column : columns) {
-					if (index > 0) command.append(", ");
-					command.append(column);
-					index++;
+		instrument(name, DatabaseOperation.CREATE_TABLE, null, () -> {
+			try {
+				StringBuilder command = new StringBuilder();
+				command.append("CREATE TABLE IF NOT EXISTS `");
+				command.append(name);
+				command.append("` (");
+				{
+					int index = 0;
+					for (SQLColumn column : columns) {
+						if (index > 0) command.append(", ");
+						command.append(column);
+						index++;
+					}
 				}
+				command.append(")");
+
+				try (PooledConnection connection = borrowConnection(); PreparedStatement statement = connection.prepare(command)) {
+					statement.execute();
+				}
+				uniqueKeys.remove(name.toLowerCase(Locale.ROOT));
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
 			}
-			command.append(")");
+			return null;
+		});
+	}
 
-			PreparedStatement statement = prepare(command.toString());
-			statement.execute();
-		} catch (Exception ex) {
-			throw new DatabaseException(ex);
-		}
+	@Override
+	public void createIndex(@Nonnull String table, @Nonnull String... columns) throws DatabaseException {
+		instrument(table, DatabaseOperation.CREATE_INDEX, null, () -> {
+			try {
+				StringBuilder command = new StringBuilder();
+				appendCreateIndex(command, table + "_" + String.join("_", columns), table, columns);
+
+				try (PooledConnection connection = borrowConnection(); PreparedStatement statement = connection.prepare(command)) {
+					statement.execute();
+				} catch (SQLException ex) {
+					if (!isDuplicateIndex(ex)) throw ex;
+				}
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+			return null;
+		});
 	}
 
 	@Nonnull
@@ -121,18 +222,142 @@ public abstract class AbstractSQLDatabase extends AbstractDatabase {
 		return new SQLInsertionOrUpdate(this, table);
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertion insertMany(@Nonnull String table) {
+		return new SQLBulkInsertion(this, table);
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertionOrUpdate upsertMany(@Nonnull String table, @Nonnull String... keys) {
+		return new SQLBulkInsertionOrUpdate(this, table, keys);
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseDeletion delete(@Nonnull String table) {
 		return new SQLDeletion(this, table);
 	}
 
+	/**
+	 * The keys are read from the metadata of the database once and cached afterwards.
+	 *
+	 * @return the lower case column sets of the primary key and the unique indices of the table,
+	 *         or an empty collection if the table has none or they could not be read
+	 */
+	@Nonnull
+	public Collection<Set<String>> getUniqueKeys(@Nonnull String table) {
+		String name = table.toLowerCase(Locale.ROOT);
+		Collection<Set<String>> keys = uniqueKeys.get(name);
+		if (keys != null) return keys;
+
+		try {
+			keys = loadUniqueKeys(table);
+		} catch (Exception ex) {
+			LOGGER.debug("Could not read unique keys of table {}", table, ex);
+			return Collections.emptyList();
+		}
+		uniqueKeys.put(name, keys);
+		return keys;
+	}
+
+	@Nonnull
+	protected Collection<Set<String>> loadUniqueKeys(@Nonnull String table) throws SQLException, DatabaseException {
+		Collection<Set<String>> keys = new ArrayList<>();
+		try (PooledConnection connection = borrowReadConnection()) {
+			DatabaseMetaData meta = connection.getConnection().getMetaData();
+
+			Set<String> primaryKey = new HashSet<>();
+			try (ResultSet result = meta.getPrimaryKeys(null, null, table)) {
+				while (result.next()) {
+					primaryKey.add(result.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+				}
+			}
+			if (!primaryKey.isEmpty()) keys.add(primaryKey);
+
+			Map<String, Set<String>> indices = new HashMap<>();
+			try (ResultSet result = meta.getIndexInfo(null, null, table, true, true)) {
+				while (result.next()) {
+					String index = result.getString("INDEX_NAME");
+					String column = result.getString("COLUMN_NAME");
+					if (index == null || column == null || result.getBoolean("NON_UNIQUE")) continue;
+					indices.computeIfAbsent(index, key -> new HashSet<>()).add(column.toLowerCase(Locale.ROOT));
+				}
+			}
+			for (Set<String> index : indices.values()) {
+				if (!keys.contains(index)) keys.add(index);
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * @return the maximum amount of parameters a single statement may have
+	 */
+	public int getMaxStatementParameters() {
+		return 999;
+	}
+
+	/**
+	 * Appends the clause which makes an insert statement update the existing row when a row with the same keys already exists.
+	 * Uses the {@code ON CONFLICT} clause of SQLite and PostgreSQL by default.
+	 *
+	 * @param keys the fields of the unique index identifying a row
+	 * @param columns the fields set by the insert statement
+	 */
+	public void appendUpsertClause(@Nonnull StringBuilder command, @Nonnull List<String> keys, @Nonnull List<String> columns) {
+		command.append(" ON CONFLICT (");
+		command.append(String.join(", ", keys));
+		command.append(") DO ");
+
+		int index = 0;
+		for (String column : columns) {
+			if (keys.contains(column)) continue;
+			command.append(index > 0 ? ", " : "UPDATE SET ");
+			command.append(column).append(" = excluded.").append(column);
+			index++;
+		}
+		if (index == 0) command.append("NOTHING");
+	}
+
+	/**
+	 * Appends the statement creating the index unless it already exists.
+	 * Uses {@code CREATE INDEX IF NOT EXISTS} of SQLite and PostgreSQL by default.
+	 */
+	public void appendCreateIndex(@Nonnull StringBuilder command, @Nonnull String name, @Nonnull String table, @Nonnull String... columns) {
+		command.append("CREATE INDEX IF NOT EXISTS `").append(name).append("` ON `").append(table).append("` (");
+		command.append(String.join(", ", columns));
+		command.append(")");
+	}
+
+	/**
+	 * @return whether the exception was thrown because the index to create already exists
+	 */
+	public boolean isDuplicateIndex(@Nonnull SQLException ex) {
+		return false;
+	}
+
+	/**
+	 * Prepares the statement on a single connection shared by all callers of this method, which is opened besides the pool.
+	 * It is set up like a writing connection of the pool, but still writes besides the pool, on SQLite it waits for the writer of the pool.
+	 * Use a {@link #borrowConnection() borrowed connection} to execute statements in parallel.
+	 */
 	@Nonnull
+	@Deprecated
+	@ReplaceWith("borrowConnection().prepare(command, args)")
 	public PreparedStatement prepare(@Nonnull CharSequence command, @Nonnull Object... args) throws SQLException, DatabaseException {
 		checkConnection();
-		PreparedStatement statement = connection.prepareStatement(command.toString());
+		PreparedStatement statement = getSharedConnection().prepareStatement(command.toString());
 		SQLHelper.fillParams(statement, args);
 		return statement;
 	}
 
-}
\ No newline at end of file
+	@Nonnull
+	private synchronized Connection getSharedConnection() throws SQLException {
+		if (sharedConnection == null || sharedConnection.isClosed())
+			sharedConnection = createConnection(false);
+		return sharedConnection;
+	}
+
+}
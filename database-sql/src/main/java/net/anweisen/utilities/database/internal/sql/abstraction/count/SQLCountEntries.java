@@ -2,10 +2,11 @@ package net.anweisen.utilities.database.internal.sql.abstraction.count;
 
 import net.anweisen.utilities.database.action.DatabaseCountEntries;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
 
 import javax.annotation.Nonnull;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.Objects;
 
@@ -26,21 +27,14 @@ public class SQLCountEntries implements DatabaseCountEntries {
 	@Nonnull
 	@Override
 	public Long execute() throws DatabaseException {
-		try {
-			PreparedStatement statement = database.prepare("SELECT COUNT(*) FROM `" + table + "`");
-			ResultSet result = statement.executeQuery();
-
-			if (!result.next()) {
-				result.close();
-				return 0L;
+		return database.instrument(table, DatabaseOperation.COUNT, null, () -> {
+			try (PooledConnection connection = database.borrowReadConnection();
+			     ResultSet result = connection.prepareCached("SELECT COUNT(*) FROM `" + table + "`").executeQuery()) {
+				return result.next() ? result.getLong(1) : 0L;
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
 			}
-
-			long count = result.getLong(1);
-			result.close();
-			return count;
-		} catch (Exception ex) {
-			throw new DatabaseException(ex);
-		}
+		});
 	}
 
 	@Override
@@ -2,7 +2,9 @@ package net.anweisen.utilities.database.internal.sql.abstraction.deletion;
 
 import net.anweisen.utilities.database.action.DatabaseDeletion;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.ObjectWhere;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.SQLWhere;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.StringIgnoreCaseWhere;
@@ -65,7 +67,7 @@ public class SQLDeletion implements DatabaseDeletion {
 	}
 
 	@Nonnull
-	protected PreparedStatement prepare() throws SQLException, DatabaseException {
+	protected PreparedStatement prepare(@Nonnull PooledConnection connection) throws SQLException {
 		StringBuilder command = new StringBuilder();
 		List<Object> args = new ArrayList<>();
 
@@ -84,18 +86,19 @@ public class SQLDeletion implements DatabaseDeletion {
 			}
 		}
 
-		return database.prepare(command.toString(),args.toArray());
+		return connection.prepareCached(command, args.toArray());
 	}
 
 	@Override
 	public Void execute() throws DatabaseException {
-		try {
-			PreparedStatement statement = prepare();
-			statement.execute();
-			return null;
-		} catch (Exception ex) {
-			throw new DatabaseException(ex);
-		}
+		return database.instrument(table, DatabaseOperation.DELETE, null, () -> {
+			try (PooledConnection connection = database.borrowConnection()) {
+				prepare(connection).execute();
+				return null;
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+		});
 	}
 
 	@Override
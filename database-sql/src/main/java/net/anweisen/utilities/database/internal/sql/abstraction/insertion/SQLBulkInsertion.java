@@ -0,0 +1,167 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.insertion;
+
+import net.anweisen.utilities.database.action.DatabaseBulkInsertion;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
+import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.SQLHelper;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
+
+import javax.annotation.Nonnull;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Rows setting the same fields are written with multi row {@code INSERT} statements,
+ * which are as large as the {@link AbstractSQLDatabase#getMaxStatementParameters() parameter limit} of the database allows
+ * and sent as a jdbc batch. All rows are written in a single transaction.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class SQLBulkInsertion implements DatabaseBulkInsertion {
+
+	protected static final int MAX_ROWS_PER_STATEMENT = 500;
+	protected static final int MAX_STATEMENTS_PER_BATCH = 20;
+
+	protected final AbstractSQLDatabase database;
+	protected final String table;
+	protected final List<Map<String, ?>> rows = new ArrayList<>();
+
+	public SQLBulkInsertion(@Nonnull AbstractSQLDatabase database, @Nonnull String table) {
+		this.database = database;
+		this.table = table;
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertion add(@Nonnull Map<String, ?> row) {
+		if (row.isEmpty()) throw new IllegalArgumentException("Cannot insert an empty row");
+		rows.add(row);
+		return this;
+	}
+
+	@Override
+	public int size() {
+		return rows.size();
+	}
+
+	@Override
+	public Void execute() throws DatabaseException {
+		return database.instrument(table, getOperation(), result -> rows.size(), () -> {
+			if (rows.isEmpty()) return null;
+
+			// rows setting the same fields share their statements, the columns are taken in the order of the first row
+			Map<Set<String>, List<Map<String, ?>>> groups = new LinkedHashMap<>();
+			for (Map<String, ?> row : rows) {
+				groups.computeIfAbsent(row.keySet(), key -> new ArrayList<>()).add(row);
+			}
+
+			try (PooledConnection connection = database.borrowConnection()) {
+				Connection raw = connection.getConnection();
+				boolean autoCommit = raw.getAutoCommit();
+				raw.setAutoCommit(false);
+				try {
+					for (List<Map<String, ?>> group : groups.values()) {
+						write(connection, new ArrayList<>(group.get(0).keySet()), group);
+					}
+					raw.commit();
+				} catch (SQLException | RuntimeException ex) {
+					raw.rollback();
+					throw ex;
+				} finally {
+					raw.setAutoCommit(autoCommit);
+				}
+				return null;
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+		});
+	}
+
+	protected void write(@Nonnull PooledConnection connection, @Nonnull List<String> columns, @Nonnull List<Map<String, ?>> rows) throws SQLException {
+		int rowsPerStatement = Math.max(1, Math.min(MAX_ROWS_PER_STATEMENT, database.getMaxStatementParameters() / columns.size()));
+		int fullStatements = rows.size() / rowsPerStatement;
+
+		if (fullStatements > 0) {
+			PreparedStatement statement = connection.prepareCached(buildCommand(columns, rowsPerStatement));
+			statement.clearBatch(); // left over if a previous execution failed
+			for (int i = 0; i < fullStatements; i++) {
+				SQLHelper.fillParams(statement, collectArgs(columns, rows.subList(i * rowsPerStatement, (i + 1) * rowsPerStatement)));
+				statement.addBatch();
+				if ((i + 1) % MAX_STATEMENTS_PER_BATCH == 0)
+					statement.executeBatch();
+			}
+			if (fullStatements % MAX_STATEMENTS_PER_BATCH != 0)
+				statement.executeBatch();
+		}
+
+		// the remaining amount of rows differs between executions, do not let it take up space in the statement cache
+		List<Map<String, ?>> remaining = rows.subList(fullStatements * rowsPerStatement, rows.size());
+		if (remaining.isEmpty()) return;
+		try (PreparedStatement statement = connection.prepare(buildCommand(columns, remaining.size()), collectArgs(columns, remaining))) {
+			statement.executeUpdate();
+		}
+	}
+
+	@Nonnull
+	protected Object[] collectArgs(@Nonnull List<String> columns, @Nonnull List<Map<String, ?>> rows) {
+		Object[] args = new Object[columns.size() * rows.size()];
+		int index = 0;
+		for (Map<String, ?> row : rows) {
+			for (String column : columns) {
+				args[index++] = row.get(column);
+			}
+		}
+		return args;
+	}
+
+	@Nonnull
+	protected StringBuilder buildCommand(@Nonnull List<String> columns, int rowCount) {
+		StringBuilder command = new StringBuilder();
+		command.append("INSERT INTO ");
+		command.append(table);
+		command.append(" (");
+		command.append(String.join(", ", columns));
+		command.append(") VALUES ");
+
+		StringBuilder row = new StringBuilder("(");
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) row.append(", ");
+			row.append("?");
+		}
+		row.append(")");
+
+		for (int i = 0; i < rowCount; i++) {
+			if (i > 0) command.append(", ");
+			command.append(row);
+		}
+
+		appendConflictClause(command, columns);
+		return command;
+	}
+
+	protected void appendConflictClause(@Nonnull StringBuilder command, @Nonnull List<String> columns) {
+	}
+
+	@Nonnull
+	protected DatabaseOperation getOperation() {
+		return DatabaseOperation.BULK_INSERT;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		SQLBulkInsertion that = (SQLBulkInsertion) o;
+		return database.equals(that.database) && table.equals(that.table) && rows.equals(that.rows);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(database, table, rows);
+	}
+
+}
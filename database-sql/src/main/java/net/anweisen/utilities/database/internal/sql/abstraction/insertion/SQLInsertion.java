@@ -2,7 +2,9 @@ package net.anweisen.utilities.database.internal.sql.abstraction.insertion;
 
 import net.anweisen.utilities.database.action.DatabaseInsertion;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -40,7 +42,7 @@ public class SQLInsertion implements DatabaseInsertion {
 	}
 
 	@Nonnull
-	protected PreparedStatement prepare() throws SQLException, DatabaseException {
+	protected PreparedStatement prepare(@Nonnull PooledConnection connection) throws SQLException {
 		if (values.isEmpty()) throw new IllegalArgumentException("Cannot insert nothing");
 
 		StringBuilder command = new StringBuilder();
@@ -69,15 +71,23 @@ public class SQLInsertion implements DatabaseInsertion {
 		}
 		command.append(")");
 
-		return database.prepare(command.toString(), args.toArray());
+		return connection.prepareCached(command, args.toArray());
 	}
 
 	@Override
 	public Void execute() throws DatabaseException {
-		try {
-			PreparedStatement statement = prepare();
-			statement.execute();
+		return database.instrument(table, DatabaseOperation.INSERT, result -> 1, () -> {
+			executeInsertion();
 			return null;
+		});
+	}
+
+	/**
+	 * Executes the insertion without reporting it, used by actions which report themselves
+	 */
+	public void executeInsertion() throws DatabaseException {
+		try (PooledConnection connection = database.borrowConnection()) {
+			prepare(connection).execute();
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
 		}
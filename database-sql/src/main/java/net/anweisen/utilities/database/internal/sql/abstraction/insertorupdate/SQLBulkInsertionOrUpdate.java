@@ -0,0 +1,60 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.insertorupdate;
+
+import net.anweisen.utilities.database.action.DatabaseBulkInsertionOrUpdate;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
+import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.insertion.SQLBulkInsertion;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uses the {@link AbstractSQLDatabase#appendUpsertClause(StringBuilder, List, List) upsert clause} of the database,
+ * so existing rows are updated by the same statements which insert the new rows.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class SQLBulkInsertionOrUpdate extends SQLBulkInsertion implements DatabaseBulkInsertionOrUpdate {
+
+	protected final List<String> keys;
+
+	public SQLBulkInsertionOrUpdate(@Nonnull AbstractSQLDatabase database, @Nonnull String table, @Nonnull String... keys) {
+		super(database, table);
+		if (keys.length == 0) throw new IllegalArgumentException("At least one key field is required");
+		this.keys = Arrays.asList(keys);
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseBulkInsertionOrUpdate add(@Nonnull Map<String, ?> row) {
+		if (!row.keySet().containsAll(keys))
+			throw new IllegalArgumentException("Row " + row.keySet() + " does not set all key fields " + keys);
+		super.add(row);
+		return this;
+	}
+
+	@Override
+	protected void appendConflictClause(@Nonnull StringBuilder command, @Nonnull List<String> columns) {
+		database.appendUpsertClause(command, keys, columns);
+	}
+
+	@Nonnull
+	@Override
+	protected DatabaseOperation getOperation() {
+		return DatabaseOperation.BULK_INSERT_OR_UPDATE;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return super.equals(o) && keys.equals(((SQLBulkInsertionOrUpdate) o).keys);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + keys.hashCode();
+	}
+
+}
@@ -4,17 +4,26 @@ import net.anweisen.utilities.database.action.DatabaseInsertion;
 import net.anweisen.utilities.database.action.DatabaseInsertionOrUpdate;
 import net.anweisen.utilities.database.action.DatabaseUpdate;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.insertion.SQLInsertion;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
+import net.anweisen.utilities.database.internal.sql.abstraction.query.SQLQuery;
 import net.anweisen.utilities.database.internal.sql.abstraction.update.SQLUpdate;
+import net.anweisen.utilities.database.internal.sql.abstraction.where.ObjectWhere;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.SQLWhere;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.HashMap;
-import java.util.Map;
+import java.sql.SQLException;
+import java.util.*;
 import java.util.Map.Entry;
 
 /**
+ * If the where clauses compare the {@link AbstractSQLDatabase#getUniqueKeys(String) primary key or a unique index} of the table for equality,
+ * the row is inserted or updated by a single statement using the {@link AbstractSQLDatabase#appendUpsertClause(StringBuilder, List, List) upsert clause} of the database.
+ * Otherwise the matching rows are updated and the row is only inserted if nothing matched.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 2.0
  */
@@ -41,7 +50,7 @@ public class SQLInsertionOrUpdate extends SQLUpdate implements DatabaseInsertion
 	@Nonnull
 	@Override
 	public DatabaseInsertionOrUpdate where(@Nonnull String column, @Nullable String value, boolean ignoreCase) {
-		super.where(column, value);
+		super.where(column, value, ignoreCase);
 		return this;
 	}
 
@@ -68,9 +77,21 @@ public class SQLInsertionOrUpdate extends SQLUpdate implements DatabaseInsertion
 
 	@Override
 	public Void execute() throws DatabaseException {
-		if (database.query(table, where).execute().isSet()) {
-			return super.execute();
-		} else {
+		// the statements are executed without reporting them, so the operation is only reported once
+		return database.instrument(table, DatabaseOperation.INSERT_OR_UPDATE, null, () -> {
+			List<String> keys = findUniqueKey();
+			if (keys != null) {
+				upsert(keys);
+				return null;
+			}
+
+			if (!values.isEmpty()) {
+				// the update reports the matched rows, so the row only has to be inserted if nothing matched
+				if (executeUpdate() > 0) return null;
+			} else if (new SQLQuery(database, table, where).executeQuery().isSet()) {
+				return null;
+			}
+
 			Map<String, Object> insert = new HashMap<>(values);
 			for (Entry<String, SQLWhere> entry : where.entrySet()) {
 				Object[] args = entry.getValue().getArgs();
@@ -78,8 +99,61 @@ public class SQLInsertionOrUpdate extends SQLUpdate implements DatabaseInsertion
 				insert.put(entry.getKey(), args[0]);
 			}
 
-			database.insert(table, insert).execute();
+			new SQLInsertion(database, table, insert).executeInsertion();
 			return null;
+		});
+	}
+
+	/**
+	 * @return the where columns if they are compared for equality and are the primary key or a unique index of the table,
+	 *         {@code null} if the row has to be looked up before it is inserted
+	 */
+	@Nullable
+	protected List<String> findUniqueKey() {
+		if (where.isEmpty()) return null;
+
+		List<String> keys = new ArrayList<>(where.size());
+		Set<String> normalized = new HashSet<>();
+		for (SQLWhere current : where.values()) {
+			if (!(current instanceof ObjectWhere)) return null;
+			ObjectWhere objectWhere = (ObjectWhere) current;
+			if (!"=".equals(objectWhere.getComparator()) || values.containsKey(objectWhere.getColumn())) return null;
+			keys.add(objectWhere.getColumn());
+			normalized.add(objectWhere.getColumn().toLowerCase(Locale.ROOT));
+		}
+
+		return database.getUniqueKeys(table).contains(normalized) ? keys : null;
+	}
+
+	protected void upsert(@Nonnull List<String> keys) throws DatabaseException {
+		List<String> columns = new ArrayList<>(values.size() + keys.size());
+		List<Object> args = new ArrayList<>(values.size() + keys.size());
+		for (Entry<String, Object> entry : values.entrySet()) {
+			columns.add(entry.getKey());
+			args.add(entry.getValue());
+		}
+		for (String key : keys) {
+			columns.add(key);
+			args.add(where.get(key).getArgs()[0]);
+		}
+
+		StringBuilder command = new StringBuilder();
+		command.append("INSERT INTO ");
+		command.append(table);
+		command.append(" (");
+		command.append(String.join(", ", columns));
+		command.append(") VALUES (");
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) command.append(", ");
+			command.append("?");
+		}
+		command.append(")");
+		database.appendUpsertClause(command, keys, columns);
+
+		try (PooledConnection connection = database.borrowConnection()) {
+			connection.prepareCached(command, args.toArray()).executeUpdate();
+		} catch (SQLException ex) {
+			throw new DatabaseException(ex);
 		}
 	}
 
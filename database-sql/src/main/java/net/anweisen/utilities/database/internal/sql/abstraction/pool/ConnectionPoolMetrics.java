@@ -0,0 +1,124 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.pool;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the state of a {@link SQLConnectionPool}
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class ConnectionPoolMetrics {
+
+	private final String name;
+	private final int maxSize;
+	private final int totalConnections;
+	private final int idleConnections;
+	private final int activeConnections;
+	private final int pendingThreads;
+	private final long borrowCount;
+	private final long createdCount;
+	private final long destroyedCount;
+	private final long timeoutCount;
+	private final long leakCount;
+	private final long totalWaitNanos;
+	private final long statementCacheHits;
+	private final long statementCacheMisses;
+
+	public ConnectionPoolMetrics(@Nonnull String name, int maxSize, int totalConnections, int idleConnections, int activeConnections, int pendingThreads,
+	                             long borrowCount, long createdCount, long destroyedCount, long timeoutCount, long leakCount, long totalWaitNanos,
+	                             long statementCacheHits, long statementCacheMisses) {
+		this.name = name;
+		this.maxSize = maxSize;
+		this.totalConnections = totalConnections;
+		this.idleConnections = idleConnections;
+		this.activeConnections = activeConnections;
+		this.pendingThreads = pendingThreads;
+		this.borrowCount = borrowCount;
+		this.createdCount = createdCount;
+		this.destroyedCount = destroyedCount;
+		this.timeoutCount = timeoutCount;
+		this.leakCount = leakCount;
+		this.totalWaitNanos = totalWaitNanos;
+		this.statementCacheHits = statementCacheHits;
+		this.statementCacheMisses = statementCacheMisses;
+	}
+
+	@Nonnull
+	public String getName() {
+		return name;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public int getTotalConnections() {
+		return totalConnections;
+	}
+
+	public int getIdleConnections() {
+		return idleConnections;
+	}
+
+	public int getActiveConnections() {
+		return activeConnections;
+	}
+
+	/**
+	 * @return the amount of threads waiting for a free connection
+	 */
+	public int getPendingThreads() {
+		return pendingThreads;
+	}
+
+	public long getBorrowCount() {
+		return borrowCount;
+	}
+
+	public long getCreatedCount() {
+		return createdCount;
+	}
+
+	public long getDestroyedCount() {
+		return destroyedCount;
+	}
+
+	/**
+	 * @return the amount of borrows which failed because no connection became free in time
+	 */
+	public long getTimeoutCount() {
+		return timeoutCount;
+	}
+
+	/**
+	 * @return the amount of connections which were held longer than the leak detection threshold
+	 */
+	public long getLeakCount() {
+		return leakCount;
+	}
+
+	public long getAverageWait(@Nonnull TimeUnit unit) {
+		return borrowCount == 0 ? 0 : unit.convert(totalWaitNanos / borrowCount, TimeUnit.NANOSECONDS);
+	}
+
+	public long getStatementCacheHits() {
+		return statementCacheHits;
+	}
+
+	/**
+	 * @return the amount of statements which had to be prepared because they were not cached
+	 */
+	public long getStatementCacheMisses() {
+		return statementCacheMisses;
+	}
+
+	@Override
+	public String toString() {
+		return "ConnectionPoolMetrics[" + name + ", total=" + totalConnections + "/" + maxSize + ", idle=" + idleConnections + ", active=" + activeConnections
+			+ ", pending=" + pendingThreads + ", borrowed=" + borrowCount + ", timeouts=" + timeoutCount + ", leaks=" + leakCount
+			+ ", statementHits=" + statementCacheHits + ", statementMisses=" + statementCacheMisses + "]";
+	}
+
+}
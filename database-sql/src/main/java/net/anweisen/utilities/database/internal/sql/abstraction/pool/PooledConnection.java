@@ -0,0 +1,143 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.pool;
+
+import net.anweisen.utilities.database.internal.sql.abstraction.SQLHelper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A connection borrowed from a {@link SQLConnectionPool}.
+ * {@link #close() Closing} it returns the connection to the pool, it should always be used in a try with resources block.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class PooledConnection implements AutoCloseable {
+
+	private final SQLConnectionPool pool;
+	private final Connection connection;
+	private final long createdAt;
+	private final StatementCache statementCache;
+	private final List<PreparedStatement> uncachedStatements = new ArrayList<>(0);
+
+	private volatile long lastUsed;
+	private volatile long borrowedAt;
+	private volatile Throwable borrowTrace;
+	private volatile boolean leakReported;
+
+	PooledConnection(@Nonnull SQLConnectionPool pool, @Nonnull Connection connection) {
+		this.pool = pool;
+		this.connection = connection;
+		this.createdAt = this.lastUsed = System.currentTimeMillis();
+		this.statementCache = pool.getConfig().getStatementCacheSize() > 0 ? new StatementCache(pool.getConfig().getStatementCacheSize()) : null;
+	}
+
+	/**
+	 * @return the underlying connection, which must not be closed or used after this connection was returned
+	 */
+	@Nonnull
+	public Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * @return a new statement which has to be closed by the caller
+	 */
+	@Nonnull
+	public PreparedStatement prepare(@Nonnull CharSequence command, @Nonnull Object... args) throws SQLException {
+		PreparedStatement statement = connection.prepareStatement(command.toString());
+		SQLHelper.fillParams(statement, args);
+		return statement;
+	}
+
+	/**
+	 * Reuses the statement previously prepared for the same sql on this connection.
+	 * The statement is owned by this connection and must not be closed or used after this connection was returned,
+	 * only its result sets have to be closed.
+	 */
+	@Nonnull
+	public PreparedStatement prepareCached(@Nonnull CharSequence command, @Nonnull Object... args) throws SQLException {
+		String sql = command.toString();
+		PreparedStatement statement;
+		if (statementCache == null) {
+			statement = connection.prepareStatement(sql);
+			uncachedStatements.add(statement);
+			pool.statementCacheMisses.increment();
+		} else if ((statement = statementCache.get(sql)) != null && !statement.isClosed()) {
+			statement.clearParameters();
+			pool.statementCacheHits.increment();
+		} else {
+			statement = connection.prepareStatement(sql);
+			statementCache.put(sql, statement);
+			pool.statementCacheMisses.increment();
+		}
+
+		try {
+			SQLHelper.fillParams(statement, args);
+		} catch (SQLException | RuntimeException ex) {
+			if (statementCache != null) statementCache.remove(sql);
+			throw ex;
+		}
+		return statement;
+	}
+
+	/**
+	 * Returns this connection to the pool
+	 */
+	@Override
+	public void close() {
+		pool.release(this);
+	}
+
+	void markBorrowed(@Nullable Throwable trace) {
+		borrowedAt = System.currentTimeMillis();
+		borrowTrace = trace;
+		leakReported = false;
+	}
+
+	void markReturned() {
+		lastUsed = System.currentTimeMillis();
+		borrowTrace = null;
+
+		for (PreparedStatement statement : uncachedStatements) {
+			try {
+				statement.close();
+			} catch (SQLException ignored) {
+			}
+		}
+		uncachedStatements.clear();
+	}
+
+	void clearStatements() {
+		if (statementCache != null) statementCache.clear();
+	}
+
+	boolean reportLeak() {
+		if (leakReported) return false;
+		leakReported = true;
+		return true;
+	}
+
+	long getCreatedAt() {
+		return createdAt;
+	}
+
+	long getLastUsed() {
+		return lastUsed;
+	}
+
+	long getBorrowedAt() {
+		return borrowedAt;
+	}
+
+	@Nullable
+	Throwable getBorrowTrace() {
+		return borrowTrace;
+	}
+
+}
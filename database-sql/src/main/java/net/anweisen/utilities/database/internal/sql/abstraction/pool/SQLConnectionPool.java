@@ -0,0 +1,321 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.pool;
+
+import net.anweisen.utilities.common.concurrent.ExecutorRegistry;
+import net.anweisen.utilities.common.concurrent.TimingWheel;
+import net.anweisen.utilities.common.logging.ILogger;
+import net.anweisen.utilities.database.DatabasePoolConfig;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of jdbc connections.
+ *
+ * The amount of borrowed connections is limited by a fair semaphore, threads wait up to the connection timeout for a free connection.
+ * Idle connections are reused in last in first out order, so rarely needed connections become idle long enough to be evicted.
+ * A connection which was idle for more than {@value #VALIDATION_BYPASS_MILLIS}ms is validated before it is handed out.
+ *
+ * Idle eviction, lifetime replacement, refilling to the minimum size and leak detection run periodically
+ * on the {@link ExecutorRegistry#DATABASE database} executor.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class SQLConnectionPool implements Closeable {
+
+	protected static final ILogger logger = ILogger.forThisClass();
+
+	protected static final long VALIDATION_BYPASS_MILLIS = 500;
+	protected static final long HOUSEKEEPING_INTERVAL_MILLIS = 30_000;
+
+	@FunctionalInterface
+	public interface ConnectionFactory {
+
+		@Nonnull
+		Connection create() throws SQLException;
+
+	}
+
+	protected final String name;
+	protected final DatabasePoolConfig config;
+	protected final ConnectionFactory factory;
+
+	protected final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+	protected final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+	protected final Semaphore permits;
+	protected final AtomicInteger totalCount = new AtomicInteger();
+
+	protected final LongAdder borrowCount = new LongAdder();
+	protected final LongAdder createdCount = new LongAdder();
+	protected final LongAdder destroyedCount = new LongAdder();
+	protected final LongAdder timeoutCount = new LongAdder();
+	protected final LongAdder leakCount = new LongAdder();
+	protected final LongAdder waitNanos = new LongAdder();
+	final LongAdder statementCacheHits = new LongAdder();
+	final LongAdder statementCacheMisses = new LongAdder();
+
+	protected volatile boolean closed;
+	protected volatile TimingWheel.Timeout housekeeping;
+
+	public SQLConnectionPool(@Nonnull String name, @Nonnull DatabasePoolConfig config, @Nonnull ConnectionFactory factory) {
+		this.name = name;
+		this.config = config;
+		this.factory = factory;
+		this.permits = new Semaphore(config.getMaxSize(), true);
+	}
+
+	/**
+	 * Opens the minimum amount of connections, but at least one to make sure the database can be reached
+	 */
+	public void start() throws SQLException {
+		int initial = Math.max(1, config.getMinSize());
+		try {
+			for (int i = 0; i < initial; i++) {
+				idle.offerLast(create());
+			}
+		} catch (SQLException ex) {
+			close();
+			throw ex;
+		}
+		scheduleHousekeeping();
+	}
+
+	/**
+	 * @return a connection which has to be {@link PooledConnection#close() closed} to return it to the pool
+	 *
+	 * @throws SQLTransientConnectionException
+	 *         If no connection became free within the connection timeout
+	 */
+	@Nonnull
+	public PooledConnection borrow() throws SQLException {
+		if (closed) throw new SQLNonTransientConnectionException("Connection pool " + name + " is closed");
+
+		long start = System.nanoTime();
+		try {
+			long timeout = config.getConnectionTimeout();
+			boolean acquired = timeout == 0 ? acquirePermit() : permits.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+			if (!acquired) {
+				timeoutCount.increment();
+				throw new SQLTransientConnectionException("Connection pool " + name + " timed out after " + timeout + "ms (" + getMetrics() + ")");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a connection of pool " + name, ex);
+		}
+		waitNanos.add(System.nanoTime() - start);
+
+		try {
+			PooledConnection connection = pollIdle();
+			if (connection == null) connection = create();
+
+			connection.markBorrowed(config.getLeakDetectionThreshold() > 0 ? new Exception("Connection borrowed by " + Thread.currentThread().getName()) : null);
+			borrowed.add(connection);
+			borrowCount.increment();
+			return connection;
+		} catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	private boolean acquirePermit() throws InterruptedException {
+		permits.acquire();
+		return true;
+	}
+
+	void release(@Nonnull PooledConnection connection) {
+		if (!borrowed.remove(connection)) return; // already returned
+
+		try {
+			connection.markReturned();
+			if (closed || isExpired(connection, connection.getLastUsed()) || !reset(connection)) {
+				destroy(connection);
+				return;
+			}
+
+			// the connection has to be idle before the permit is released, otherwise a waiting thread would open a new connection
+			idle.offerFirst(connection);
+			if (closed && idle.remove(connection))
+				destroy(connection);
+		} finally {
+			permits.release();
+		}
+	}
+
+	@Nullable
+	protected PooledConnection pollIdle() {
+		PooledConnection connection;
+		while ((connection = idle.pollFirst()) != null) {
+			long now = System.currentTimeMillis();
+			if (isExpired(connection, now)) {
+				destroy(connection);
+				continue;
+			}
+			if (now - connection.getLastUsed() > VALIDATION_BYPASS_MILLIS && !isValid(connection)) {
+				logger.debug("Discarding broken connection of pool {}", name);
+				destroy(connection);
+				continue;
+			}
+			return connection;
+		}
+		return null;
+	}
+
+	@Nonnull
+	protected PooledConnection create() throws SQLException {
+		PooledConnection connection = new PooledConnection(this, factory.create());
+		totalCount.incrementAndGet();
+		createdCount.increment();
+		return connection;
+	}
+
+	protected void destroy(@Nonnull PooledConnection connection) {
+		totalCount.decrementAndGet();
+		destroyedCount.increment();
+		try {
+			connection.clearStatements();
+			connection.getConnection().close();
+		} catch (SQLException ex) {
+			logger.debug("Could not close connection of pool {}", name, ex);
+		}
+	}
+
+	protected boolean isValid(@Nonnull PooledConnection connection) {
+		try {
+			int timeout = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(config.getValidationTimeout()));
+			return connection.getConnection().isValid(timeout);
+		} catch (SQLException ex) {
+			return false;
+		}
+	}
+
+	protected boolean isExpired(@Nonnull PooledConnection connection, long now) {
+		return config.getMaxLifetime() > 0 && now - connection.getCreatedAt() > config.getMaxLifetime();
+	}
+
+	/**
+	 * Rolls back transactions the borrower left open
+	 *
+	 * @return {@code false} if the connection is broken
+	 */
+	protected boolean reset(@Nonnull PooledConnection connection) {
+		try {
+			Connection raw = connection.getConnection();
+			if (raw.isClosed()) return false;
+			if (!raw.getAutoCommit()) {
+				raw.rollback();
+				raw.setAutoCommit(true);
+			}
+			return true;
+		} catch (SQLException ex) {
+			return false;
+		}
+	}
+
+	protected void scheduleHousekeeping() {
+		if (closed) return;
+		long interval = HOUSEKEEPING_INTERVAL_MILLIS;
+		if (config.getLeakDetectionThreshold() > 0)
+			interval = Math.min(interval, Math.max(1000, config.getLeakDetectionThreshold() / 2));
+
+		housekeeping = TimingWheel.getShared().schedule(interval, TimeUnit.MILLISECONDS, () -> {
+			// opening and closing connections blocks, keep it off the timing wheel thread
+			ExecutorRegistry.get(ExecutorRegistry.DATABASE).execute(() -> {
+				try {
+					housekeep();
+				} catch (Throwable ex) {
+					logger.error("Could not run housekeeping of connection pool {}", name, ex);
+				}
+				scheduleHousekeeping();
+			});
+		});
+	}
+
+	protected void housekeep() {
+		if (closed) return;
+		long now = System.currentTimeMillis();
+
+		// least recently used connections are at the end
+		for (Iterator<PooledConnection> iterator = idle.descendingIterator(); iterator.hasNext(); ) {
+			PooledConnection connection = iterator.next();
+			boolean idleTooLong = config.getIdleTimeout() > 0 && now - connection.getLastUsed() > config.getIdleTimeout() && totalCount.get() > config.getMinSize();
+			if ((idleTooLong || isExpired(connection, now)) && idle.remove(connection))
+				destroy(connection);
+		}
+
+		if (config.getLeakDetectionThreshold() > 0) {
+			for (PooledConnection connection : borrowed) {
+				long held = now - connection.getBorrowedAt();
+				if (held > config.getLeakDetectionThreshold() && connection.reportLeak()) {
+					leakCount.increment();
+					logger.warn("Possible connection leak in pool {}, connection was borrowed {}ms ago and not returned", name, held, connection.getBorrowTrace());
+				}
+			}
+		}
+
+		while (!closed && totalCount.get() < config.getMinSize() && permits.tryAcquire()) {
+			try {
+				idle.offerLast(create());
+			} catch (SQLException ex) {
+				logger.warn("Could not open connection for pool {}", name, ex);
+				break;
+			} finally {
+				permits.release();
+			}
+		}
+	}
+
+	/**
+	 * Closes all idle connections, borrowed connections are closed when they are returned
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		TimingWheel.Timeout timeout = housekeeping;
+		if (timeout != null) timeout.cancel();
+
+		PooledConnection connection;
+		while ((connection = idle.pollFirst()) != null) {
+			destroy(connection);
+		}
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	@Nonnull
+	public String getName() {
+		return name;
+	}
+
+	@Nonnull
+	public DatabasePoolConfig getConfig() {
+		return config;
+	}
+
+	@Nonnull
+	public ConnectionPoolMetrics getMetrics() {
+		int active = borrowed.size();
+		return new ConnectionPoolMetrics(name, config.getMaxSize(), totalCount.get(), idle.size(), active, permits.getQueueLength(),
+			borrowCount.sum(), createdCount.sum(), destroyedCount.sum(), timeoutCount.sum(), leakCount.sum(), waitNanos.sum(),
+			statementCacheHits.sum(), statementCacheMisses.sum());
+	}
+
+	@Override
+	public String toString() {
+		return "SQLConnectionPool[" + name + "]";
+	}
+
+}
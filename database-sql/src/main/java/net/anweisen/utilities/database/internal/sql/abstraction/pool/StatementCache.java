@@ -0,0 +1,67 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.pool;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The prepared statements of a single connection by their sql, the least recently used statement is closed when the cache is full.
+ * Only used by the thread which currently borrowed the connection, so it is not synchronized.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+final class StatementCache {
+
+	private final Map<String, PreparedStatement> statements;
+
+	StatementCache(@Nonnegative int maxSize) {
+		this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Entry<String, PreparedStatement> eldest) {
+				if (size() <= maxSize) return false;
+				closeQuietly(eldest.getValue());
+				return true;
+			}
+		};
+	}
+
+	@Nullable
+	PreparedStatement get(@Nonnull String sql) {
+		return statements.get(sql);
+	}
+
+	void put(@Nonnull String sql, @Nonnull PreparedStatement statement) {
+		PreparedStatement previous = statements.put(sql, statement);
+		if (previous != null && previous != statement) closeQuietly(previous);
+	}
+
+	void remove(@Nonnull String sql) {
+		PreparedStatement statement = statements.remove(sql);
+		if (statement != null) closeQuietly(statement);
+	}
+
+	void clear() {
+		for (PreparedStatement statement : statements.values()) {
+			closeQuietly(statement);
+		}
+		statements.clear();
+	}
+
+	int size() {
+		return statements.size();
+	}
+
+	private static void closeQuietly(@Nonnull PreparedStatement statement) {
+		try {
+			statement.close();
+		} catch (SQLException ignored) {
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.query;
+
+import net.anweisen.utilities.database.action.CompiledQuery;
+import net.anweisen.utilities.database.action.ExecutedQuery;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
+import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
+import net.anweisen.utilities.database.internal.sql.abstraction.where.InWhere;
+import net.anweisen.utilities.database.internal.sql.abstraction.where.SQLWhere;
+
+import javax.annotation.Nonnull;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The sql of a compiled query is built once, unless it contains a where in clause whose amount of placeholders depends on the values.
+ * Executions only bind the new values to the cached statement of the borrowed connection.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class CompiledSQLQuery implements CompiledQuery {
+
+	protected final SQLQuery template;
+	protected final AbstractSQLDatabase database;
+	protected final List<SQLWhere> where;
+	protected final String command;
+	protected final Object[] tailArgs;
+
+	public CompiledSQLQuery(@Nonnull SQLQuery template, @Nonnull List<SQLWhere> where) {
+		this.template = template;
+		this.database = template.database;
+		this.where = where;
+
+		boolean constantShape = true;
+		for (SQLWhere current : where) {
+			if (current instanceof InWhere) constantShape = false;
+		}
+		this.command = constantShape ? template.buildCommand(where) : null;
+		this.tailArgs = template.getTailArgs();
+	}
+
+	@Override
+	public int getParameterCount() {
+		return where.size();
+	}
+
+	@Nonnull
+	@Override
+	public ExecutedQuery execute(@Nonnull Object... values) throws DatabaseException {
+		return database.instrument(template.table, DatabaseOperation.QUERY, ExecutedQuery::size, () -> {
+			if (values.length != where.size())
+				throw new IllegalArgumentException("Query requires " + where.size() + " values, got " + values.length);
+
+			String command = this.command;
+			Object[] args;
+			if (command != null) {
+				// every where has exactly one placeholder
+				args = new Object[values.length + tailArgs.length];
+				System.arraycopy(values, 0, args, 0, values.length);
+				System.arraycopy(tailArgs, 0, args, values.length, tailArgs.length);
+			} else {
+				List<SQLWhere> bound = new ArrayList<>(values.length);
+				for (int i = 0; i < values.length; i++) {
+					bound.add(where.get(i).withValue(values[i]));
+				}
+				command = template.buildCommand(bound);
+				args = template.collectArgs(bound);
+			}
+
+			try (PooledConnection connection = database.borrowReadConnection(); ResultSet result = connection.prepareCached(command, args).executeQuery()) {
+				return template.createExecutedQuery(result);
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
+			}
+		});
+	}
+
+}
@@ -0,0 +1,90 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.query;
+
+import net.anweisen.utilities.common.collection.WrappedException;
+import net.anweisen.utilities.common.config.Document;
+import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
+
+import javax.annotation.Nonnull;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over a result set row by row, the driver fetches the rows in batches of the fetch size of the statement.
+ * The statement and the connection are released when the cursor is closed or all rows were read.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class SQLCursor implements Iterator<Document>, AutoCloseable {
+
+	protected final PooledConnection connection;
+	protected final PreparedStatement statement;
+	protected final ResultSet result;
+	protected final String[] labels;
+
+	protected boolean fetched;
+	protected boolean hasNext;
+	protected boolean closed;
+
+	public SQLCursor(@Nonnull PooledConnection connection, @Nonnull PreparedStatement statement, @Nonnull ResultSet result) throws SQLException {
+		this.connection = connection;
+		this.statement = statement;
+		this.result = result;
+		this.labels = SQLQuery.getColumnLabels(result);
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (closed) return false;
+		if (!fetched) {
+			try {
+				hasNext = result.next();
+			} catch (SQLException ex) {
+				close();
+				throw new WrappedException(new DatabaseException(ex));
+			}
+			fetched = true;
+			if (!hasNext) close();
+		}
+		return hasNext;
+	}
+
+	@Override
+	public Document next() {
+		if (!hasNext()) throw new NoSuchElementException();
+		fetched = false;
+		try {
+			return SQLQuery.readRow(result, labels);
+		} catch (SQLException ex) {
+			close();
+			throw new WrappedException(new DatabaseException(ex));
+		}
+	}
+
+	@Override
+	public void close() {
+		if (closed) return;
+		closed = true;
+		try {
+			result.close();
+			statement.close();
+		} catch (SQLException ignored) {
+		} finally {
+			connection.close();
+		}
+	}
+
+	@Nonnull
+	public Stream<Document> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+	}
+
+}
@@ -2,11 +2,15 @@ package net.anweisen.utilities.database.internal.sql.abstraction.query;
 
 import net.anweisen.utilities.common.config.Document;
 import net.anweisen.utilities.database.Order;
+import net.anweisen.utilities.database.action.CompiledQuery;
 import net.anweisen.utilities.database.action.DatabaseQuery;
 import net.anweisen.utilities.database.action.ExecutedQuery;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.abstraction.DefaultExecutedQuery;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
+import net.anweisen.utilities.database.internal.sql.abstraction.where.InWhere;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.ObjectWhere;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.SQLWhere;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.StringIgnoreCaseWhere;
@@ -18,7 +22,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.Map.Entry;
+import java.util.stream.Stream;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -32,11 +36,15 @@ public class SQLQuery implements DatabaseQuery {
 	protected String[] selection = { "*" };
 	protected String orderBy;
 	protected Order order;
+	protected int limit = -1;
+	protected int offset;
+	protected String seekField;
+	protected Object seekValue;
 
 	public SQLQuery(@Nonnull AbstractSQLDatabase database, @Nonnull String table) {
 		this.database = database;
 		this.table = table;
-		this.where = new HashMap<>();
+		this.where = new LinkedHashMap<>();
 	}
 
 	public SQLQuery(@Nonnull AbstractSQLDatabase database, @Nonnull String table, @Nonnull Map<String, SQLWhere> where) {
@@ -80,6 +88,13 @@ public class SQLQuery implements DatabaseQuery {
 		return this;
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseQuery whereIn(@Nonnull String column, @Nonnull Collection<?> values) {
+		where.put(column, new InWhere(column, values));
+		return this;
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseQuery orderBy(@Nonnull String column, @Nonnull Order order) {
@@ -88,6 +103,30 @@ public class SQLQuery implements DatabaseQuery {
 		return this;
 	}
 
+	@Nonnull
+	@Override
+	public DatabaseQuery limit(int limit) {
+		if (limit < 0) throw new IllegalArgumentException("Limit cannot be negative");
+		this.limit = limit;
+		return this;
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseQuery offset(int offset) {
+		if (offset < 0) throw new IllegalArgumentException("Offset cannot be negative");
+		this.offset = offset;
+		return this;
+	}
+
+	@Nonnull
+	@Override
+	public DatabaseQuery seekAfter(@Nonnull String field, @Nonnull Object value) {
+		this.seekField = field;
+		this.seekValue = value;
+		return this;
+	}
+
 	@Nonnull
 	@Override
 	public DatabaseQuery select(@Nonnull String... selection) {
@@ -97,9 +136,14 @@ public class SQLQuery implements DatabaseQuery {
 	}
 
 	@Nonnull
-	protected PreparedStatement prepare() throws SQLException, DatabaseException {
+	protected PreparedStatement prepare(@Nonnull PooledConnection connection) throws SQLException {
+		Collection<SQLWhere> where = this.where.values();
+		return connection.prepareCached(buildCommand(where), collectArgs(where));
+	}
+
+	@Nonnull
+	protected String buildCommand(@Nonnull Collection<? extends SQLWhere> where) {
 		StringBuilder command = new StringBuilder();
-		List<Object> args = new LinkedList<>();
 
 		command.append("SELECT ");
 		for (int i = 0; i < selection.length; i++) {
@@ -109,16 +153,18 @@ public class SQLQuery implements DatabaseQuery {
 		command.append(" FROM ");
 		command.append(table);
 
-		if (!where.isEmpty()) {
+		if (!where.isEmpty() || seekField != null) {
 			command.append(" WHERE ");
 			int index = 0;
-			for (Entry<String, SQLWhere> entry : where.entrySet()) {
-				SQLWhere where = entry.getValue();
+			for (SQLWhere current : where) {
 				if (index > 0) command.append(" AND ");
-				command.append(where.getAsSQLString());
-				args.addAll(Arrays.asList(where.getArgs()));
+				command.append(current.getAsSQLString());
 				index++;
 			}
+			if (seekField != null) {
+				if (index > 0) command.append(" AND ");
+				command.append('`').append(seekField).append(order == Order.HIGHEST ? "` < ?" : "` > ?");
+			}
 		}
 
 		if (orderBy != null) {
@@ -126,18 +172,53 @@ public class SQLQuery implements DatabaseQuery {
 			command.append(orderBy);
 			if (order != null)
 				command.append(" " + (order == Order.HIGHEST ? "DESC" : "ASC"));
-			command.append(" ");
+		} else if (seekField != null) {
+			command.append(" ORDER BY `").append(seekField).append("` ASC");
 		}
 
-		return database.prepare(command.toString(), args.toArray());
+		// an offset requires a limit in mysql and sqlite
+		if (limit >= 0 || offset > 0)
+			command.append(" LIMIT ?");
+		if (offset > 0)
+			command.append(" OFFSET ?");
+
+		return command.toString();
+	}
+
+	/**
+	 * @return the arguments of the clauses following the where clauses
+	 */
+	@Nonnull
+	protected Object[] getTailArgs() {
+		List<Object> args = new ArrayList<>(3);
+		if (seekField != null) args.add(seekValue);
+		if (limit >= 0 || offset > 0) args.add(limit >= 0 ? limit : Long.MAX_VALUE);
+		if (offset > 0) args.add(offset);
+		return args.toArray();
+	}
+
+	@Nonnull
+	protected Object[] collectArgs(@Nonnull Collection<? extends SQLWhere> where) {
+		List<Object> args = new ArrayList<>(where.size() + 3);
+		for (SQLWhere current : where) {
+			args.addAll(Arrays.asList(current.getArgs()));
+		}
+		args.addAll(Arrays.asList(getTailArgs()));
+		return args.toArray();
 	}
 
 	@Nonnull
 	@Override
 	public ExecutedQuery execute() throws DatabaseException {
-		try {
-			PreparedStatement statement = prepare();
-			ResultSet result = statement.executeQuery();
+		return database.instrument(table, DatabaseOperation.QUERY, ExecutedQuery::size, this::executeQuery);
+	}
+
+	/**
+	 * Executes the query without reporting it, used by actions which report themselves
+	 */
+	@Nonnull
+	public ExecutedQuery executeQuery() throws DatabaseException {
+		try (PooledConnection connection = database.borrowReadConnection(); ResultSet result = prepare(connection).executeQuery()) {
 			return createExecutedQuery(result);
 		} catch (Exception ex) {
 			throw new DatabaseException(ex);
@@ -145,34 +226,85 @@ public class SQLQuery implements DatabaseQuery {
 	}
 
 	@Nonnull
-	private ExecutedQuery createExecutedQuery(@Nonnull ResultSet result) throws SQLException {
+	@Override
+	public CompiledQuery compile() {
+		SQLQuery template = new SQLQuery(database, table, new LinkedHashMap<>(where));
+		template.selection = selection;
+		template.orderBy = orderBy;
+		template.order = order;
+		template.limit = limit;
+		template.offset = offset;
+		template.seekField = seekField;
+		template.seekValue = seekValue;
+		return new CompiledSQLQuery(template, new ArrayList<>(where.values()));
+	}
+
+	@Nonnull
+	@Override
+	public Stream<Document> stream(int batchSize) throws DatabaseException {
+		return database.instrument(table, DatabaseOperation.STREAM, null, () -> {
+			PooledConnection connection = null;
+			PreparedStatement statement = null;
+			try {
+				connection = database.borrowReadConnection();
+				Collection<SQLWhere> where = this.where.values();
+				// not cached, the statement stays open while the stream is consumed
+				statement = connection.prepare(buildCommand(where), collectArgs(where));
+				statement.setFetchSize(batchSize);
+				return new SQLCursor(connection, statement, statement.executeQuery()).stream();
+			} catch (Exception ex) {
+				try {
+					if (statement != null) statement.close();
+				} catch (SQLException ignored) {
+				}
+				if (connection != null) connection.close();
+				throw new DatabaseException(ex);
+			}
+		});
+	}
+
+	@Nonnull
+	protected ExecutedQuery createExecutedQuery(@Nonnull ResultSet result) throws SQLException {
 		List<Document> results = new ArrayList<>();
-		ResultSetMetaData data = result.getMetaData();
+		String[] labels = getColumnLabels(result);
 		while (result.next()) {
-			Map<String, Object> map = new HashMap<>();
-			for (int i = 1; i <= data.getColumnCount(); i++) {
-				Object value = result.getObject(i);
-				map.put(data.getColumnLabel(i), value);
-			}
-			Document row = new SQLResult(map);
-			results.add(row);
+			results.add(readRow(result, labels));
 		}
-		result.close();
 
 		return new DefaultExecutedQuery(results);
 	}
 
+	@Nonnull
+	protected static String[] getColumnLabels(@Nonnull ResultSet result) throws SQLException {
+		ResultSetMetaData data = result.getMetaData();
+		String[] labels = new String[data.getColumnCount()];
+		for (int i = 0; i < labels.length; i++) {
+			labels[i] = data.getColumnLabel(i + 1);
+		}
+		return labels;
+	}
+
+	@Nonnull
+	protected static Document readRow(@Nonnull ResultSet result, @Nonnull String[] labels) throws SQLException {
+		Map<String, Object> map = new HashMap<>(labels.length * 4 / 3 + 1);
+		for (int i = 0; i < labels.length; i++) {
+			map.put(labels[i], result.getObject(i + 1));
+		}
+		return new SQLResult(map);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
 		if (o == null || getClass() != o.getClass()) return false;
 		SQLQuery sqlQuery = (SQLQuery) o;
-		return database.equals(sqlQuery.database) && table.equals(sqlQuery.table) && where.equals(sqlQuery.where) && Arrays.equals(selection, sqlQuery.selection) && Objects.equals(orderBy, sqlQuery.orderBy) && order == sqlQuery.order;
+		return database.equals(sqlQuery.database) && table.equals(sqlQuery.table) && where.equals(sqlQuery.where) && Arrays.equals(selection, sqlQuery.selection) && Objects.equals(orderBy, sqlQuery.orderBy) && order == sqlQuery.order
+			&& limit == sqlQuery.limit && offset == sqlQuery.offset && Objects.equals(seekField, sqlQuery.seekField) && Objects.equals(seekValue, sqlQuery.seekValue);
 	}
 
 	@Override
 	public int hashCode() {
-		int result = Objects.hash(database, table, where, orderBy, order);
+		int result = Objects.hash(database, table, where, orderBy, order, limit, offset, seekField, seekValue);
 		result = 31 * result + Arrays.hashCode(selection);
 		return result;
 	}
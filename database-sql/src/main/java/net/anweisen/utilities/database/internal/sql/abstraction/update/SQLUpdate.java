@@ -2,7 +2,9 @@ package net.anweisen.utilities.database.internal.sql.abstraction.update;
 
 import net.anweisen.utilities.database.action.DatabaseUpdate;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.ObjectWhere;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.SQLWhere;
 import net.anweisen.utilities.database.internal.sql.abstraction.where.StringIgnoreCaseWhere;
@@ -82,7 +84,7 @@ public class SQLUpdate implements DatabaseUpdate {
 	}
 
 	@Nonnull
-	protected PreparedStatement prepare() throws SQLException, DatabaseException {
+	protected PreparedStatement prepare(@Nonnull PooledConnection connection) throws SQLException {
 		if (values.isEmpty()) throw new IllegalArgumentException("Can't update nothing");
 
 		StringBuilder command = new StringBuilder();
@@ -114,15 +116,21 @@ public class SQLUpdate implements DatabaseUpdate {
 			}
 		}
 
-		return database.prepare(command.toString(), args.toArray());
+		return connection.prepareCached(command, args.toArray());
 	}
 
 	@Override
 	public Void execute() throws DatabaseException {
-		try {
-			PreparedStatement statement = prepare();
-			statement.executeUpdate();
-			return null;
+		database.instrument(table, DatabaseOperation.UPDATE, Integer::longValue, this::executeUpdate);
+		return null;
+	}
+
+	/**
+	 * @return the amount of rows matched by the where clauses
+	 */
+	protected int executeUpdate() throws DatabaseException {
+		try (PooledConnection connection = database.borrowConnection()) {
+			return prepare(connection).executeUpdate();
 		} catch (SQLException ex) {
 			throw new DatabaseException(ex);
 		}
@@ -0,0 +1,63 @@
+package net.anweisen.utilities.database.internal.sql.abstraction.where;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public class InWhere implements SQLWhere {
+
+	protected final String column;
+	protected final Object[] values;
+
+	public InWhere(@Nonnull String column, @Nonnull Collection<?> values) {
+		this.column = column;
+		this.values = values.toArray();
+	}
+
+	@Nonnull
+	@Override
+	public Object[] getArgs() {
+		return values;
+	}
+
+	@Nonnull
+	@Override
+	public String getAsSQLString() {
+		if (values.length == 0) return "1 = 0"; // IN () is invalid sql, nothing can match an empty set
+
+		StringBuilder builder = new StringBuilder(column.length() + 8 + values.length * 3);
+		builder.append('`').append(column).append("` IN (");
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) builder.append(", ");
+			builder.append('?');
+		}
+		return builder.append(')').toString();
+	}
+
+	@Nonnull
+	@Override
+	public SQLWhere withValue(@Nullable Object value) {
+		if (!(value instanceof Collection)) throw new IllegalArgumentException("Where in requires a collection, got " + value);
+		return new InWhere(column, (Collection<?>) value);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		InWhere that = (InWhere) o;
+		return column.equals(that.column) && Arrays.equals(values, that.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(column, Arrays.hashCode(values));
+	}
+
+}
@@ -20,6 +20,16 @@ public class ObjectWhere implements SQLWhere {
 		this.comparator = comparator;
 	}
 
+	@Nonnull
+	public String getColumn() {
+		return column;
+	}
+
+	@Nonnull
+	public String getComparator() {
+		return comparator;
+	}
+
 	@Nonnull
 	@Override
 	public Object[] getArgs() {
@@ -32,6 +42,12 @@ public class ObjectWhere implements SQLWhere {
 		return String.format("`%s` %s ?", column, comparator);
 	}
 
+	@Nonnull
+	@Override
+	public SQLWhere withValue(@Nullable Object value) {
+		return new ObjectWhere(column, value, comparator);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -1,6 +1,7 @@
 package net.anweisen.utilities.database.internal.sql.abstraction.where;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -14,4 +15,10 @@ public interface SQLWhere {
 	@Nonnull
 	String getAsSQLString();
 
+	/**
+	 * @return a copy of this where with another value, used to bind new values to a compiled query
+	 */
+	@Nonnull
+	SQLWhere withValue(@Nullable Object value);
+
 }
@@ -1,6 +1,7 @@
 package net.anweisen.utilities.database.internal.sql.abstraction.where;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Objects;
 
 /**
@@ -29,6 +30,13 @@ public class StringIgnoreCaseWhere implements SQLWhere {
 		return String.format("LOWER(%s) = LOWER(?)", column);
 	}
 
+	@Nonnull
+	@Override
+	public SQLWhere withValue(@Nullable Object value) {
+		if (value == null) throw new NullPointerException("Cannot use where ignore case with null value");
+		return new StringIgnoreCaseWhere(column, value.toString());
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -9,8 +9,10 @@ import net.anweisen.utilities.database.internal.sql.mysql.list.MySQLListTables;
 import javax.annotation.Nonnull;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * @author anweisen | https://github.com/anweisen
@@ -30,10 +32,53 @@ public class MySQLDatabase extends AbstractSQLDatabase {
 		super(config);
 	}
 
+	/**
+	 * Uses server side prepared statements, so statements cached by the pooled connections are only parsed once by the server.
+	 * Cursor fetch makes the driver respect the fetch size of {@link net.anweisen.utilities.database.action.DatabaseQuery#stream(int) streamed queries}
+	 * instead of reading the whole result.
+	 * Rewriting batches merges the statements of a {@link net.anweisen.utilities.database.action.DatabaseBulkInsertion bulk insertion} into fewer round trips.
+	 */
 	@Nonnull
 	@Override
 	protected String createUrl() {
-		return "jdbc:mysql://" + config.getHost() + (config.isPortSet() ? ":" + config.getPort() : "") + "/" + config.getDatabase();
+		return "jdbc:mysql://" + config.getHost() + (config.isPortSet() ? ":" + config.getPort() : "") + "/" + config.getDatabase() + "?useServerPrepStmts=true&useCursorFetch=true&rewriteBatchedStatements=true";
+	}
+
+	@Override
+	public int getMaxStatementParameters() {
+		return 65535;
+	}
+
+	/**
+	 * MySQL detects duplicates by all unique indices of the table, the keys are only used to not update them
+	 */
+	@Override
+	public void appendUpsertClause(@Nonnull StringBuilder command, @Nonnull List<String> keys, @Nonnull List<String> columns) {
+		command.append(" ON DUPLICATE KEY UPDATE ");
+
+		int index = 0;
+		for (String column : columns) {
+			if (keys.contains(column)) continue;
+			if (index > 0) command.append(", ");
+			command.append(column).append(" = VALUES(").append(column).append(")");
+			index++;
+		}
+		if (index == 0) command.append(keys.get(0)).append(" = ").append(keys.get(0)); // nothing to update
+	}
+
+	/**
+	 * MySQL does not support {@code IF NOT EXISTS} for indices, an existing index fails with a duplicate key name instead
+	 */
+	@Override
+	public void appendCreateIndex(@Nonnull StringBuilder command, @Nonnull String name, @Nonnull String table, @Nonnull String... columns) {
+		command.append("CREATE INDEX `").append(name).append("` ON `").append(table).append("` (");
+		command.append(String.join(", ", columns));
+		command.append(")");
+	}
+
+	@Override
+	public boolean isDuplicateIndex(@Nonnull SQLException ex) {
+		return ex.getErrorCode() == 1061; // ER_DUP_KEYNAME
 	}
 
 	@Nonnull
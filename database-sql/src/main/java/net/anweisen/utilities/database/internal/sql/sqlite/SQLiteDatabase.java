@@ -2,6 +2,7 @@ package net.anweisen.utilities.database.internal.sql.sqlite;
 
 import net.anweisen.utilities.common.misc.FileUtils;
 import net.anweisen.utilities.database.DatabaseConfig;
+import net.anweisen.utilities.database.DatabasePoolConfig;
 import net.anweisen.utilities.database.action.DatabaseListTables;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
@@ -10,8 +11,7 @@ import net.anweisen.utilities.database.internal.sql.sqlite.list.SQLiteListTables
 import javax.annotation.Nonnull;
 import java.io.File;
 import java.io.IOException;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
+import java.sql.*;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -47,6 +47,42 @@ public class SQLiteDatabase extends AbstractSQLDatabase {
 		super.connect();
 	}
 
+	/**
+	 * SQLite only allows a single writer at a time, writes are done on a single connection
+	 * while reads are spread over the pool, which can read in parallel to the writer in wal mode.
+	 */
+	@Override
+	public void connect0() throws Exception {
+		DatabasePoolConfig poolConfig = config.getPool();
+		writePool = createPool("SQLiteWriter", new DatabasePoolConfig(1, 1, poolConfig.getConnectionTimeout(), poolConfig.getValidationTimeout(),
+				poolConfig.getIdleTimeout(), poolConfig.getMaxLifetime(), poolConfig.getLeakDetectionThreshold(), poolConfig.getStatementCacheSize()), () -> createConnection(false));
+		try {
+			pool = createPool("SQLiteReader", poolConfig, () -> createConnection(true));
+		} catch (Exception ex) {
+			writePool.close();
+			writePool = null;
+			throw ex;
+		}
+	}
+
+	@Nonnull
+	@Override
+	protected Connection createConnection(boolean readOnly) throws SQLException {
+		Connection connection = createConnection();
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("PRAGMA busy_timeout = " + config.getPool().getConnectionTimeout());
+			if (readOnly) {
+				statement.execute("PRAGMA query_only = true");
+			} else {
+				statement.execute("PRAGMA journal_mode = WAL");
+			}
+		} catch (SQLException ex) {
+			connection.close();
+			throw ex;
+		}
+		return connection;
+	}
+
 	@Override
 	protected String createUrl() {
 		return "jdbc:sqlite:" + file;
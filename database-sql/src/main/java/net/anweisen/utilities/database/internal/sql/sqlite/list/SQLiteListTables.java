@@ -2,7 +2,9 @@ package net.anweisen.utilities.database.internal.sql.sqlite.list;
 
 import net.anweisen.utilities.database.action.DatabaseListTables;
 import net.anweisen.utilities.database.exceptions.DatabaseException;
+import net.anweisen.utilities.database.instrumentation.DatabaseOperation;
 import net.anweisen.utilities.database.internal.sql.abstraction.AbstractSQLDatabase;
+import net.anweisen.utilities.database.internal.sql.abstraction.pool.PooledConnection;
 
 import javax.annotation.Nonnull;
 import java.sql.PreparedStatement;
@@ -25,18 +27,19 @@ public class SQLiteListTables implements DatabaseListTables {
 	@Nonnull
 	@Override
 	public List<String> execute() throws DatabaseException {
-		try {
-			PreparedStatement statement = database.prepare("SELECT name FROM sqlite_master WHERE type = 'table'");
-			ResultSet result = statement.executeQuery();
-
-			List<String> tables = new ArrayList<>();
-			while (result.next()) {
-				tables.add(result.getString(1));
+		return database.instrument(null, DatabaseOperation.LIST_TABLES, List::size, () -> {
+			try (PooledConnection connection = database.borrowReadConnection();
+			     PreparedStatement statement = connection.prepare("SELECT name FROM sqlite_master WHERE type = 'table'");
+			     ResultSet result = statement.executeQuery()) {
+				List<String> tables = new ArrayList<>();
+				while (result.next()) {
+					tables.add(result.getString(1));
+				}
+				return tables;
+			} catch (Exception ex) {
+				throw new DatabaseException(ex);
 			}
-			return tables;
-		} catch (Exception ex) {
-			throw new DatabaseException(ex);
-		}
+		});
 	}
 
 }
@@ -31,6 +31,16 @@ public interface ArgumentParser<T, I> {
 	@Nullable
 	T parse(@Nonnull CommandEvent event, @Nullable I info, @Nonnull String input) throws Exception;
 
+	/**
+	 * Commands pass a view of the message to this method, override it to read the input without copying it into a string.
+	 *
+	 * @see #parse(CommandEvent, Object, String)
+	 */
+	@Nullable
+	default T parse(@Nonnull CommandEvent event, @Nullable I info, @Nonnull CharSequence input) throws Exception {
+		return parse(event, info, input.toString());
+	}
+
 	@Nonnull
 	default OptionType asSlashCommandType() {
 		return OptionType.STRING;
@@ -62,7 +72,7 @@ public interface ArgumentParser<T, I> {
 
 	@Nullable
 	@SuppressWarnings("unchecked")
-	default T parseCasted(@Nonnull CommandEvent event, @Nullable Object info, @Nonnull String input) throws Exception {
+	default T parseCasted(@Nonnull CommandEvent event, @Nullable Object info, @Nonnull CharSequence input) throws Exception {
 		return parse(event, (I) info, input);
 	}
 
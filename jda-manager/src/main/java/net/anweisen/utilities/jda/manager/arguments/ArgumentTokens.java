@@ -0,0 +1,148 @@
+package net.anweisen.utilities.jda.manager.arguments;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * The words of a command input, found in a single pass over the input.
+ * Words are separated by whitespace, a word starting with a quote {@code "} extends to the next quote and may contain whitespace.
+ *
+ * Only the bounds of the words are stored, {@link #get(int)} and {@link #join(int, int, String)} return views of the input instead of copies.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public final class ArgumentTokens {
+
+	private static final int START = 0, END = 1, OUTER_START = 2, OUTER_END = 3, STRIDE = 4;
+
+	private final CharSequence input;
+	private final int[] bounds;
+	private final int size;
+
+	private ArgumentTokens(@Nonnull CharSequence input, @Nonnull int[] bounds, int size) {
+		this.input = input;
+		this.bounds = bounds;
+		this.size = size;
+	}
+
+	@Nonnull
+	public static ArgumentTokens tokenize(@Nonnull CharSequence input) {
+		return tokenize(input, 0);
+	}
+
+	/**
+	 * @param from the index of the input to start at
+	 */
+	@Nonnull
+	public static ArgumentTokens tokenize(@Nonnull CharSequence input, @Nonnegative int from) {
+		int[] bounds = new int[4 * STRIDE];
+		int size = 0;
+		for (int index = from; (index = next(input, index, bounds, size * STRIDE)) != -1; ) {
+			if (++size * STRIDE == bounds.length)
+				bounds = Arrays.copyOf(bounds, bounds.length * 2);
+		}
+		return new ArgumentTokens(input, bounds, size);
+	}
+
+	/**
+	 * Counts the words without storing their bounds
+	 *
+	 * @param limit the amount of words after which counting stops
+	 * @return the amount of words, at most the limit
+	 */
+	@Nonnegative
+	public static int count(@Nonnull CharSequence input, @Nonnegative int from, @Nonnegative int limit) {
+		int[] token = new int[STRIDE];
+		int count = 0;
+		for (int index = from; count < limit && (index = next(input, index, token, 0)) != -1; ) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Finds the next word and writes its bounds into the array at the given offset
+	 *
+	 * @return the index following the word, or {@code -1} if there are no more words
+	 */
+	private static int next(@Nonnull CharSequence input, int index, @Nonnull int[] bounds, int offset) {
+		int length = input.length();
+		while (index < length && Character.isWhitespace(input.charAt(index))) index++;
+		if (index >= length) return -1;
+
+		bounds[offset + OUTER_START] = index;
+		if (input.charAt(index) == '"') {
+			int start = ++index;
+			while (index < length && input.charAt(index) != '"') index++;
+			bounds[offset + START] = start;
+			bounds[offset + END] = index;
+			if (index < length) index++; // closing quote, unclosed quotes end with the input
+		} else {
+			bounds[offset + START] = index;
+			while (index < length && !Character.isWhitespace(input.charAt(index))) index++;
+			bounds[offset + END] = index;
+		}
+		bounds[offset + OUTER_END] = index;
+		return index;
+	}
+
+	@Nonnegative
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return a view of the word, without its quotes
+	 */
+	@Nonnull
+	public CharSequence get(@Nonnegative int index) {
+		checkIndex(index);
+		return CharBuffer.wrap(input, bounds[index * STRIDE + START], bounds[index * STRIDE + END]);
+	}
+
+	/**
+	 * Joining words using a single space returns a view of the input as it was typed, including its quotes and whitespace.
+	 * A single word is returned without its quotes.
+	 *
+	 * @param from the index of the first word, inclusive
+	 * @param to the index of the last word, exclusive
+	 */
+	@Nonnull
+	public CharSequence join(@Nonnegative int from, @Nonnegative int to, @Nonnull String separator) {
+		if (from > to) throw new IllegalArgumentException("from " + from + " > to " + to);
+		if (from == to) return "";
+		checkIndex(to - 1);
+		if (to - from == 1) return get(from);
+		if (separator.equals(" "))
+			return CharBuffer.wrap(input, bounds[from * STRIDE + OUTER_START], bounds[(to - 1) * STRIDE + OUTER_END]);
+
+		StringBuilder builder = new StringBuilder();
+		for (int i = from; i < to; i++) {
+			if (i > from) builder.append(separator);
+			builder.append(input, bounds[i * STRIDE + START], bounds[i * STRIDE + END]);
+		}
+		return builder;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Tried to access argument at index " + index + " for length " + size);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("ArgumentTokens[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) builder.append(", ");
+			builder.append(get(i));
+		}
+		return builder.append("]").toString();
+	}
+
+}
@@ -1,5 +1,6 @@
 package net.anweisen.utilities.jda.manager.hooks.registered;
 
+import net.anweisen.utilities.common.concurrent.TimingWheel;
 import net.anweisen.utilities.jda.manager.hooks.option.CoolDownScope;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.User;
@@ -9,9 +10,13 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Cooldowns are stored by the snowflake id of the user or guild and
+ * removed by the {@link TimingWheel#getShared() shared timing wheel} as soon as they are over.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
@@ -19,44 +24,72 @@ public class CommandCoolDown {
 
 	private final CoolDownScope scope;
 	private final double cooldown;
+	private final long cooldownMillis;
 
-	private final Map<User, Long> userCoolDowns = new ConcurrentHashMap<>();
-	private final Map<Guild, Long> guildCoolDowns = new ConcurrentHashMap<>();
+	private final Map<Long, Long> coolDowns = new ConcurrentHashMap<>();
 	private final AtomicLong globalCoolDown = new AtomicLong();
 
 	public CommandCoolDown(@Nonnull CoolDownScope scope, @Nonnegative double cooldown) {
 		this.scope = scope;
 		this.cooldown = cooldown;
+		this.cooldownMillis = (long) (cooldown * 1000);
 	}
 
 	public boolean isOnCoolDown(@Nonnull User user, @Nullable Guild guild) {
-		return getCoolDown(user, guild) > 0;
+		return isOnCoolDown(user.getIdLong(), guild == null ? 0 : guild.getIdLong());
+	}
+
+	public boolean isOnCoolDown(long userId, long guildId) {
+		return getCoolDown(userId, guildId) > 0;
 	}
 
 	public double getCoolDown(@Nonnull User user, @Nullable Guild guild) {
+		return getCoolDown(user.getIdLong(), guild == null ? 0 : guild.getIdLong());
+	}
+
+	public double getCoolDown(long userId, long guildId) {
 		if (cooldown == 0) return 0;
+		long end;
 		switch (scope) {
-			case USER:      return Math.max(userCoolDowns.getOrDefault(user, 0L) - System.currentTimeMillis(), 0) / 1000d;
-			case GUILD:     return Math.max(guildCoolDowns.getOrDefault(guild, 0L) - System.currentTimeMillis(), 0) / 1000d;
-			case GLOBAL:    return Math.max(globalCoolDown.get() - System.currentTimeMillis(), 0) / 1000d;
+			case USER:      end = coolDowns.getOrDefault(userId, 0L); break;
+			case GUILD:     end = coolDowns.getOrDefault(guildId, 0L); break;
+			case GLOBAL:    end = globalCoolDown.get(); break;
 			default:        throw new IllegalStateException("Unsupported cooldown scope " + scope);
 		}
+		return Math.max(end - System.currentTimeMillis(), 0) / 1000d;
 	}
 
 	public void renewCoolDown(@Nonnull User user, @Nullable Guild guild) {
+		renewCoolDown(user.getIdLong(), guild == null ? 0 : guild.getIdLong());
+	}
+
+	public void renewCoolDown(long userId, long guildId) {
 		if (cooldown == 0) return;
 		switch (scope) {
 			case USER:
-				userCoolDowns.put(user, System.currentTimeMillis() + (long) cooldown * 1000);
+				renewCoolDown(userId);
 				return;
 			case GUILD:
-				guildCoolDowns.put(guild, System.currentTimeMillis() + (long) cooldown * 1000);
+				renewCoolDown(guildId);
 				return;
 			case GLOBAL:
-				globalCoolDown.set(System.currentTimeMillis() + (long) cooldown * 1000);
+				globalCoolDown.set(System.currentTimeMillis() + cooldownMillis);
 				return;
 			default: throw new IllegalStateException("Unsupported cooldown scope " + scope);
 		}
 	}
 
+	private void renewCoolDown(long id) {
+		Long key = id;
+		Long end = System.currentTimeMillis() + cooldownMillis;
+		coolDowns.put(key, end);
+
+		// only removes the cooldown if it was not renewed in the meantime
+		TimingWheel.getShared().schedule(cooldownMillis, TimeUnit.MILLISECONDS, () -> coolDowns.remove(key, end));
+	}
+
+	public int size() {
+		return coolDowns.size();
+	}
+
 }
@@ -19,6 +19,7 @@ public final class RequiredArgument {
 	private final String key;
 	private final String name;
 	private final ArgumentParser<?, ?> parser;
+	private final ParserOptions options;
 	private final Object infoContainer;
 	private final Class<?> classOfArgument;
 
@@ -77,7 +78,7 @@ public final class RequiredArgument {
 			throw new WrappedException(ex);
 		}
 
-		ParserOptions options = parser.options();
+		options = parser.options();
 		if (options.getMaxMultiWords() != 0 && givenLength > options.getMaxMultiWords())
 			throw new IllegalArgumentException("Wanted argument length " + givenLength + " is bigger than max length " + options.getMaxMultiWords() + " for argument '" + key + "'");
 		if (options.isExtraInfoRequired() && infoContainer == null)
@@ -92,6 +93,14 @@ public final class RequiredArgument {
 		return parser;
 	}
 
+	/**
+	 * @return the options of the parser, which are only created once
+	 */
+	@Nonnull
+	public ParserOptions getParserOptions() {
+		return options;
+	}
+
 	@Nullable
 	public Object getInfoContainer() {
 		return infoContainer;
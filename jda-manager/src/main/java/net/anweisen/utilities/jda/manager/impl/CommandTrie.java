@@ -0,0 +1,188 @@
+package net.anweisen.utilities.jda.manager.impl;
+
+import net.anweisen.utilities.common.collection.pair.Tuple;
+import net.anweisen.utilities.jda.manager.arguments.ArgumentTokens;
+import net.anweisen.utilities.jda.manager.hooks.registered.RegisteredCommand;
+import net.anweisen.utilities.jda.manager.hooks.registered.RequiredArgument;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * An immutable prefix tree over the names and aliases of the registered commands.
+ * Finding the commands for an input only walks the characters of the input once,
+ * instead of comparing the input with every name of every command.
+ *
+ * The minimum amount of arguments of every command is computed when the tree is built,
+ * so a candidate is checked by {@link ArgumentTokens#count(CharSequence, int, int) counting} the words of the input without splitting it.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see DefaultCommandManager#findCommand(String, Collection)
+ */
+public final class CommandTrie {
+
+	private static final class CompiledCommand {
+
+		private final RegisteredCommand command;
+		private final int index;
+		private final int minimumArguments;
+
+		private CompiledCommand(@Nonnull RegisteredCommand command, int index) {
+			this.command = command;
+			this.index = index;
+			this.minimumArguments = computeMinimumArguments(command.getArguments());
+		}
+
+	}
+
+	private static final class Name {
+
+		private final String name;
+		private final CompiledCommand command;
+		private final int index;
+
+		private Name(@Nonnull String name, @Nonnull CompiledCommand command, int index) {
+			this.name = name;
+			this.command = command;
+			this.index = index;
+		}
+
+		private boolean isBefore(@Nonnull Name other) {
+			return command.index != other.command.index ? command.index < other.command.index : index < other.index;
+		}
+
+	}
+
+	private static final class Node {
+
+		private static final char[] NO_KEYS = {};
+		private static final Node[] NO_CHILDREN = {};
+		private static final Name[] NO_NAMES = {};
+		private static final CompiledCommand[] NO_COMMANDS = {};
+
+		private char[] keys = NO_KEYS;
+		private Node[] children = NO_CHILDREN;
+		private Name[] names = NO_NAMES;
+		private CompiledCommand[] subtree = NO_COMMANDS; // commands having a name starting with the path of this node, in order of registration
+
+		private Node child(char key) {
+			int index = Arrays.binarySearch(keys, key);
+			return index < 0 ? null : children[index];
+		}
+
+	}
+
+	private final Node root;
+
+	public CommandTrie(@Nonnull Collection<RegisteredCommand> commands) {
+		Map<String, List<Name>> names = new TreeMap<>();
+		int index = 0;
+		for (RegisteredCommand command : commands) {
+			CompiledCommand compiled = new CompiledCommand(command, index++);
+			String[] aliases = command.getOptions().getName();
+			for (int i = 0; i < aliases.length; i++) {
+				names.computeIfAbsent(aliases[i], key -> new ArrayList<>(1)).add(new Name(aliases[i], compiled, i));
+			}
+		}
+
+		root = new Node();
+		for (Map.Entry<String, List<Name>> entry : names.entrySet()) {
+			Node node = root;
+			for (char c : entry.getKey().toCharArray()) {
+				Node child = node.child(c);
+				if (child == null) child = insertChild(node, c);
+				node = child;
+			}
+			node.names = entry.getValue().toArray(new Name[0]);
+		}
+		collectSubtree(root);
+	}
+
+	@Nonnull
+	private static Node insertChild(@Nonnull Node node, char key) {
+		// names are inserted in sorted order, so new children are always appended
+		Node child = new Node();
+		int length = node.keys.length;
+		node.keys = Arrays.copyOf(node.keys, length + 1);
+		node.children = Arrays.copyOf(node.children, length + 1);
+		node.keys[length] = key;
+		node.children[length] = child;
+		return child;
+	}
+
+	@Nonnull
+	private static Set<CompiledCommand> collectSubtree(@Nonnull Node node) {
+		Set<CompiledCommand> commands = new TreeSet<>(Comparator.comparingInt(command -> command.index));
+		for (Name name : node.names) commands.add(name.command);
+		for (Node child : node.children) commands.addAll(collectSubtree(child));
+		node.subtree = commands.toArray(new CompiledCommand[0]);
+		return commands;
+	}
+
+	/**
+	 * The command which is found first is the one registered first, and of its names the one declared first.
+	 *
+	 * @param input the input following the prefix, its characters are lowercased while walking the tree
+	 * @param matchingName filled with the commands having a name the input starts with or starting with the input, in order of registration
+	 * @return the name used and the command whose name is followed by a matching amount of arguments
+	 */
+	@Nonnull
+	public Optional<Tuple<String, RegisteredCommand>> find(@Nonnull String input, @Nonnull Collection<RegisteredCommand> matchingName) {
+		Set<CompiledCommand> matching = new TreeSet<>(Comparator.comparingInt(command -> command.index));
+		Name found = null;
+
+		Node node = root;
+		for (int position = 0; node != null; position++) {
+			boolean end = position == input.length();
+			for (Name name : node.names) {
+				matching.add(name.command);
+				if (found != null && found.isBefore(name)) continue;
+				if (!end && !Character.isWhitespace(input.charAt(position))) continue;
+				if (!isArgumentCountAssignable(input, position, name.command)) continue;
+				found = name;
+			}
+
+			if (end) {
+				Collections.addAll(matching, node.subtree);
+				break;
+			}
+			node = node.child(Character.toLowerCase(input.charAt(position)));
+		}
+
+		for (CompiledCommand command : matching) {
+			matchingName.add(command.command);
+		}
+		return found == null ? Optional.empty() : Optional.of(Tuple.of(found.name, found.command.command));
+	}
+
+	private static boolean isArgumentCountAssignable(@Nonnull String input, int start, @Nonnull CompiledCommand command) {
+		int words = ArgumentTokens.count(input, start, Math.max(1, command.minimumArguments));
+		return command.minimumArguments == 0 ? words == 0 : words >= command.minimumArguments;
+	}
+
+	/**
+	 * Arguments accepting some amount of words also accept every higher amount,
+	 * so the lowest amount accepted by {@link #isArgumentCountAssignable(int, RequiredArgument[])} is the threshold for every input.
+	 *
+	 * @return the minimum amount of words following the name, {@code 0} if the command takes no arguments
+	 */
+	private static int computeMinimumArguments(@Nonnull RequiredArgument[] arguments) {
+		if (arguments.length == 0) return 0;
+		int words = 1;
+		while (!isArgumentCountAssignable(words, arguments)) words++;
+		return words;
+	}
+
+	private static boolean isArgumentCountAssignable(int words, @Nonnull RequiredArgument[] arguments) {
+		int index = 0;
+		for (RequiredArgument argument : arguments) {
+			if (argument.getLength() == 0 && words > (index == 0 ? 1 : index)) return true; // We want all following arguments
+			index += argument.getLength();
+			if (index > words) return false;
+		}
+		return true;
+	}
+
+}
@@ -1,10 +1,12 @@
 package net.anweisen.utilities.jda.manager.impl;
 
-import net.anweisen.utilities.common.collection.NamedThreadFactory;
 import net.anweisen.utilities.common.collection.WrappedException;
 import net.anweisen.utilities.common.collection.pair.Tuple;
+import net.anweisen.utilities.common.concurrent.ExecutorRegistry;
+import net.anweisen.utilities.common.logging.LogContext;
 import net.anweisen.utilities.jda.manager.*;
 import net.anweisen.utilities.jda.manager.arguments.ArgumentParser;
+import net.anweisen.utilities.jda.manager.arguments.ArgumentTokens;
 import net.anweisen.utilities.jda.manager.arguments.IllegalArgumentParserValueException;
 import net.anweisen.utilities.jda.manager.arguments.ParserOptions;
 import net.anweisen.utilities.jda.manager.hooks.event.CommandArguments;
@@ -34,7 +36,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 /**
@@ -82,17 +83,32 @@ public class DefaultCommandManager implements CommandManager {
 
 	protected static class ArgumentParseResult {
 
-		private final Tuple<Class<?>[], Object[]> success;
+		private static final ArgumentParseResult EMPTY = new ArgumentParseResult(new Class<?>[0], new Object[0], null);
+		private static final ArgumentParseResult INVALID = new ArgumentParseResult(null, null, null);
+
+		private final Class<?>[] types;
+		private final Object[] values;
 		private final Tuple<String, Object[]> failure;
 
-		public ArgumentParseResult(@Nullable Tuple<Class<?>[], Object[]> success, @Nullable Tuple<String, Object[]> failure) {
-			this.success = success;
+		public ArgumentParseResult(@Nullable Class<?>[] types, @Nullable Object[] values, @Nullable Tuple<String, Object[]> failure) {
+			this.types = types;
+			this.values = values;
 			this.failure = failure;
 		}
+
+		public boolean isSuccess() {
+			return values != null;
+		}
+
+		@Nonnull
+		public static ArgumentParseResult failure(@Nullable Tuple<String, Object[]> message) {
+			return message == null ? INVALID : new ArgumentParseResult(null, null, message);
+		}
 	}
 
 	protected final Collection<RegisteredCommand> commands = new ArrayList<>();
-	protected final ExecutorService executor = Executors.newCachedThreadPool(new NamedThreadFactory(threadId -> String.format("Command-Thread-%s", threadId)));
+	protected volatile CommandTrie trie = new CommandTrie(Collections.emptyList());
+	protected final ExecutorService executor = ExecutorRegistry.get(ExecutorRegistry.COMMAND);
 	protected final Collection<CommandResolver> resolvers = new ArrayList<>(Arrays.asList(new AnnotatedCommandResolver(), new InterfacedCommandResolver()));
 	protected LanguageManager languageManager = new ConstantLanguageManager(new FallbackLanguage());
 	protected CommandResultHandler resultHandler = new DefaultResultHandler();
@@ -139,8 +155,9 @@ public class DefaultCommandManager implements CommandManager {
 		return this;
 	}
 
-	private void register0(@Nonnull RegisteredCommand command) {
+	private synchronized void register0(@Nonnull RegisteredCommand command) {
 		commands.add(command);
+		trie = new CommandTrie(commands);
 	}
 
 	@Nonnull
@@ -150,45 +167,24 @@ public class DefaultCommandManager implements CommandManager {
 		return this;
 	}
 
+	/**
+	 * @see CommandTrie#find(String, Collection)
+	 */
 	@Nonnull
 	public Optional<Tuple<String, RegisteredCommand>> findCommand(@Nonnull String input, @Nonnull Collection<RegisteredCommand> matchingName) {
-		for (RegisteredCommand command : commands) {
-			for (String name : command.getOptions().getName()) {
-				boolean beginsWithName = input.startsWith(name);
-				if (!(beginsWithName || name.startsWith(input))) continue;
-				matchingName.add(command);
-				if (!beginsWithName) continue;
-				if (input.length() > name.length() && !input.substring(name.length()).startsWith(" ")) continue;
-				RequiredArgument[] arguments = command.getArguments();
-				String argumentInput = input.substring(name.length()).trim();
-				if (!isArgumentLengthAssignable(argumentInput, arguments)) continue;
-				return Optional.of(Tuple.of(name, command));
-			}
-		}
-		return Optional.empty();
-	}
-
-	private boolean isArgumentLengthAssignable(@Nonnull String input, @Nonnull RequiredArgument[] arguments) {
-		if (input.isEmpty()) return arguments.length == 0;
-		if (arguments.length == 0) return false;
-		String[] split = input.split(" ");
-		int index = 0;
-		for (RequiredArgument argument : arguments) {
-			if (argument.getLength() == 0 && split.length > (index == 0 ? 1 : index)) return true; // We want all following arguments
-			index += argument.getLength();
-			if (index > split.length) return false;
-		}
-		return true;
+		return trie.find(input, matchingName);
 	}
 
 	@Override
 	public void handleCommand(@Nonnull CommandPreProcessInfo info) {
 		Callback callback = new Callback(info);
-		try {
-			handleCommand0(info, callback);
-		} catch (Exception ex) {
-			LOGGER.error("An error occurred while handling a command", ex);
-			callback.call(CommandProcessResult.ERROR);
+		try (LogContext.Scope scope = LogContext.with("user", info.getUser().getIdLong()).and("guild", info.isFromGuild() ? info.getMember().getGuild().getIdLong() : null)) {
+			try {
+				handleCommand0(info, callback);
+			} catch (Exception ex) {
+				LOGGER.error("An error occurred while handling a command", ex);
+				callback.call(CommandProcessResult.ERROR);
+			}
 		}
 	}
 
@@ -229,9 +225,8 @@ public class DefaultCommandManager implements CommandManager {
 
 	protected Object handleCommand00(@Nonnull CommandPreProcessInfo info, @Nonnull Callback callback, @Nonnull String prefix, @Nonnull String content) {
 
-		String lower = content.toLowerCase();
 		List<RegisteredCommand> matchingName = new ArrayList<>();
-		Optional<Tuple<String, RegisteredCommand>> optional = findCommand(lower, matchingName);
+		Optional<Tuple<String, RegisteredCommand>> optional = findCommand(content, matchingName);
 		if (!optional.isPresent()) {
 			if (matchingName.isEmpty()) {
 				return callback.call(CommandProcessResult.UNKNOWN_COMMAND, prefix, content);
@@ -247,27 +242,30 @@ public class DefaultCommandManager implements CommandManager {
 		Tuple<String, RegisteredCommand> pair = optional.get();
 		String commandName = pair.getFirst();
 		RegisteredCommand command = pair.getSecond();
+		LogContext.put("command", commandName);
 
 		if (doCommonChecks(command, callback, prefix, commandName, info) == CALLBACK_RESULT)
 			return CALLBACK_RESULT;
-		if (command.getCoolDown().isOnCoolDown(info.getUser(), info.isFromGuild() ? info.getMember().getGuild() : null))
-			return callback.call(new CommandResultInfo(CommandProcessResult.COOLDOWN, command, commandName, prefix, command.getCoolDown().getCoolDown(info.getUser(), info.isFromGuild() ? info.getMember().getGuild() : null)));
+		long userId = info.getUser().getIdLong();
+		long guildId = info.isFromGuild() ? info.getMember().getGuild().getIdLong() : 0;
+		if (command.getCoolDown().isOnCoolDown(userId, guildId))
+			return callback.call(new CommandResultInfo(CommandProcessResult.COOLDOWN, command, commandName, prefix, command.getCoolDown().getCoolDown(userId, guildId)));
 
-		command.getCoolDown().renewCoolDown(info.getUser(), info.isFromGuild() ? info.getMember().getGuild() : null);
+		command.getCoolDown().renewCoolDown(userId, guildId);
 
-		String stripped = content.substring(commandName.length()).trim();
+		ArgumentTokens tokens = ArgumentTokens.tokenize(content, commandName.length());
 
 		CommandEvent event = eventCreator.createEvent(this, info, command, useEmbeds);
 		if (command.getOptions().getAutoSendTyping() && info.getMessage() != null)
 			info.getChannel().sendTyping().queue();
 
-		ArgumentParseResult parsed = parseArguments(command, stripped, event);
-		if (parsed.success == null)
+		ArgumentParseResult parsed = parseArguments(command, tokens, event);
+		if (!parsed.isSuccess())
 			return callback.call(new CommandResultInfo(CommandProcessResult.INCORRECT_ARGUMENTS, command, commandName, prefix, parsed.failure));
 
-		CommandArguments args = new CommandArgumentsImpl(parsed.success.getFirst(), parsed.success.getSecond());
+		CommandArguments args = new CommandArgumentsImpl(parsed.types, parsed.values);
 		if (command.getOptions().isAsync()) {
-			executor.submit(() -> execute0(command, callback, event, args, prefix, commandName));
+			executor.submit(LogContext.wrap(() -> execute0(command, callback, event, args, prefix, commandName)));
 		} else {
 			execute0(command, callback, event, args, prefix, commandName);
 		}
@@ -313,44 +311,46 @@ public class DefaultCommandManager implements CommandManager {
 	}
 
 	@Nonnull
-	private ArgumentParseResult parseArguments(@Nonnull RegisteredCommand command, @Nonnull String message, @Nonnull CommandEvent event) {
-		if (message.isEmpty()) return new ArgumentParseResult(new Tuple<>(new Class<?>[0], new Object[0]), null);
-		List<Class<?>> types = new ArrayList<>(command.getArguments().length);
-		List<Object> values = new ArrayList<>(command.getArguments().length);
-		String[] args = message.split(" ");
+	private ArgumentParseResult parseArguments(@Nonnull RegisteredCommand command, @Nonnull ArgumentTokens tokens, @Nonnull CommandEvent event) {
+		if (tokens.isEmpty()) return ArgumentParseResult.EMPTY;
+		RequiredArgument[] arguments = command.getArguments();
+		Class<?>[] types = new Class<?>[arguments.length];
+		Object[] values = new Object[arguments.length];
 		int index = 0;
-		for (RequiredArgument argument : command.getArguments()) {
-			int collectArgs = argument.getLength() == 0 ? args.length - index : argument.getLength();
+		for (int i = 0; i < arguments.length; i++) {
+			RequiredArgument argument = arguments[i];
+			int collectArgs = argument.getLength() == 0 ? tokens.size() - index : argument.getLength();
 			ArgumentParser<?, ?> parser = argument.getParser();
-			ParserOptions options = parser.options();
-			StringBuilder builder = new StringBuilder();
-			for (int i = 0; i < collectArgs; i++, index++) {
-				if (index >= args.length) throw new IllegalArgumentException("Tried to access argument at index " + index + " for length " + args.length);
-				if (i > 0) builder.append(options.getMultiWordSeparator());
-				builder.append(args[index]);
-			}
+			ParserOptions options = argument.getParserOptions();
+			int from = index;
+			index += collectArgs;
+
 			Object parsed = null;
 			try {
-				parsed = parser.parseCasted(event, argument.getInfoContainer(), builder.toString());
-				if (!parser.options().isNullable() && parsed == null) throw new NullPointerException("No value for input '" + builder + "'");
-
-				if (parsed != null) {
+				// too few words for the following arguments of a varargs argument are an invalid usage as well
+				CharSequence input = tokens.join(from, from + collectArgs, options.getMultiWordSeparator());
+				parsed = parser.parseCasted(event, argument.getInfoContainer(), input);
+
+				// invalid input is returned directly, creating exceptions is expensive
+				if (parsed == null) {
+					if (!options.isNullable())
+						return ArgumentParseResult.failure(parser.getErrorMessageCasted(argument.getInfoContainer(), null));
+				} else {
 					if (!argument.getClassOfArgument().isInstance(parsed))
 						throw new IllegalArgumentParserValueException("Parser for class " + argument.getClassOfArgument().getName() + " returned " + parsed.getClass().getName());
 					if (argument.getInfoContainer() != null && !parser.validateInfoContainerCasted(argument.getInfoContainer(), parsed))
-						throw new IllegalArgumentException("Info container is not valid for the given input");
+						return ArgumentParseResult.failure(parser.getErrorMessageCasted(argument.getInfoContainer(), parsed));
 				}
 
-				types.add(argument.getClassOfArgument());
-				values.add(parsed);
+				types[i] = argument.getClassOfArgument();
+				values[i] = parsed;
 			} catch (IllegalArgumentParserValueException ex) {
 				throw new WrappedException(ex); // Internal error
 			} catch (Exception ex) {
-				Tuple<String, Object[]> errorMessage = parser.getErrorMessageCasted(argument.getInfoContainer(), parsed);
-				return new ArgumentParseResult(null, errorMessage); // Invalid usage
+				return ArgumentParseResult.failure(parser.getErrorMessageCasted(argument.getInfoContainer(), parsed)); // Invalid usage
 			}
 		}
-		return new ArgumentParseResult(new Tuple<>(types.toArray(new Class[0]), values.toArray()), null);
+		return new ArgumentParseResult(types, values, null);
 	}
 
 	@Nonnull
@@ -1,6 +1,7 @@
 package net.anweisen.utilities.jda.manager.impl.language;
 
 import net.anweisen.utilities.common.collection.IRandom;
+import net.anweisen.utilities.common.misc.FormatTemplate;
 import net.anweisen.utilities.common.misc.StringUtils;
 import net.anweisen.utilities.jda.manager.language.Message;
 
@@ -9,6 +10,9 @@ import javax.annotation.Nullable;
 import java.util.Random;
 
 /**
+ * The value of a message is compiled into {@link FormatTemplate templates} when it is set,
+ * so the message is not parsed again every time it is rendered.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
@@ -16,6 +20,7 @@ public class MessageImpl implements Message {
 
 	private final String name;
 	private Object value;
+	private FormatTemplate[] templates; // one template for a string value, one per line for an array value
 
 	public MessageImpl(@Nonnull String name) {
 		this.name = name;
@@ -25,8 +30,8 @@ public class MessageImpl implements Message {
 	@Override
 	public String asString(@Nonnull Object... args) {
 		if (value == null)                      return Message.unknown(name);
-		if (value instanceof String)            return StringUtils.format((String) value, args);
-		if (value instanceof String[])          return StringUtils.getArrayAsString(StringUtils.format((String[]) value, args), "\n");
+		if (value instanceof String)            return templates[0].format(args);
+		if (value instanceof String[])          return formatLines(args);
 		LOGGER.error("Message '{}' has an illegal value {}", name, value.getClass().getName());
 		return Message.unknown(name);
 	}
@@ -35,8 +40,8 @@ public class MessageImpl implements Message {
 	@Override
 	public String[] asArray(@Nonnull Object... args) {
 		if (value == null)                      return new String[] { Message.unknown(name)};
-		if (value instanceof String[])          return StringUtils.format((String[]) value, args);
-		if (value instanceof String)            return StringUtils.getStringAsArray(StringUtils.format((String) value, args));
+		if (value instanceof String[])          return formatEach(args);
+		if (value instanceof String)            return StringUtils.getStringAsArray(templates[0].format(args));
 		LOGGER.error("Message '{}' has an illegal value {}", name, value.getClass().getName());
 		return new String[] { Message.unknown(name)};
 	}
@@ -56,17 +61,49 @@ public class MessageImpl implements Message {
 	@Nonnull
 	@Override
 	public String asRandomString(@Nonnull IRandom random, @Nonnull Object... args) {
+		if (value instanceof String[])          return random.choose(templates).format(args); // only render the chosen line
 		String[] array = asArray(args);
 		return random.choose(array);
 	}
 
+	@Nonnull
+	protected String formatLines(@Nonnull Object... args) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < templates.length; i++) {
+			if (i > 0) builder.append('\n');
+			templates[i].formatTo(builder, args);
+		}
+		return builder.toString();
+	}
+
+	@Nonnull
+	protected String[] formatEach(@Nonnull Object... args) {
+		String[] lines = new String[templates.length];
+		for (int i = 0; i < templates.length; i++) {
+			lines[i] = templates[i].format(args);
+		}
+		return lines;
+	}
+
 	@Override
 	public void setValue(@Nullable String value) {
+		this.templates = value == null ? null : new FormatTemplate[] { FormatTemplate.compile(value) };
 		this.value = value;
 	}
 
 	@Override
 	public void setValue(@Nullable String[] value) {
+		if (value == null) {
+			this.templates = null;
+			this.value = null;
+			return;
+		}
+
+		FormatTemplate[] templates = new FormatTemplate[value.length];
+		for (int i = 0; i < value.length; i++) {
+			templates[i] = FormatTemplate.compile(String.valueOf(value[i]));
+		}
+		this.templates = templates;
 		this.value = value;
 	}
 
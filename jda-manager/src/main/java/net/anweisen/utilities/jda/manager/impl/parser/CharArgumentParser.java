@@ -16,6 +16,12 @@ public class CharArgumentParser implements ArgumentParser<Character, Object> {
 	@Nullable
 	@Override
 	public Character parse(@Nonnull CommandEvent event, @Nullable Object info, @Nonnull String input) throws Exception {
+		return parse(event, info, (CharSequence) input);
+	}
+
+	@Nullable
+	@Override
+	public Character parse(@Nonnull CommandEvent event, @Nullable Object info, @Nonnull CharSequence input) throws Exception {
 		if (input.length() != 1) return null;
 		return input.charAt(0);
 	}
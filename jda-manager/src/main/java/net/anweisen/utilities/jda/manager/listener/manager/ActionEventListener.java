@@ -1,7 +1,6 @@
 package net.anweisen.utilities.jda.manager.listener.manager;
 
 import net.dv8tion.jda.api.events.GenericEvent;
-import net.dv8tion.jda.api.hooks.EventListener;
 
 import javax.annotation.Nonnull;
 import java.util.function.Consumer;
@@ -10,7 +9,7 @@ import java.util.function.Consumer;
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
-public class ActionEventListener<E extends GenericEvent> implements EventListener {
+public class ActionEventListener<E extends GenericEvent> implements SelectiveEventListener {
 
 	private final Class<E> eventClass;
 	private final Consumer<? super E> action;
@@ -22,7 +21,12 @@ public class ActionEventListener<E extends GenericEvent> implements EventListene
 
 	@Override
 	public void onEvent(@Nonnull GenericEvent event) {
-		if (eventClass.isInstance(event)) return;
+		if (!eventClass.isInstance(event)) return;
 		action.accept(eventClass.cast(event));
 	}
+
+	@Override
+	public boolean isListening(@Nonnull Class<? extends GenericEvent> classOfEvent) {
+		return eventClass.isAssignableFrom(classOfEvent);
+	}
 }
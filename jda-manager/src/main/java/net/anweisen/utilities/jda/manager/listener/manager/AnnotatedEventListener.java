@@ -2,23 +2,36 @@ package net.anweisen.utilities.jda.manager.listener.manager;
 
 import net.anweisen.utilities.common.misc.ReflectionUtils;
 import net.dv8tion.jda.api.events.GenericEvent;
-import net.dv8tion.jda.api.hooks.EventListener;
 import net.dv8tion.jda.api.hooks.SubscribeEvent;
 import net.dv8tion.jda.internal.JDAImpl;
 import net.dv8tion.jda.internal.utils.ClassWalker;
 
 import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Calls the methods of the holder annotated with {@link SubscribeEvent}.
+ *
+ * The methods are bound to {@link MethodHandle method handles} once when the listener is created.
+ * The handlers of a concrete event class are collected by walking its hierarchy when the first event of this class is received,
+ * later events of this class are dispatched directly to the cached handlers.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  */
-public final class AnnotatedEventListener implements EventListener {
+public final class AnnotatedEventListener implements SelectiveEventListener {
 
-	private final Map<Class<?>, List<Method>> listeners = new HashMap<>();
+	private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, GenericEvent.class);
+	private static final MethodHandle[] NO_HANDLERS = {};
+
+	private final Map<Class<?>, List<MethodHandle>> listeners = new HashMap<>();
+	private final Map<Class<?>, MethodHandle[]> dispatch = new ConcurrentHashMap<>();
 	private final Object holder;
 
 	public AnnotatedEventListener(@Nonnull Object holder) {
@@ -29,34 +42,61 @@ public final class AnnotatedEventListener implements EventListener {
 	private void updateMethods() {
 		boolean isClass = holder instanceof Class;
 		Class<?> clazz = isClass ? (Class<?>) holder : holder.getClass();
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
 		for (Method method : ReflectionUtils.getMethodsAnnotatedWith(clazz, SubscribeEvent.class)) {
-			if (isClass && !Modifier.isStatic(method.getModifiers())) continue;
+			boolean isStatic = Modifier.isStatic(method.getModifiers());
+			if (isClass && !isStatic) continue;
 			Class<?>[] parameters = method.getParameterTypes();
 			if (parameters.length == 1 && GenericEvent.class.isAssignableFrom(parameters[0])) {
-				List<Method> methods = listeners.computeIfAbsent(parameters[0], key -> new ArrayList<>(1));
-				methods.add(method);
+				try {
+					method.setAccessible(true);
+					MethodHandle handle = lookup.unreflect(method);
+					if (!isStatic) handle = handle.bindTo(holder);
+					List<MethodHandle> handles = listeners.computeIfAbsent(parameters[0], key -> new ArrayList<>(1));
+					handles.add(handle.asType(HANDLER_TYPE));
+				} catch (IllegalAccessException | RuntimeException ex) {
+					JDAImpl.LOG.error("Couldn't access annotated EventListener method", ex);
+				}
 			}
 		}
 	}
 
 	@Override
 	public void onEvent(@Nonnull GenericEvent event) {
-		for (Class<?> classOfEvent : ClassWalker.walk(event.getClass())) {
-			List<Method> methods = listeners.get(classOfEvent);
-			if (methods == null) continue;
-			methods.forEach(method -> {
-				try {
-					method.setAccessible(true);
-					method.invoke(holder instanceof Class ? null : holder, event);
-				} catch (IllegalAccessException ex) {
-					JDAImpl.LOG.error("Couldn't access annotated EventListener method", ex);
-				} catch (Throwable ex) {
-					JDAImpl.LOG.error("One of the EventListeners had an uncaught exception", ex);
-					if (ex instanceof Error)
-						throw (Error) ex;
-				}
-			});
+		for (MethodHandle handle : getHandlers(event.getClass())) {
+			try {
+				handle.invokeExact(event);
+			} catch (Throwable ex) {
+				JDAImpl.LOG.error("One of the EventListeners had an uncaught exception", ex);
+				if (ex instanceof Error)
+					throw (Error) ex;
+			}
+		}
+	}
+
+	@Override
+	public boolean isListening(@Nonnull Class<? extends GenericEvent> classOfEvent) {
+		return getHandlers(classOfEvent).length > 0;
+	}
+
+	@Nonnull
+	private MethodHandle[] getHandlers(@Nonnull Class<?> classOfEvent) {
+		MethodHandle[] handlers = dispatch.get(classOfEvent);
+		if (handlers == null) dispatch.put(classOfEvent, handlers = collectHandlers(classOfEvent));
+		return handlers;
+	}
+
+	@Nonnull
+	private MethodHandle[] collectHandlers(@Nonnull Class<?> classOfEvent) {
+		if (listeners.isEmpty()) return NO_HANDLERS;
+		Set<Class<?>> visited = new HashSet<>();
+		List<MethodHandle> handlers = new ArrayList<>();
+		for (Class<?> current : ClassWalker.walk(classOfEvent)) {
+			if (!visited.add(current)) continue;
+			List<MethodHandle> handles = listeners.get(current);
+			if (handles != null) handlers.addAll(handles);
 		}
+		return handlers.isEmpty() ? NO_HANDLERS : handlers.toArray(NO_HANDLERS);
 	}
 
 	@Override
@@ -1,15 +1,18 @@
 package net.anweisen.utilities.jda.manager.listener.manager;
 
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
 import net.dv8tion.jda.api.hooks.IEventManager;
 import net.dv8tion.jda.internal.JDAImpl;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Set;
+import javax.annotation.Nullable;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -22,6 +25,16 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * by implementing {@link EventListener} or {@link net.dv8tion.jda.api.hooks.ListenerAdapter}, which is more advanced.
  * By annotating a method with {@link net.dv8tion.jda.api.hooks.SubscribeEvent} a event listener can be created via the {@link net.dv8tion.jda.api.hooks.AnnotatedEventManager}.
  *
+ * The listeners receiving a concrete event class are determined once per class and cached until listeners are registered or unregistered.
+ * {@link SelectiveEventListener Selective listeners}, including annotated listeners, only receive the events they handle.
+ *
+ * By default events are delivered on the thread handling them, which is the websocket thread of the shard.
+ * In the asynchronous mode events are queued to {@link EventLanes lanes} by their guild,
+ * so events of the same guild are delivered in order and events of different guilds are delivered in parallel.
+ * Events without a guild are ordered per shard.
+ *
+ * The execution times of every listener are {@link #getMetrics() recorded}, to find slow listeners.
+ *
  * @author anweisen | https://github.com/anweisen
  * @since 1.0
  *
@@ -33,37 +46,72 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class CombinedEventManager implements IEventManager {
 
-	private final List<EventListener> listeners = new CopyOnWriteArrayList<>();
+	private final List<ListenerMetrics> listeners = new CopyOnWriteArrayList<>();
 	private final Set<Object> listenerHolders = ConcurrentHashMap.newKeySet();
+	private volatile Map<Class<?>, ListenerMetrics[]> dispatch = new ConcurrentHashMap<>();
+	private final EventLanes lanes;
+
+	/**
+	 * Creates an event manager delivering events on the thread handling them
+	 */
+	public CombinedEventManager() {
+		this.lanes = null;
+	}
+
+	/**
+	 * Creates an event manager delivering events asynchronously on a fixed amount of lanes
+	 *
+	 * @param lanes the amount of threads delivering events, eg the amount of available processors
+	 * @param capacity the maximum amount of queued events per lane
+	 * @param policy decides what happens to an event when its lane is full
+	 */
+	public CombinedEventManager(@Nonnegative int lanes, @Nonnegative int capacity, @Nonnull EventOverflowPolicy policy) {
+		this.lanes = new EventLanes(lanes, capacity, policy, this::deliver);
+	}
 
 	@Override
 	public void register(@Nonnull Object listener) {
 		listenerHolders.add(listener);
 
+		String name = listener instanceof Class ? ((Class<?>) listener).getName() : listener.getClass().getName();
 		if (listener instanceof EventListener) {
-			listeners.add((EventListener) listener);
+			listeners.add(new ListenerMetrics((EventListener) listener, name));
 		} else {
-			listeners.add(new AnnotatedEventListener(listener));
+			listeners.add(new ListenerMetrics(new AnnotatedEventListener(listener), name));
 		}
+		dispatch = new ConcurrentHashMap<>();
 	}
 
 	@Override
 	public void unregister(@Nonnull Object listener) {
 		listenerHolders.remove(listener);
 
-		if (listener instanceof EventListener) {
-			listeners.remove(listener);
-		} else {
-			listeners.remove(new AnnotatedEventListener(listener));
+		EventListener eventListener = listener instanceof EventListener ? (EventListener) listener : new AnnotatedEventListener(listener);
+		for (ListenerMetrics metrics : listeners) {
+			if (!metrics.getListener().equals(eventListener)) continue;
+			listeners.remove(metrics);
+			break;
 		}
+		dispatch = new ConcurrentHashMap<>();
 	}
 
 	@Override
 	public void handle(@Nonnull GenericEvent event) {
-		for (EventListener listener : listeners) {
+		if (lanes == null) {
+			deliver(event);
+		} else {
+			lanes.submit(getPartitionKey(event), event);
+		}
+	}
+
+	protected void deliver(@Nonnull GenericEvent event) {
+		for (ListenerMetrics metrics : getListeners(event.getClass())) {
+			long start = System.nanoTime();
 			try {
-				listener.onEvent(event);
+				metrics.getListener().onEvent(event);
+				metrics.record(System.nanoTime() - start, true);
 			} catch (Throwable ex) {
+				metrics.record(System.nanoTime() - start, false);
 				JDAImpl.LOG.error("One of the EventListeners had an uncaught exception", ex);
 				if (ex instanceof Error)
 					throw (Error) ex;
@@ -71,6 +119,74 @@ public class CombinedEventManager implements IEventManager {
 		}
 	}
 
+	/**
+	 * Events with the same key are delivered in order of their handling in the asynchronous mode.
+	 *
+	 * @return the id of the guild of the event, or the id of the shard if the event has no guild
+	 */
+	protected long getPartitionKey(@Nonnull GenericEvent event) {
+		Guild guild = null;
+		if (event instanceof GenericGuildEvent) {
+			guild = ((GenericGuildEvent) event).getGuild();
+		} else if (event instanceof GenericMessageEvent) {
+			GenericMessageEvent messageEvent = (GenericMessageEvent) event;
+			if (messageEvent.isFromGuild()) guild = messageEvent.getGuild();
+		} else if (event instanceof GenericInteractionCreateEvent) {
+			guild = ((GenericInteractionCreateEvent) event).getGuild();
+		}
+		return guild != null ? guild.getIdLong() : event.getJDA().getShardInfo().getShardId();
+	}
+
+	/**
+	 * @return the listeners receiving events of the given concrete class, in order of registration
+	 */
+	@Nonnull
+	protected ListenerMetrics[] getListeners(@Nonnull Class<? extends GenericEvent> classOfEvent) {
+		Map<Class<?>, ListenerMetrics[]> dispatch = this.dispatch;
+		ListenerMetrics[] receivers = dispatch.get(classOfEvent);
+		if (receivers == null) dispatch.put(classOfEvent, receivers = collectListeners(classOfEvent));
+		return receivers;
+	}
+
+	@Nonnull
+	private ListenerMetrics[] collectListeners(@Nonnull Class<? extends GenericEvent> classOfEvent) {
+		List<ListenerMetrics> receivers = new ArrayList<>();
+		for (ListenerMetrics metrics : listeners) {
+			EventListener listener = metrics.getListener();
+			if (listener instanceof SelectiveEventListener && !((SelectiveEventListener) listener).isListening(classOfEvent)) continue;
+			receivers.add(metrics);
+		}
+		return receivers.toArray(new ListenerMetrics[0]);
+	}
+
+	/**
+	 * Stops the lanes of the asynchronous mode, events which are still queued or handled afterwards are dropped.
+	 * Does nothing if events are delivered synchronously.
+	 */
+	public void shutdown() {
+		if (lanes != null) lanes.shutdown();
+	}
+
+	public boolean isAsynchronous() {
+		return lanes != null;
+	}
+
+	/**
+	 * @return the lanes delivering events, or {@code null} if events are delivered synchronously
+	 */
+	@Nullable
+	public EventLanes getLanes() {
+		return lanes;
+	}
+
+	/**
+	 * @return the metrics of the registered listeners, in order of registration
+	 */
+	@Nonnull
+	public List<ListenerMetrics> getMetrics() {
+		return Collections.unmodifiableList(new ArrayList<>(listeners));
+	}
+
 	@Nonnull
 	@Override
 	public List<Object> getRegisteredListeners() {
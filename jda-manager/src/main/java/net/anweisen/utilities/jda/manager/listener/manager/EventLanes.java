@@ -0,0 +1,206 @@
+package net.anweisen.utilities.jda.manager.listener.manager;
+
+import com.google.common.base.Preconditions;
+import net.anweisen.utilities.common.collection.NamedThreadFactory;
+import net.dv8tion.jda.api.events.GenericEvent;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A fixed amount of worker threads, each delivering the events of its bounded queue in order.
+ * Events with the same key are always queued to the same lane, so they are delivered in the order they were submitted,
+ * while events with different keys are delivered in parallel.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see CombinedEventManager#CombinedEventManager(int, int, EventOverflowPolicy)
+ */
+public final class EventLanes {
+
+	/**
+	 * How long a thread blocked by a full lane waits before checking whether the lanes were shut down
+	 */
+	private static final long BLOCK_CHECK_MILLIS = 100;
+
+	private final BlockingQueue<GenericEvent>[] queues;
+	private final Thread[] threads;
+	private final EventOverflowPolicy policy;
+	private final Consumer<? super GenericEvent> delivery;
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder callerRuns = new LongAdder();
+
+	private volatile boolean running = true;
+
+	@SuppressWarnings("unchecked")
+	public EventLanes(@Nonnegative int lanes, @Nonnegative int capacity, @Nonnull EventOverflowPolicy policy, @Nonnull Consumer<? super GenericEvent> delivery) {
+		Preconditions.checkArgument(lanes > 0, "Amount of lanes must be positive");
+		Preconditions.checkArgument(capacity > 0, "Capacity must be positive");
+		Preconditions.checkNotNull(policy, "EventOverflowPolicy cannot be null");
+		this.policy = policy;
+		this.delivery = delivery;
+		this.queues = new BlockingQueue[lanes];
+		this.threads = new Thread[lanes];
+
+		ThreadFactory factory = new NamedThreadFactory(threadId -> String.format("EventLane-%s", threadId));
+		for (int i = 0; i < lanes; i++) {
+			BlockingQueue<GenericEvent> queue = new ArrayBlockingQueue<>(capacity);
+			Thread thread = factory.newThread(() -> work(queue));
+			thread.setDaemon(true);
+			queues[i] = queue;
+			threads[i] = thread;
+			thread.start();
+		}
+	}
+
+	private void work(@Nonnull BlockingQueue<GenericEvent> queue) {
+		while (running) {
+			GenericEvent event;
+			try {
+				event = queue.take();
+			} catch (InterruptedException ex) {
+				// only shutting down stops a lane, an interrupt left by a listener must not stall the guilds of this lane
+				continue;
+			}
+
+			try {
+				delivery.accept(event);
+			} catch (Throwable ex) {
+				// a lane must not die, errors were already logged by the delivery
+			}
+			Thread.interrupted(); // clear an interrupt left by a listener, it would fail the next take
+		}
+	}
+
+	/**
+	 * Queues the event to the lane of the key, applying the {@link EventOverflowPolicy} if the lane is full.
+	 * Events submitted after the lanes were shut down are dropped.
+	 */
+	public void submit(long key, @Nonnull GenericEvent event) {
+		if (!running) {
+			dropped.increment();
+			return;
+		}
+
+		BlockingQueue<GenericEvent> queue = queues[laneOf(key)];
+		if (queue.offer(event)) {
+			dropIfShutDown(queue, event);
+			return;
+		}
+
+		switch (policy) {
+			case BLOCK:
+				try {
+					// a lane does not take events anymore once it was shut down, the submitting thread must not wait for it forever
+					while (!queue.offer(event, BLOCK_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+						if (!running) {
+							dropped.increment();
+							return;
+						}
+					}
+					dropIfShutDown(queue, event);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					dropped.increment();
+				}
+				break;
+			case DROP_NEWEST:
+				dropped.increment();
+				break;
+			case DROP_OLDEST:
+				while (!queue.offer(event)) {
+					if (queue.poll() != null) dropped.increment();
+				}
+				break;
+			case CALLER_RUNS:
+				callerRuns.increment();
+				delivery.accept(event);
+				break;
+		}
+	}
+
+	/**
+	 * Removes an event queued while the lanes were shut down, it would never be delivered
+	 */
+	private void dropIfShutDown(@Nonnull BlockingQueue<GenericEvent> queue, @Nonnull GenericEvent event) {
+		if (!running && queue.remove(event)) dropped.increment();
+	}
+
+	private int laneOf(long key) {
+		// snowflakes of guilds created at a similar time only differ in a few bits, spread them before selecting the lane
+		return Math.floorMod(Long.hashCode(key * 0x9E3779B97F4A7C15L), queues.length);
+	}
+
+	/**
+	 * Stops the lanes, events which are still queued are dropped
+	 */
+	public void shutdown() {
+		running = false;
+		for (Thread thread : threads) {
+			thread.interrupt();
+		}
+		for (BlockingQueue<GenericEvent> queue : queues) {
+			while (queue.poll() != null) {
+				dropped.increment();
+			}
+		}
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Nonnegative
+	public int getLaneCount() {
+		return queues.length;
+	}
+
+	/**
+	 * @return the amount of events waiting in all lanes
+	 */
+	@Nonnegative
+	public int getQueued() {
+		int queued = 0;
+		for (BlockingQueue<GenericEvent> queue : queues) {
+			queued += queue.size();
+		}
+		return queued;
+	}
+
+	@Nonnegative
+	public int getQueued(@Nonnegative int lane) {
+		return queues[lane].size();
+	}
+
+	/**
+	 * @return the amount of events dropped because their lane was full or the lanes were shut down
+	 */
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	/**
+	 * @return the amount of events delivered on the submitting thread by {@link EventOverflowPolicy#CALLER_RUNS}
+	 */
+	public long getCallerRuns() {
+		return callerRuns.sum();
+	}
+
+	@Nonnull
+	public EventOverflowPolicy getPolicy() {
+		return policy;
+	}
+
+	@Override
+	public String toString() {
+		return "EventLanes[lanes=" + queues.length + ", policy=" + policy + ", queued=" + getQueued() + ", dropped=" + getDropped() + "]";
+	}
+
+}
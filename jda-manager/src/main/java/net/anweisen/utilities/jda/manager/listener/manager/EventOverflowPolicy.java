@@ -0,0 +1,35 @@
+package net.anweisen.utilities.jda.manager.listener.manager;
+
+/**
+ * Decides what happens to an event when the queue of its {@link EventLanes lane} is full
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see CombinedEventManager#CombinedEventManager(int, int, EventOverflowPolicy)
+ */
+public enum EventOverflowPolicy {
+
+	/**
+	 * The thread handling the event waits until the lane has space again.
+	 * No events are lost, but a slow listener will eventually stall the websocket thread of the shard.
+	 */
+	BLOCK,
+
+	/**
+	 * The new event is dropped
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * The oldest queued event of the lane is dropped to make space for the new event
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * The new event is delivered on the thread handling it.
+	 * No events are lost, but the event may be delivered before events of the same guild which are still queued.
+	 */
+	CALLER_RUNS
+
+}
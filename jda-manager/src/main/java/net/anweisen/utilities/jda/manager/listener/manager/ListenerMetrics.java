@@ -0,0 +1,64 @@
+package net.anweisen.utilities.jda.manager.listener.manager;
+
+import net.anweisen.utilities.common.debug.LatencyHistogram;
+import net.dv8tion.jda.api.hooks.EventListener;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The execution times and errors of a listener registered to a {@link CombinedEventManager}
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ *
+ * @see CombinedEventManager#getMetrics()
+ */
+public final class ListenerMetrics {
+
+	private final EventListener listener;
+	private final String name;
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final LongAdder errors = new LongAdder();
+
+	ListenerMetrics(@Nonnull EventListener listener, @Nonnull String name) {
+		this.listener = listener;
+		this.name = name;
+	}
+
+	void record(long nanos, boolean successful) {
+		latency.record(nanos);
+		if (!successful) errors.increment();
+	}
+
+	@Nonnull
+	public EventListener getListener() {
+		return listener;
+	}
+
+	/**
+	 * @return the class name of the listener, or of the holder of an annotated listener
+	 */
+	@Nonnull
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the execution times of the listener, events the listener does not handle are not recorded
+	 */
+	@Nonnull
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "ListenerMetrics[" + name + ", " + latency + ", errors=" + getErrors() + "]";
+	}
+
+}
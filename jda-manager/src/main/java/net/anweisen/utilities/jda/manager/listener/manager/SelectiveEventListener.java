@@ -0,0 +1,26 @@
+package net.anweisen.utilities.jda.manager.listener.manager;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An {@link EventListener} which knows the events it handles in advance,
+ * so the {@link CombinedEventManager} only delivers these events to it.
+ * Listeners not implementing this interface receive every event.
+ *
+ * @author anweisen | https://github.com/anweisen
+ * @since 1.3.17
+ */
+public interface SelectiveEventListener extends EventListener {
+
+	/**
+	 * The result must not change for the same class
+	 *
+	 * @param classOfEvent the concrete class of the event
+	 * @return whether events of the given class are handled by this listener
+	 */
+	boolean isListening(@Nonnull Class<? extends GenericEvent> classOfEvent);
+
+}